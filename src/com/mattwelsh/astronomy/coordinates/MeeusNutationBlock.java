@@ -0,0 +1,104 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.coordinates;
+
+import com.mattwelsh.astronomy.utilities.MultipleAngles;
+
+/**
+ * This class holds the nutation of a block of instants, computed at once with the method of Jean
+ * Meeus, in one primitive array per quantity. It is meant for ephemerides of many instants, which
+ * would otherwise create a calculator and a Nutation per instant; an instance is reused from one
+ * block to the next, so nothing is created after it.
+ *
+ * <p>An instance holds the results of the block last computed, so it must not be shared between
+ * threads without synchronization.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MeeusNutationBlock {
+
+  final MultipleAngles angles;
+  final double[] centuries;
+  final double[] cosArgument;
+  final double[] sinArgument;
+  final double[] nutationInLongitude;
+  final double[] nutationInObliquity;
+  final double[] trueObliquityOfEcliptic;
+
+  /**
+   * Create a block for up to the passed number of instants.
+   *
+   * @param size The largest number of instants computed at once.
+   */
+  public MeeusNutationBlock(int size) {
+    this.angles = new MultipleAngles(5, MeeusNutationCalculator.MAX_MULTIPLE, size);
+    this.centuries = new double[size];
+    this.cosArgument = new double[size];
+    this.sinArgument = new double[size];
+    this.nutationInLongitude = new double[size];
+    this.nutationInObliquity = new double[size];
+    this.trueObliquityOfEcliptic = new double[size];
+  }
+
+  /**
+   * Returns the largest number of instants computed at once.
+   *
+   * @return The size of the block.
+   */
+  public int size() {
+    return this.centuries.length;
+  }
+
+  /**
+   * Computes the nutation of count julian day numbers, starting at from, into the first count
+   * elements of the arrays of this block. The results are the same as those of a calculator
+   * created by NutationCalculatorFactory.MEEUS for each instant.
+   *
+   * @param julianDays The julian day numbers (TT) to compute the nutation for.
+   * @param from The index of the first julian day number to compute.
+   * @param count The number of julian day numbers to compute, at most size().
+   */
+  public void compute(double[] julianDays, int from, int count) {
+    MeeusNutationCalculator.computeBlock(julianDays, from, count, this);
+  }
+
+  /**
+   * Returns the nutations in longitude, in seconds of arc, one per instant of the last block.
+   *
+   * @return The nutations in longitude.
+   */
+  public double[] getNutationsInLongitude() {
+    return this.nutationInLongitude;
+  }
+
+  /**
+   * Returns the nutations in obliquity, in seconds of arc, one per instant of the last block.
+   *
+   * @return The nutations in obliquity.
+   */
+  public double[] getNutationsInObliquity() {
+    return this.nutationInObliquity;
+  }
+
+  /**
+   * Returns the true obliquities of the ecliptic, in degrees, one per instant of the last block.
+   *
+   * @return The true obliquities of the ecliptic.
+   */
+  public double[] getTrueObliquitiesOfEcliptic() {
+    return this.trueObliquityOfEcliptic;
+  }
+}
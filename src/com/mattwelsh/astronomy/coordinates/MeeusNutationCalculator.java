@@ -15,6 +15,7 @@ package com.mattwelsh.astronomy.coordinates;
 import com.mattwelsh.astronomy.time.DeltaTCalculator;
 import com.mattwelsh.astronomy.time.JulianDate;
 import com.mattwelsh.astronomy.time.MutableJulianDate;
+import com.mattwelsh.astronomy.utilities.MultipleAngles;
 import com.mattwelsh.astronomy.utilities.Utilities;
 
 /**
@@ -28,19 +29,171 @@ import com.mattwelsh.astronomy.utilities.Utilities;
  * <p>The quantities are needed to calculate the apparent position of an astronomical object, and
  * for the apparent sidereal time.</p>
  *
+ * <p>computeBlock() computes the same quantities for a whole block of instants into a
+ * MeeusNutationBlock, applying each periodic term to every instant before the next term, so the
+ * table is read once per block and nothing is created per instant.</p>
+ *
  * @author Matt Welsh (mitya.welsh@gmail.com)
  * @version 1.0
  * @since 1.0
  */
 class MeeusNutationCalculator implements NutationCalculator {
 
+  /**
+   * The arguments of the periodic terms of the nutation, Meeus table 22.A, one term per row of
+   * five: the multiples of D, M, M', F and the longitude of the ascending node. The rows are
+   * unpacked into the columns below once, when the class is loaded.
+   */
+  private static final int[] ARGUMENTS = {
+      0,  0,  0,  0,  1,
+     -2,  0,  0,  2,  2,
+      0,  0,  0,  2,  2,
+      0,  0,  0,  0,  2,
+      0,  1,  0,  0,  0,
+      0,  0,  1,  0,  0,
+     -2,  1,  0,  2,  2,
+      0,  0,  0,  2,  1,
+      0,  0,  1,  2,  2,
+     -2, -1,  0,  2,  2,
+     -2,  0,  1,  0,  0,
+     -2,  0,  0,  2,  1,
+      0,  0, -1,  2,  2,
+      2,  0,  0,  0,  0,
+      0,  0,  1,  0,  1,
+      2,  0, -1,  2,  2,
+      0,  0, -1,  0,  1,
+      0,  0,  1,  2,  1,
+     -2,  0,  2,  0,  0,
+      0,  0, -2,  2,  1,
+      2,  0,  0,  2,  2,
+      0,  0,  2,  2,  2,
+      0,  0,  2,  0,  0,
+     -2,  0,  1,  2,  2,
+      0,  0,  0,  2,  0,
+     -2,  0,  0,  2,  0,
+      0,  0, -1,  2,  1,
+      0,  2,  0,  0,  0,
+      2,  0, -1,  0,  1,
+     -2,  2,  0,  2,  2,
+      0,  1,  0,  0,  1,
+     -2,  0,  1,  0,  1,
+      0, -1,  0,  0,  1,
+      0,  0,  2, -2,  0,
+      2,  0, -1,  2,  1,
+      2,  0,  1,  2,  2,
+      0,  1,  0,  2,  2,
+     -2,  1,  1,  0,  0,
+      0, -1,  0,  2,  2,
+      2,  0,  0,  2,  1,
+      2,  0,  1,  0,  0,
+     -2,  0,  2,  2,  2,
+     -2,  0,  1,  2,  1,
+      2,  0, -2,  0,  1,
+      2,  0,  0,  0,  1,
+      0, -1,  1,  0,  0,
+     -2, -1,  0,  2,  1,
+     -2,  0,  0,  0,  1,
+      0,  0,  2,  2,  1,
+     -2,  0,  2,  0,  1,
+     -2,  1,  0,  2,  1,
+      0,  0,  1, -2,  0,
+     -1,  0,  1,  0,  0,
+     -2,  1,  0,  0,  0,
+      1,  0,  0,  0,  0,
+      0,  0,  1,  2,  0,
+      0,  0, -2,  2,  2,
+     -1, -1,  1,  0,  0,
+      0,  1,  1,  0,  0,
+      0, -1,  1,  2,  2,
+      2, -1, -1,  2,  2,
+      0,  0,  3,  2,  2,
+      2, -1,  0,  2,  2
+  };
+
+  /**
+   * The coefficients of the periodic terms of the nutation, Meeus table 22.A, one term per row of
+   * four, in the order of ARGUMENTS: the coefficient of the sine of the nutation in longitude and
+   * its rate per century, and the coefficient of the cosine of the nutation in obliquity and its
+   * rate per century, in units of 0.0001".
+   */
+  private static final double[] COEFFICIENTS = {
+     -171996, -174.2,  92025,  8.9,
+      -13187,   -1.6,   5736, -3.1,
+       -2274,   -0.2,    977, -0.5,
+        2062,    0.2,   -895,  0.5,
+        1426,   -3.4,     54, -0.1,
+         712,    0.1,     -7,    0,
+        -517,    1.2,    224, -0.6,
+        -386,   -0.4,    200,    0,
+        -301,      0,    129, -0.1,
+         217,   -0.5,    -95,  0.3,
+        -158,      0,      0,    0,
+         129,    0.1,    -70,    0,
+         123,      0,    -53,    0,
+          63,      0,      0,    0,
+          63,    0.1,    -33,    0,
+         -59,      0,     26,    0,
+         -58,   -0.1,     32,    0,
+         -51,      0,     27,    0,
+          48,      0,      0,    0,
+          46,      0,    -24,    0,
+         -38,      0,     16,    0,
+         -31,      0,     13,    0,
+          29,      0,      0,    0,
+          29,      0,    -12,    0,
+          26,      0,      0,    0,
+         -22,      0,      0,    0,
+          21,      0,    -10,    0,
+          17,   -0.1,      0,    0,
+          16,      0,     -8,    0,
+         -16,    0.1,      7,    0,
+         -15,      0,      9,    0,
+         -13,      0,      7,    0,
+         -12,      0,      6,    0,
+          11,      0,      0,    0,
+         -10,      0,      5,    0,
+          -8,      0,      3,    0,
+           7,      0,     -3,    0,
+          -7,      0,      0,    0,
+          -7,      0,      3,    0,
+          -7,      0,      3,    0,
+           6,      0,      0,    0,
+           6,      0,     -3,    0,
+           6,      0,     -3,    0,
+          -6,      0,      3,    0,
+          -6,      0,      3,    0,
+           5,      0,      0,    0,
+          -5,      0,      3,    0,
+          -5,      0,      3,    0,
+          -5,      0,      3,    0,
+           4,      0,      0,    0,
+           4,      0,      0,    0,
+           4,      0,      0,    0,
+          -4,      0,      0,    0,
+          -4,      0,      0,    0,
+          -4,      0,      0,    0,
+           3,      0,      0,    0,
+          -3,      0,      0,    0,
+          -3,      0,      0,    0,
+          -3,      0,      0,    0,
+          -3,      0,      0,    0,
+          -3,      0,      0,    0,
+          -3,      0,      0,    0,
+          -3,      0,      0,    0
+  };
+
+  private static final int[][] MULTIPLES = {multiples(0), multiples(1), multiples(2),
+      multiples(3), multiples(4)};
+  private static final double[] SINE_COEFFICIENTS = coefficients(0);
+  private static final double[] SINE_RATES = coefficients(1);
+  private static final double[] COSINE_COEFFICIENTS = coefficients(2);
+  private static final double[] COSINE_RATES = coefficients(3);
+  static final int MAX_MULTIPLE = MultipleAngles.getMaxMultiple(MULTIPLES);
+
   private JulianDate julianDate;
   private Nutation nutation = new Nutation();
-  private double meanElongationOfMoon;
-  private double meanAnomalyOfSun;
-  private double meanAnomalyOfMoon;
-  private double moonArgumentOfLatitude;
-  private double longitudeOfAscendingNode;
+  private final MultipleAngles angles = new MultipleAngles(5, MAX_MULTIPLE);
+  private final double[] cosSin = new double[2];
 
   MeeusNutationCalculator(JulianDate jd) {
     this.julianDate = jd;
@@ -61,124 +214,94 @@ class MeeusNutationCalculator implements NutationCalculator {
   // -----------------------------------------------------------------------------------------------
 
   private void calculateNutation() {
-    this.nutation.setNutationInLongitude(0.0);
-    this.nutation.setNutationInObliquity(0.0);
-    calculateAngles();
-    calculatePeriodicTerms();
+    double t = julianDate.getJulianCenturies(DeltaTCalculator.EPOCH2000);
+    setAngles(this.angles, 0, t);
+
+    double longitude = 0.0;
+    double obliquity = 0.0;
+    for (int i = 0; i < SINE_COEFFICIENTS.length; i++) {
+      angles.combine(MULTIPLES, i, cosSin);
+      longitude += (SINE_COEFFICIENTS[i] + SINE_RATES[i] * t) * cosSin[1];
+      obliquity += (COSINE_COEFFICIENTS[i] + COSINE_RATES[i] * t) * cosSin[0];
+    }
+
+    this.nutation.setNutationInLongitude(longitude / 10000.0);
+    this.nutation.setNutationInObliquity(obliquity / 10000.0);
+    this.nutation.setTrueObliquityOfEcliptic(
+        trueObliquityOfEcliptic(t, this.nutation.getNutationInObliquity()));
   }
 
-  private void calculateAngles() {
-    double t = julianDate.getJulianCenturies(DeltaTCalculator.EPOCH2000);
-    meanElongationOfMoon = 297.85036 + (445267.111480 * t) - (0.0019142 * t * t) +
+  /**
+   * Computes the nutation of count instants, starting at from, into the passed block. The results
+   * are the same as those of a calculator created for each instant.
+   */
+  static void computeBlock(double[] julianDays, int from, int count, MeeusNutationBlock block) {
+    double[] t = block.centuries;
+    double[] longitude = block.nutationInLongitude;
+    double[] obliquity = block.nutationInObliquity;
+    for (int j = 0; j < count; j++) {
+      t[j] = (julianDays[from + j] - DeltaTCalculator.EPOCH2000.getJulianDayNumber()) / 36525.0;
+      setAngles(block.angles, j, t[j]);
+      longitude[j] = 0.0;
+      obliquity[j] = 0.0;
+    }
+
+    double[] cos = block.cosArgument;
+    double[] sin = block.sinArgument;
+    for (int i = 0; i < SINE_COEFFICIENTS.length; i++) {
+      block.angles.combine(MULTIPLES, i, count, cos, sin);
+      double sineCoefficient = SINE_COEFFICIENTS[i];
+      double sineRate = SINE_RATES[i];
+      double cosineCoefficient = COSINE_COEFFICIENTS[i];
+      double cosineRate = COSINE_RATES[i];
+      for (int j = 0; j < count; j++) {
+        longitude[j] += (sineCoefficient + sineRate * t[j]) * sin[j];
+        obliquity[j] += (cosineCoefficient + cosineRate * t[j]) * cos[j];
+      }
+    }
+
+    for (int j = 0; j < count; j++) {
+      longitude[j] = longitude[j] / 10000.0;
+      obliquity[j] = obliquity[j] / 10000.0;
+      block.trueObliquityOfEcliptic[j] = trueObliquityOfEcliptic(t[j], obliquity[j]);
+    }
+  }
+
+  /**
+   * Sets the mean elongation of the moon, the mean anomalies of the sun and the moon, the moon's
+   * argument of latitude, and the longitude of its ascending node at t julian centuries from J2000
+   * as the angles of one instant.
+   */
+  private static void setAngles(MultipleAngles angles, int instant, double t) {
+    double meanElongationOfMoon = 297.85036 + (445267.111480 * t) - (0.0019142 * t * t) +
         ((t * t * t)/189474.0);
     meanElongationOfMoon = Utilities.reduceToRange360(meanElongationOfMoon);
 
-    meanAnomalyOfSun = 357.52772 + (35999.050340 * t) - (0.0001603 * t * t) -
+    double meanAnomalyOfSun = 357.52772 + (35999.050340 * t) - (0.0001603 * t * t) -
         ((t * t * t) / 300000.0);
     meanAnomalyOfSun = Utilities.reduceToRange360(meanAnomalyOfSun);
 
-    meanAnomalyOfMoon = 134.96298 + (477198.867398 * t) + (0.0086972 * t * t) +
+    double meanAnomalyOfMoon = 134.96298 + (477198.867398 * t) + (0.0086972 * t * t) +
         ((t * t * t) / 56250.0);
     meanAnomalyOfMoon = Utilities.reduceToRange360(meanAnomalyOfMoon);
 
-    moonArgumentOfLatitude = 93.27191 + (483202.017538 * t) - (0.0036825 * t * t) +
+    double moonArgumentOfLatitude = 93.27191 + (483202.017538 * t) - (0.0036825 * t * t) +
         ((t * t * t) / 327270.0);
     moonArgumentOfLatitude = Utilities.reduceToRange360(moonArgumentOfLatitude);
 
-    longitudeOfAscendingNode = 125.04452 - (1934.136261 * t) + (0.0020708 * t * t) +
+    double longitudeOfAscendingNode = 125.04452 - (1934.136261 * t) + (0.0020708 * t * t) +
         ((t * t * t) / 450000.0);
     longitudeOfAscendingNode = Utilities.reduceToRange360(longitudeOfAscendingNode);
-  }
-
-  private void calculatePeriodicTerms() {
-    double[][] periodicData = {
-        { 0,  0,  0,  0,  1, -171996,  -174.2,  92025,  8.9},
-        {-2,  0,  0,  2,  2,  -13187,    -1.6,   5736, -3.1},
-        { 0,  0,  0,  2,  2,   -2274,    -0.2,    977, -0.5},
-        { 0,  0,  0,  0,  2,    2062,     0.2,   -895,  0.5},
-        { 0,  1,  0,  0,  0,    1426,    -3.4,     54, -0.1},
-        { 0,  0,  1,  0,  0,     712,     0.1,     -7,    0},
-        {-2,  1,  0,  2,  2,    -517,     1.2,    224, -0.6},
-        { 0,  0,  0,  2,  1,    -386,    -0.4,    200,    0},
-        { 0,  0,  1,  2,  2,    -301,       0,    129, -0.1},
-        {-2, -1,  0,  2,  2,     217,    -0.5,    -95,  0.3},
-        {-2,  0,  1,  0,  0,    -158,       0,      0,    0},
-        {-2,  0,  0,  2,  1,     129,     0.1,    -70,    0},
-        { 0,  0, -1,  2,  2,     123,       0,    -53,    0},
-        { 2,  0,  0,  0,  0,      63,       0,      0,    0},
-        { 0,  0,  1,  0,  1,      63,     0.1,    -33,    0},
-        { 2,  0, -1,  2,  2,     -59,       0,     26,    0},
-        { 0,  0, -1,  0,  1,     -58,    -0.1,     32,    0},
-        { 0,  0,  1,  2,  1,     -51,       0,     27,    0},
-        {-2,  0,  2,  0,  0,      48,       0,      0,    0},
-        { 0,  0, -2,  2,  1,      46,       0,    -24,    0},
-        { 2,  0,  0,  2,  2,     -38,       0,     16,    0},
-        { 0,  0,  2,  2,  2,     -31,       0,     13,    0},
-        { 0,  0,  2,  0,  0,      29,       0,      0,    0},
-        {-2,  0,  1,  2,  2,      29,       0,    -12,    0},
-        { 0,  0,  0,  2,  0,      26,       0,      0,    0},
-        {-2,  0,  0,  2,  0,     -22,       0,      0,    0},
-        { 0,  0, -1,  2,  1,      21,       0,    -10,    0},
-        { 0,  2,  0,  0,  0,      17,    -0.1,      0,    0},
-        { 2,  0, -1,  0,  1,      16,       0,     -8,    0},
-        {-2,  2,  0,  2,  2,     -16,     0.1,      7,    0},
-        { 0,  1,  0,  0,  1,     -15,       0,      9,    0},
-        {-2,  0,  1,  0,  1,     -13,       0,      7,    0},
-        { 0, -1,  0,  0,  1,     -12,       0,      6,    0},
-        { 0,  0,  2, -2,  0,      11,       0,      0,    0},
-        { 2,  0, -1,  2,  1,     -10,       0,      5,    0},
-        { 2,  0,  1,  2,  2,      -8,       0,      3,    0},
-        { 0,  1,  0,  2,  2,       7,       0,     -3,    0},
-        {-2,  1,  1,  0,  0,      -7,       0,      0,    0},
-        { 0, -1,  0,  2,  2,      -7,       0,      3,    0},
-        { 2,  0,  0,  2,  1,      -7,       0,      3,    0},
-        { 2,  0,  1,  0,  0,       6,       0,      0,    0},
-        {-2,  0,  2,  2,  2,       6,       0,     -3,    0},
-        {-2,  0,  1,  2,  1,       6,       0,     -3,    0},
-        { 2,  0, -2,  0,  1,      -6,       0,      3,    0},
-        { 2,  0,  0,  0,  1,      -6,       0,      3,    0},
-        { 0, -1,  1,  0,  0,       5,       0,      0,    0},
-        {-2, -1,  0,  2,  1,      -5,       0,      3,    0},
-        {-2,  0,  0,  0,  1,      -5,       0,      3,    0},
-        { 0,  0,  2,  2,  1,      -5,       0,      3,    0},
-        {-2,  0,  2,  0,  1,       4,       0,      0,    0},
-        {-2,  1,  0,  2,  1,       4,       0,      0,    0},
-        { 0,  0,  1, -2,  0,       4,       0,      0,    0},
-        {-1,  0,  1,  0,  0,      -4,       0,      0,    0},
-        {-2,  1,  0,  0,  0,      -4,       0,      0,    0},
-        { 1,  0,  0,  0,  0,      -4,       0,      0,    0},
-        { 0,  0,  1,  2,  0,       3,       0,      0,    0},
-        { 0,  0, -2,  2,  2,      -3,       0,      0,    0},
-        {-1, -1,  1,  0,  0,      -3,       0,      0,    0},
-        { 0,  1,  1,  0,  0,      -3,       0,      0,    0},
-        { 0, -1,  1,  2,  2,      -3,       0,      0,    0},
-        { 2, -1, -1,  2,  2,      -3,       0,      0,    0},
-        { 0,  0,  3,  2,  2,      -3,       0,      0,    0},
-        { 2, -1,  0,  2,  2,      -3,       0,      0,    0}
-    };
-    double t = julianDate.getJulianCenturies(DeltaTCalculator.EPOCH2000);
-
-    for (int i = 0; i < periodicData.length; i++) {
-      double argument = (periodicData[i][0] * meanElongationOfMoon) +
-          (periodicData[i][1] * meanAnomalyOfSun) + (periodicData[i][2] * meanAnomalyOfMoon) +
-          (periodicData[i][3] * moonArgumentOfLatitude) +
-          (periodicData[i][4] * longitudeOfAscendingNode);
-      argument = Math.toRadians(argument);
-      double coefficientSine = periodicData[i][5] + (periodicData[i][6] * t);
-      double coefficientCosine = periodicData[i][7] + (periodicData[i][8] * t);
-      this.nutation.setNutationInLongitude(this.nutation.getNutationInLongitude() +
-          (coefficientSine * Math.sin(argument)));
-      this.nutation.setNutationInObliquity(this.nutation.getNutationInObliquity() +
-          (coefficientCosine * Math.cos(argument)));
-    }
 
-    this.nutation.setNutationInLongitude(this.nutation.getNutationInLongitude() / 10000.0);
-    this.nutation.setNutationInObliquity(this.nutation.getNutationInObliquity() / 10000.0);
-    calculateTrueObliquityOfEcliptic(this.nutation.getNutationInObliquity());
+    angles.setAngle(0, instant, Math.toRadians(meanElongationOfMoon));
+    angles.setAngle(1, instant, Math.toRadians(meanAnomalyOfSun));
+    angles.setAngle(2, instant, Math.toRadians(meanAnomalyOfMoon));
+    angles.setAngle(3, instant, Math.toRadians(moonArgumentOfLatitude));
+    angles.setAngle(4, instant, Math.toRadians(longitudeOfAscendingNode));
   }
 
-  private void calculateTrueObliquityOfEcliptic(double nutationOfObliquity) {
-    double u = julianDate.getJulianCenturies(DeltaTCalculator.EPOCH2000) / 100;
+  private static double trueObliquityOfEcliptic(double t, double nutationOfObliquity) {
+    double u = t / 100;
 
     double deltaSeconds = (4680.93 * u)
         - (1.55 * u * u)
@@ -192,6 +315,22 @@ class MeeusNutationCalculator implements NutationCalculator {
         + (2.45 * u * u * u * u * u * u * u * u * u * u);
 
     double meanObliquity = 23.0 + (26.0/60.0) + (21.448 / 3600.0) - (deltaSeconds / 3600.0);
-    this.nutation.setTrueObliquityOfEcliptic(meanObliquity + (nutationOfObliquity / 3600));
+    return meanObliquity + (nutationOfObliquity / 3600);
+  }
+
+  private static int[] multiples(int column) {
+    int[] values = new int[ARGUMENTS.length / 5];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ARGUMENTS[i * 5 + column];
+    }
+    return values;
+  }
+
+  private static double[] coefficients(int column) {
+    double[] values = new double[COEFFICIENTS.length / 4];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = COEFFICIENTS[i * 4 + column];
+    }
+    return values;
   }
-}
\ No newline at end of file
+}
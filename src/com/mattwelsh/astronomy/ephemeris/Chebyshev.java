@@ -0,0 +1,224 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * This class implements the Chebyshev polynomial fitting and evaluation shared by the ephemeris
+ * classes. A function sampled at the n Chebyshev nodes of an interval is interpolated by a series
+ * of n Chebyshev polynomials, the same representation the JPL DE ephemerides use.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+final class Chebyshev {
+
+  private Chebyshev() {
+  }
+
+  /**
+   * Returns the n Chebyshev nodes of the first kind on [-1, 1].
+   *
+   * @param n The number of nodes.
+   * @return The nodes, in decreasing order.
+   */
+  static double[] nodes(int n) {
+    double[] nodes = new double[n];
+    for (int k = 0; k < n; k++) {
+      nodes[k] = Math.cos(Math.PI * (k + 0.5) / n);
+    }
+    return nodes;
+  }
+
+  /**
+   * Computes the coefficients of the series interpolating the passed samples, which must have been
+   * taken at the points returned by nodes(n) for n = count.
+   *
+   * @param samples The samples of the function at the nodes.
+   * @param sampleOffset The index of the first sample.
+   * @param sampleStride The distance between consecutive samples in the array.
+   * @param count The number of samples, which is also the number of coefficients.
+   * @param coefficients The array that receives the coefficients.
+   * @param offset The index the first coefficient is stored at.
+   */
+  static void fit(double[] samples, int sampleOffset, int sampleStride, int count,
+      double[] coefficients, int offset) {
+    for (int j = 0; j < count; j++) {
+      double sum = 0.0;
+      for (int k = 0; k < count; k++) {
+        double sample = samples[sampleOffset + k * sampleStride];
+        sum += sample * Math.cos(Math.PI * j * (k + 0.5) / count);
+      }
+      coefficients[offset + j] = (j == 0 ? 1.0 : 2.0) * sum / count;
+    }
+  }
+
+  /**
+   * Fits series of n coefficients to the X, Y, and Z positions a source gives over an interval,
+   * and checks the fit against the source half way between each pair of nodes and at both ends.
+   * The coefficients are stored as n for X, then n for Y, then n for Z.
+   *
+   * @param source The source of the positions.
+   * @param start The first julian day number of the interval.
+   * @param length The length of the interval in days.
+   * @param n The number of coefficients of each series.
+   * @param tolerance The largest difference in AU allowed between the fit and the source.
+   * @param coefficients The array that receives the 3 * n coefficients.
+   * @param offset The index the first coefficient is stored at.
+   * @return True if the fit is within the tolerance everywhere it was checked.
+   */
+  static boolean fitPosition(EphemerisSource source, double start, double length, int n,
+      double tolerance, double[] coefficients, int offset) {
+    double[] nodes = nodes(n);
+    double[] samples = new double[3 * n];
+    double[] xyz = new double[3];
+    for (int k = 0; k < n; k++) {
+      source.computePosition(start + (nodes[k] + 1.0) * 0.5 * length, xyz);
+      samples[k] = xyz[0];
+      samples[n + k] = xyz[1];
+      samples[2 * n + k] = xyz[2];
+    }
+    for (int axis = 0; axis < 3; axis++) {
+      fit(samples, axis * n, 1, n, coefficients, offset + axis * n);
+    }
+
+    for (int k = 0; k <= n; k++) {
+      double x;
+      if (k == 0) {
+        x = 1.0;
+      } else if (k == n) {
+        x = -1.0;
+      } else {
+        x = 0.5 * (nodes[k - 1] + nodes[k]);
+      }
+      source.computePosition(start + (x + 1.0) * 0.5 * length, xyz);
+      for (int axis = 0; axis < 3; axis++) {
+        double fitted = evaluate(coefficients, offset + axis * n, n, x);
+        if (Math.abs(fitted - xyz[axis]) > tolerance) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Evaluates a Chebyshev series with Clenshaw's recurrence.
+   *
+   * @param coefficients The array holding the coefficients.
+   * @param offset The index of the first coefficient.
+   * @param count The number of coefficients.
+   * @param x The point to evaluate the series at, in [-1, 1].
+   * @return The value of the series.
+   */
+  static double evaluate(double[] coefficients, int offset, int count, double x) {
+    double twoX = 2.0 * x;
+    double b1 = 0.0;
+    double b2 = 0.0;
+    for (int j = offset + count - 1; j > offset; j--) {
+      double b0 = coefficients[j] + twoX * b1 - b2;
+      b2 = b1;
+      b1 = b0;
+    }
+    return coefficients[offset] + x * b1 - b2;
+  }
+
+  /**
+   * Evaluates a Chebyshev series with Clenshaw's recurrence, reading the coefficients in place
+   * from the passed buffer with absolute gets, so the position of the buffer is not used and
+   * nothing is copied.
+   *
+   * @param coefficients The buffer holding the coefficients.
+   * @param offset The index of the first coefficient.
+   * @param count The number of coefficients.
+   * @param x The point to evaluate the series at, in [-1, 1].
+   * @return The value of the series.
+   */
+  static double evaluate(DoubleBuffer coefficients, int offset, int count, double x) {
+    double twoX = 2.0 * x;
+    double b1 = 0.0;
+    double b2 = 0.0;
+    for (int j = offset + count - 1; j > offset; j--) {
+      double b0 = coefficients.get(j) + twoX * b1 - b2;
+      b2 = b1;
+      b1 = b0;
+    }
+    return coefficients.get(offset) + x * b1 - b2;
+  }
+
+  /**
+   * Evaluates the derivative with respect to x of a Chebyshev series.
+   *
+   * @param coefficients The array holding the coefficients.
+   * @param offset The index of the first coefficient.
+   * @param count The number of coefficients.
+   * @param x The point to evaluate the derivative at, in [-1, 1].
+   * @return The derivative of the series.
+   */
+  static double evaluateDerivative(double[] coefficients, int offset, int count, double x) {
+    // The coefficients of the derivative follow from d(j-1) = d(j+1) + 2 j c(j), and are summed
+    // with Clenshaw's recurrence as they are produced, highest order first.
+    double twoX = 2.0 * x;
+    double dNext = 0.0;
+    double dNextNext = 0.0;
+    double b1 = 0.0;
+    double b2 = 0.0;
+    for (int j = count - 1; j > 1; j--) {
+      double d = dNextNext + 2.0 * j * coefficients[offset + j];
+      double b0 = d + twoX * b1 - b2;
+      b2 = b1;
+      b1 = b0;
+      dNextNext = dNext;
+      dNext = d;
+    }
+    if (count < 2) {
+      return 0.0;
+    }
+    double d0 = dNextNext + 2.0 * coefficients[offset + 1];
+    return 0.5 * d0 + x * b1 - b2;
+  }
+
+  /**
+   * Evaluates the derivative with respect to x of a Chebyshev series, reading the coefficients in
+   * place from the passed buffer with absolute gets.
+   *
+   * @param coefficients The buffer holding the coefficients.
+   * @param offset The index of the first coefficient.
+   * @param count The number of coefficients.
+   * @param x The point to evaluate the derivative at, in [-1, 1].
+   * @return The derivative of the series.
+   */
+  static double evaluateDerivative(DoubleBuffer coefficients, int offset, int count, double x) {
+    double twoX = 2.0 * x;
+    double dNext = 0.0;
+    double dNextNext = 0.0;
+    double b1 = 0.0;
+    double b2 = 0.0;
+    for (int j = count - 1; j > 1; j--) {
+      double d = dNextNext + 2.0 * j * coefficients.get(offset + j);
+      double b0 = d + twoX * b1 - b2;
+      b2 = b1;
+      b1 = b0;
+      dNextNext = dNext;
+      dNext = d;
+    }
+    if (count < 2) {
+      return 0.0;
+    }
+    double d0 = dNextNext + 2.0 * coefficients.get(offset + 1);
+    return 0.5 * d0 + x * b1 - b2;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import com.mattwelsh.astronomy.utilities.SegmentedLruCache;
+
+/**
+ * This class caches the positions of one body as Chebyshev polynomials, in the manner of the JPL
+ * DE ephemerides. Time is divided into granules of a fixed number of days, and the first query
+ * that falls in a granule fits a polynomial to the position given by the EphemerisSource at the
+ * Chebyshev nodes of the granule. Every later query in that granule is answered by evaluating the
+ * polynomial, which costs a few dozen floating point operations instead of a full series sum.
+ *
+ * <p>Each fit is checked against the source half way between the nodes. If it misses the
+ * tolerance the degree of the polynomial is doubled, up to MAX_DEGREE, and if that still isn't
+ * enough the granule is too long for the tolerance and an IllegalStateException is thrown. Granules
+ * of 8 days for Mercury, 16 days for Venus, Earth and Mars, and 32 days for the outer planets with
+ * a degree of 12 easily stay within 1e-9 AU of VSOP87.</p>
+ *
+ * <p>At most maxGranules granules are kept; when a new one is added the least recently used one
+ * is dropped. The granules are kept in a SegmentedLruCache, so the cache is safe to use from many
+ * threads, and when several threads ask for the same missing granule only one of them fits it
+ * while the others wait for its result.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class ChebyshevEphemerisCache {
+
+  /** The highest degree a fit is allowed to reach while trying to meet the tolerance. */
+  public static final int MAX_DEGREE = 48;
+
+  private static final double J2000 = 2451545.0;
+
+  private final EphemerisSource source;
+  private final double granuleDays;
+  private final int degree;
+  private final double tolerance;
+  private final SegmentedLruCache<Long, Granule> granules;
+
+  /**
+   * Create a cache for the positions computed by the passed source.
+   *
+   * @param source The source of the positions to cache.
+   * @param granuleDays The length in days of the interval covered by one polynomial.
+   * @param degree The degree of the polynomials to start with.
+   * @param tolerance The largest difference in AU allowed between the cache and the source.
+   * @param maxGranules The largest number of granules to keep.
+   */
+  public ChebyshevEphemerisCache(EphemerisSource source, double granuleDays, int degree,
+      double tolerance, int maxGranules) {
+    if (granuleDays <= 0.0 || degree < 1 || degree > MAX_DEGREE || tolerance <= 0.0
+        || maxGranules < 1) {
+      throw new IllegalArgumentException("Invalid ephemeris cache configuration");
+    }
+    this.source = source;
+    this.granuleDays = granuleDays;
+    this.degree = degree;
+    this.tolerance = tolerance;
+    this.granules = new SegmentedLruCache<>(maxGranules, this::fit);
+  }
+
+  /**
+   * Computes the position of the body for the passed julian day number, fitting the granule that
+   * holds it if it isn't already cached.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the position for.
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  public void computePosition(double julianDayNumber, double[] xyz) {
+    Granule granule = granuleFor(julianDayNumber);
+    double x = granule.normalize(julianDayNumber);
+    int n = granule.size;
+    xyz[0] = Chebyshev.evaluate(granule.coefficients, 0, n, x);
+    xyz[1] = Chebyshev.evaluate(granule.coefficients, n, n, x);
+    xyz[2] = Chebyshev.evaluate(granule.coefficients, 2 * n, n, x);
+  }
+
+  /**
+   * Computes the velocity of the body for the passed julian day number by differentiating the
+   * polynomial of the granule that holds it.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the velocity for.
+   * @param xyz An array of at least three elements that receives dX, dY, and dZ in AU per day.
+   */
+  public void computeVelocity(double julianDayNumber, double[] xyz) {
+    Granule granule = granuleFor(julianDayNumber);
+    double x = granule.normalize(julianDayNumber);
+    int n = granule.size;
+    double scale = 2.0 / this.granuleDays;
+    xyz[0] = scale * Chebyshev.evaluateDerivative(granule.coefficients, 0, n, x);
+    xyz[1] = scale * Chebyshev.evaluateDerivative(granule.coefficients, n, n, x);
+    xyz[2] = scale * Chebyshev.evaluateDerivative(granule.coefficients, 2 * n, n, x);
+  }
+
+  /**
+   * Returns the largest difference in AU allowed between the cache and the source.
+   *
+   * @return The fit tolerance in AU.
+   */
+  public double getTolerance() {
+    return this.tolerance;
+  }
+
+  /**
+   * Returns the length in days of the interval covered by one polynomial.
+   *
+   * @return The length of a granule in days.
+   */
+  public double getGranuleDays() {
+    return this.granuleDays;
+  }
+
+  /**
+   * Returns the number of granules currently cached.
+   *
+   * @return The number of granules currently cached.
+   */
+  public int size() {
+    return this.granules.size();
+  }
+
+  /**
+   * Returns the number of queries answered from a cached granule.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return this.granules.getHitCount();
+  }
+
+  /**
+   * Returns the number of queries that had to fit a new granule, or wait for another thread to
+   * fit it.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return this.granules.getMissCount();
+  }
+
+  /**
+   * Returns the number of granules dropped to stay within the size limit.
+   *
+   * @return The number of evictions.
+   */
+  public long getEvictionCount() {
+    return this.granules.getEvictionCount();
+  }
+
+  /** Drops every cached granule. */
+  public void clear() {
+    this.granules.clear();
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private Granule granuleFor(double julianDayNumber) {
+    long index = (long) Math.floor((julianDayNumber - J2000) / this.granuleDays);
+    return this.granules.get(index);
+  }
+
+  private Granule fit(long index) {
+    double start = J2000 + index * this.granuleDays;
+    for (int n = this.degree + 1; ; n = Math.min(2 * n - 1, MAX_DEGREE + 1)) {
+      Granule granule = new Granule(start, this.granuleDays, n);
+      if (Chebyshev.fitPosition(this.source, start, this.granuleDays, n, this.tolerance,
+          granule.coefficients, 0)) {
+        return granule;
+      }
+      if (n == MAX_DEGREE + 1) {
+        throw new IllegalStateException("Granules of " + this.granuleDays
+            + " days can not be fitted to a tolerance of " + this.tolerance + " AU");
+      }
+    }
+  }
+
+  private static final class Granule {
+
+    private final double start;
+    private final double length;
+    private final int size;
+    private final double[] coefficients;
+
+    Granule(double start, double length, int size) {
+      this.start = start;
+      this.length = length;
+      this.size = size;
+      this.coefficients = new double[3 * size];
+    }
+
+    double normalize(double julianDayNumber) {
+      return 2.0 * (julianDayNumber - this.start) / this.length - 1.0;
+    }
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import com.mattwelsh.astronomy.object.VSOP87;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * This class reads an ephemeris file written by EphemerisFileWriter. The file is mapped into
+ * memory rather than read, so the processes that open the same file share one copy of it in the
+ * page cache, and a position costs the lookup of one record, found directly from the date, and
+ * the evaluation of three Chebyshev series.
+ *
+ * <p>The header is checked against its checksum when the file is opened. An instance holds no
+ * mutable state, so it can be used by any number of threads at the same time.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class EphemerisFile {
+
+  private static final VSOP87.Body[] BODIES = VSOP87.Body.values();
+
+  private final DoubleBuffer data;
+  private final double startJulianDay;
+  private final double endJulianDay;
+  private final double tolerance;
+  private final double[] granuleDays = new double[BODIES.length];
+  private final int[] coefficientCounts = new int[BODIES.length];
+  private final int[] granuleCounts = new int[BODIES.length];
+  private final int[] offsets = new int[BODIES.length];
+
+  private EphemerisFile(ByteBuffer buffer) throws IOException {
+    if (buffer.capacity() < EphemerisFileWriter.FIXED_HEADER_SIZE
+        || buffer.getLong(0) != EphemerisFileWriter.MAGIC) {
+      throw new IOException("Not an ephemeris file");
+    }
+    if (buffer.getInt(8) != EphemerisFileWriter.VERSION) {
+      throw new IOException("Unsupported ephemeris file version " + buffer.getInt(8));
+    }
+    int count = buffer.getInt(12);
+    int headerSize = EphemerisFileWriter.FIXED_HEADER_SIZE
+        + count * EphemerisFileWriter.BODY_ENTRY_SIZE + 8;
+    if (count < 0 || count > BODIES.length || buffer.capacity() < headerSize) {
+      throw new IOException("Corrupt ephemeris file header");
+    }
+    byte[] header = new byte[headerSize - 8];
+    ByteBuffer view = buffer.duplicate();
+    view.position(0);
+    view.get(header);
+    CRC32 crc = new CRC32();
+    crc.update(header, 0, header.length);
+    if (crc.getValue() != buffer.getLong(headerSize - 8)) {
+      throw new IOException("Ephemeris file header checksum mismatch");
+    }
+
+    this.data = buffer.asDoubleBuffer();
+    this.startJulianDay = buffer.getDouble(16);
+    this.endJulianDay = buffer.getDouble(24);
+    this.tolerance = buffer.getDouble(32);
+    for (int i = 0; i < count; i++) {
+      int entry = EphemerisFileWriter.FIXED_HEADER_SIZE + i * EphemerisFileWriter.BODY_ENTRY_SIZE;
+      int body = buffer.getInt(entry);
+      long offset = buffer.getLong(entry + 20);
+      int n = buffer.getInt(entry + 12);
+      int granules = buffer.getInt(entry + 16);
+      if (body < 0 || body >= BODIES.length || n < 1 || granules < 1 || offset % 8 != 0
+          || offset + 24L * n * granules > buffer.capacity()) {
+        throw new IOException("Corrupt ephemeris file body table");
+      }
+      this.granuleDays[body] = buffer.getDouble(entry + 4);
+      this.coefficientCounts[body] = n;
+      this.granuleCounts[body] = granules;
+      this.offsets[body] = (int) (offset / 8);
+    }
+  }
+
+  /**
+   * Opens and maps the ephemeris file at the passed path. The mapping stays valid after this
+   * method returns; no file handle is kept open.
+   *
+   * @param path The path of the file.
+   * @return The opened file.
+   * @throws IOException If the file can not be read or is not a valid ephemeris file.
+   */
+  public static EphemerisFile open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new EphemerisFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Computes the position of a body for the passed julian day number.
+   *
+   * @param body The body, which must be in the file.
+   * @param julianDayNumber The julian day number (TT), within the span of the file.
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  public void computePosition(VSOP87.Body body, double julianDayNumber, double[] xyz) {
+    int b = body.ordinal();
+    int n = this.coefficientCounts[b];
+    int index = granule(body, julianDayNumber);
+    int first = this.offsets[b] + index * 3 * n;
+    double x = scaledTime(b, index, julianDayNumber);
+    xyz[0] = Chebyshev.evaluate(this.data, first, n, x);
+    xyz[1] = Chebyshev.evaluate(this.data, first + n, n, x);
+    xyz[2] = Chebyshev.evaluate(this.data, first + 2 * n, n, x);
+  }
+
+  /**
+   * Computes the velocity of a body for the passed julian day number by differentiating the
+   * polynomial of the record that holds it.
+   *
+   * @param body The body, which must be in the file.
+   * @param julianDayNumber The julian day number (TT), within the span of the file.
+   * @param xyz An array of at least three elements that receives dX, dY, and dZ in AU per day.
+   */
+  public void computeVelocity(VSOP87.Body body, double julianDayNumber, double[] xyz) {
+    int b = body.ordinal();
+    int n = this.coefficientCounts[b];
+    int index = granule(body, julianDayNumber);
+    int first = this.offsets[b] + index * 3 * n;
+    double x = scaledTime(b, index, julianDayNumber);
+    double scale = 2.0 / this.granuleDays[b];
+    xyz[0] = scale * Chebyshev.evaluateDerivative(this.data, first, n, x);
+    xyz[1] = scale * Chebyshev.evaluateDerivative(this.data, first + n, n, x);
+    xyz[2] = scale * Chebyshev.evaluateDerivative(this.data, first + 2 * n, n, x);
+  }
+
+  /**
+   * Returns a source that takes the positions of a body from this file, for use wherever an
+   * EphemerisSource is expected.
+   *
+   * @param body The body, which must be in the file.
+   * @return A source backed by this file.
+   */
+  public EphemerisSource getSource(VSOP87.Body body) {
+    checkBody(body);
+    return (julianDayNumber, xyz) -> computePosition(body, julianDayNumber, xyz);
+  }
+
+  /**
+   * Returns true if the file holds records for the passed body.
+   *
+   * @param body The body.
+   * @return True if the body is in the file.
+   */
+  public boolean hasBody(VSOP87.Body body) {
+    return this.coefficientCounts[body.ordinal()] > 0;
+  }
+
+  /**
+   * Returns the first julian day number (TT) the file covers.
+   *
+   * @return The start of the span of the file.
+   */
+  public double getStartJulianDay() {
+    return this.startJulianDay;
+  }
+
+  /**
+   * Returns the last julian day number (TT) the file covers.
+   *
+   * @return The end of the span of the file.
+   */
+  public double getEndJulianDay() {
+    return this.endJulianDay;
+  }
+
+  /**
+   * Returns the largest difference in AU between the file and VSOP87 the file was fitted to.
+   *
+   * @return The fit tolerance in AU.
+   */
+  public double getTolerance() {
+    return this.tolerance;
+  }
+
+  /**
+   * Returns the length in days of the interval covered by one record of a body.
+   *
+   * @param body The body, which must be in the file.
+   * @return The length of a granule in days.
+   */
+  public double getGranuleDays(VSOP87.Body body) {
+    checkBody(body);
+    return this.granuleDays[body.ordinal()];
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the index of the record of the body holding the passed date. The coefficients of the
+   * record are then evaluated in place in the mapped file.
+   */
+  private int granule(VSOP87.Body body, double julianDayNumber) {
+    checkBody(body);
+    if (!(julianDayNumber >= this.startJulianDay && julianDayNumber <= this.endJulianDay)) {
+      throw new IllegalArgumentException("Julian day " + julianDayNumber
+          + " is outside the ephemeris file span");
+    }
+    int b = body.ordinal();
+    int index = (int) ((julianDayNumber - this.startJulianDay) / this.granuleDays[b]);
+    return Math.min(index, this.granuleCounts[b] - 1);
+  }
+
+  /** Returns the passed date scaled to [-1, 1] over the record of index granule of a body. */
+  private double scaledTime(int body, int granule, double julianDayNumber) {
+    double length = this.granuleDays[body];
+    double start = this.startJulianDay + granule * length;
+    return 2.0 * (julianDayNumber - start) / length - 1.0;
+  }
+
+  private void checkBody(VSOP87.Body body) {
+    if (!hasBody(body)) {
+      throw new IllegalArgumentException("The ephemeris file has no records for " + body);
+    }
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * This class writes an ephemeris file of Chebyshev coefficients, in the manner of the JPL DE
+ * files, that EphemerisFile can then map into memory. The positions are the VSOP87a rectangular
+ * positions of the bodies added, heliocentric for the planets and barycentric for the Sun,
+ * referred to the ecliptic and equinox J2000.
+ *
+ * <p>The span is cut into granules of a fixed number of days for each body, and every granule of
+ * a body is fitted with the same number of coefficients so a reader can find the record for a
+ * date by arithmetic alone. Fitting starts at INITIAL_DEGREE, and if any granule misses the
+ * tolerance the degree of the body is raised, as ChebyshevEphemerisCache does, and the body is
+ * fitted again.</p>
+ *
+ * <p>The file can also be written from the command line:</p>
+ *
+ * <pre>
+ * java com.mattwelsh.astronomy.ephemeris.EphemerisFileWriter file startJD endJD [tolerance]
+ *     [body...]
+ * </pre>
+ *
+ * <p>which writes every body, at a tolerance of 1e-9 AU, when none are named.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class EphemerisFileWriter {
+
+  /** The degree every body is first fitted with. */
+  public static final int INITIAL_DEGREE = 12;
+
+  static final long MAGIC = 0x5552414e49414550L;
+  static final int VERSION = 1;
+  static final int FIXED_HEADER_SIZE = 8 + 4 + 4 + 8 + 8 + 8;
+  static final int BODY_ENTRY_SIZE = 4 + 8 + 4 + 4 + 8;
+
+  private final double startJulianDay;
+  private final double endJulianDay;
+  private final double tolerance;
+  private final Accuracy accuracy;
+  private final List<VSOP87.Body> bodies = new ArrayList<>();
+  private final List<Double> granules = new ArrayList<>();
+
+  /**
+   * Create a writer for the passed span.
+   *
+   * @param startJulianDay The first julian day number (TT) the file covers.
+   * @param endJulianDay The last julian day number (TT) the file covers.
+   * @param tolerance The largest difference in AU allowed between the file and VSOP87.
+   * @param accuracy The accuracy of the VSOP87 positions fitted.
+   */
+  public EphemerisFileWriter(double startJulianDay, double endJulianDay, double tolerance,
+      Accuracy accuracy) {
+    if (!(endJulianDay > startJulianDay) || tolerance <= 0.0) {
+      throw new IllegalArgumentException("Invalid ephemeris file span or tolerance");
+    }
+    this.startJulianDay = startJulianDay;
+    this.endJulianDay = endJulianDay;
+    this.tolerance = tolerance;
+    this.accuracy = accuracy;
+  }
+
+  /**
+   * Adds a body with the length of granule returned by getDefaultGranuleDays().
+   *
+   * @param body The body to add.
+   */
+  public void addBody(VSOP87.Body body) {
+    addBody(body, getDefaultGranuleDays(body));
+  }
+
+  /**
+   * Adds a body with the passed length of granule.
+   *
+   * @param body The body to add.
+   * @param granuleDays The length in days of the interval covered by one record.
+   */
+  public void addBody(VSOP87.Body body, double granuleDays) {
+    if (this.bodies.contains(body)) {
+      throw new IllegalArgumentException(body + " has already been added");
+    }
+    if (granuleDays <= 0.0) {
+      throw new IllegalArgumentException("Invalid granule length " + granuleDays);
+    }
+    this.bodies.add(body);
+    this.granules.add(granuleDays);
+  }
+
+  /**
+   * Returns the length of granule a body is given when none is passed: 8 days for Mercury, 16
+   * days for Venus, Earth, and Mars, and 32 days for the outer planets and the Sun.
+   *
+   * @param body The body.
+   * @return The length of a granule in days.
+   */
+  public static double getDefaultGranuleDays(VSOP87.Body body) {
+    switch (body) {
+      case MERCURY:
+        return 8.0;
+      case VENUS:
+      case EARTH:
+      case MARS:
+        return 16.0;
+      default:
+        return 32.0;
+    }
+  }
+
+  /**
+   * Fits every body added and writes the file, replacing any file already at the path.
+   *
+   * @param path The path of the file to write.
+   * @throws IOException If the file can not be written.
+   */
+  public void write(Path path) throws IOException {
+    int count = this.bodies.size();
+    int[] coefficientCounts = new int[count];
+    int[] granuleCounts = new int[count];
+    double[][] records = new double[count][];
+    for (int i = 0; i < count; i++) {
+      double granuleDays = this.granules.get(i);
+      granuleCounts[i] = (int) Math.ceil((this.endJulianDay - this.startJulianDay) / granuleDays);
+      EphemerisSource source = EphemerisSource.fromVSOP87(this.bodies.get(i), VSOP87.Variant.A,
+          this.accuracy);
+      for (int n = INITIAL_DEGREE + 1; ; n = Math.min(2 * n - 1,
+          ChebyshevEphemerisCache.MAX_DEGREE + 1)) {
+        records[i] = fitBody(source, granuleDays, granuleCounts[i], n);
+        if (records[i] != null) {
+          coefficientCounts[i] = n;
+          break;
+        }
+        if (n == ChebyshevEphemerisCache.MAX_DEGREE + 1) {
+          throw new IllegalStateException("Granules of " + granuleDays + " days for "
+              + this.bodies.get(i) + " can not be fitted to a tolerance of " + this.tolerance
+              + " AU");
+        }
+      }
+    }
+
+    int headerSize = FIXED_HEADER_SIZE + count * BODY_ENTRY_SIZE + 8;
+    long dataOffset = (headerSize + 7) & ~7L;
+    ByteBuffer header = ByteBuffer.allocate((int) dataOffset);
+    header.putLong(MAGIC);
+    header.putInt(VERSION);
+    header.putInt(count);
+    header.putDouble(this.startJulianDay);
+    header.putDouble(this.endJulianDay);
+    header.putDouble(this.tolerance);
+    long offset = dataOffset;
+    for (int i = 0; i < count; i++) {
+      header.putInt(this.bodies.get(i).ordinal());
+      header.putDouble(this.granules.get(i));
+      header.putInt(coefficientCounts[i]);
+      header.putInt(granuleCounts[i]);
+      header.putLong(offset);
+      offset += 8L * records[i].length;
+    }
+    CRC32 crc = new CRC32();
+    crc.update(header.array(), 0, headerSize - 8);
+    header.putLong(crc.getValue());
+    header.rewind();
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      for (double[] record : records) {
+        ByteBuffer data = ByteBuffer.allocate(8 * record.length);
+        data.asDoubleBuffer().put(record);
+        while (data.hasRemaining()) {
+          channel.write(data);
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes an ephemeris file from the command line.
+   *
+   * @param args The path of the file, the first and last julian day numbers, and optionally the
+   *     tolerance in AU followed by the names of the bodies.
+   * @throws IOException If the file can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println("usage: EphemerisFileWriter file startJD endJD [tolerance] [body...]");
+      System.exit(1);
+    }
+    double tolerance = args.length > 3 ? Double.parseDouble(args[3]) : 1e-9;
+    EphemerisFileWriter writer = new EphemerisFileWriter(Double.parseDouble(args[1]),
+        Double.parseDouble(args[2]), tolerance, Accuracy.FULL);
+    if (args.length > 4) {
+      for (int i = 4; i < args.length; i++) {
+        writer.addBody(VSOP87.Body.valueOf(args[i].toUpperCase(Locale.ROOT)));
+      }
+    } else {
+      for (VSOP87.Body body : VSOP87.Body.values()) {
+        writer.addBody(body);
+      }
+    }
+    writer.write(Paths.get(args[0]));
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Fits every granule of a body with n coefficients per axis, or returns null if one of them
+   * misses the tolerance.
+   */
+  private double[] fitBody(EphemerisSource source, double granuleDays, int granuleCount, int n) {
+    double[] record = new double[3 * n * granuleCount];
+    for (int g = 0; g < granuleCount; g++) {
+      if (!Chebyshev.fitPosition(source, this.startJulianDay + g * granuleDays, granuleDays, n,
+          this.tolerance, record, 3 * n * g)) {
+        return null;
+      }
+    }
+    return record;
+  }
+}
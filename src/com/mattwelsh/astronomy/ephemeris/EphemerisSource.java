@@ -0,0 +1,107 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import com.mattwelsh.astronomy.object.VSOP87a.RectangularDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.LbrDataReader;
+import java.util.function.DoubleFunction;
+
+/**
+ * This interface defines the API a source of positions must implement to be used by the
+ * ephemeris classes in this package. A source computes the rectangular heliocentric ecliptic
+ * coordinates of one body, referred to the equinox J2000, directly from its theory.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public interface EphemerisSource {
+
+  /**
+   * Computes the position of the body for the passed julian day number.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the position for.
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  void computePosition(double julianDayNumber, double[] xyz);
+
+  /**
+   * Returns a source that computes positions of a body with the VSOP87 engine. Spherical variants
+   * are converted to rectangular coordinates. For example
+   * {@code EphemerisSource.fromVSOP87(VSOP87.Body.VENUS, VSOP87.Variant.A, Accuracy.FULL)}.
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the positions must have.
+   * @return A source backed by the engine.
+   */
+  static EphemerisSource fromVSOP87(VSOP87.Body body, VSOP87.Variant variant, Accuracy accuracy) {
+    if (!body.hasVariant(variant)) {
+      throw new IllegalArgumentException("VSOP87" + variant + " has no series for " + body);
+    }
+    return (julianDayNumber, xyz) -> {
+      VSOP87.compute(body, variant, accuracy, (julianDayNumber - 2451545.0) / 365250.0, xyz);
+      if (variant.isSpherical()) {
+        double l = xyz[0];
+        double b = xyz[1];
+        double r = xyz[2];
+        double rCosB = r * Math.cos(b);
+        xyz[0] = rCosB * Math.cos(l);
+        xyz[1] = rCosB * Math.sin(l);
+        xyz[2] = r * Math.sin(b);
+      }
+    };
+  }
+
+  /**
+   * Returns a source that computes positions with a VSOP87b data reader, converting the
+   * heliocentric longitude, latitude, and radius vector to rectangular coordinates. For example
+   * {@code EphemerisSource.fromLbr(VenusLbrDataReader::new)}.
+   *
+   * @param readerFactory Creates a reader for a time in julian millennia from J2000.
+   * @return A source backed by the reader.
+   */
+  static EphemerisSource fromLbr(DoubleFunction<? extends LbrDataReader> readerFactory) {
+    return (julianDayNumber, xyz) -> {
+      LbrDataReader reader = readerFactory.apply((julianDayNumber - 2451545.0) / 365250.0);
+      double l = reader.getHeliocentricLongitude();
+      double b = reader.getHeliocentricLatitude();
+      double r = reader.getRadiusVector();
+      double rCosB = r * Math.cos(b);
+      xyz[0] = rCosB * Math.cos(l);
+      xyz[1] = rCosB * Math.sin(l);
+      xyz[2] = r * Math.sin(b);
+    };
+  }
+
+  /**
+   * Returns a source that computes positions with a VSOP87a data reader. For example
+   * {@code EphemerisSource.fromRectangular(VenusRectangularDataReader::new)}.
+   *
+   * @param readerFactory Creates a reader for a time in julian millennia from J2000.
+   * @return A source backed by the reader.
+   */
+  static EphemerisSource fromRectangular(
+      DoubleFunction<? extends RectangularDataReader> readerFactory) {
+    return (julianDayNumber, xyz) -> {
+      RectangularDataReader reader =
+          readerFactory.apply((julianDayNumber - 2451545.0) / 365250.0);
+      xyz[0] = reader.getX();
+      xyz[1] = reader.getY();
+      xyz[2] = reader.getZ();
+    };
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This enumeration lists the accuracies the VSOP87 computers and the lunar theory can be asked
+ * for. Anything other than FULL lets the computers leave out the smallest terms of each series,
+ * which makes them faster at the price of precision.
+ *
+ * <p>The terms to leave out are chosen following the truncation rule of Bretagnon & Francou: the
+ * error of a series of power n is scaled by |t|^n, where t is the time from J2000 in julian
+ * millennia, so the further a date is from J2000 the more terms of the higher power series are
+ * kept. The precision is an angle; for the radius vector and the rectangular coordinates it is
+ * applied relative to the size of the orbit.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public enum Accuracy {
+
+  /** Use every term of every series. */
+  FULL(0.0),
+
+  /** Keep enough terms for the result to be within 1 second of arc of the complete series. */
+  ARCSEC_1(1.0),
+
+  /** Keep enough terms for the result to be within 10 seconds of arc of the complete series. */
+  ARCSEC_10(10.0),
+
+  /** Keep enough terms for the result to be within 1 minute of arc of the complete series. */
+  ARCMIN_1(60.0);
+
+  private final double precision;
+
+  Accuracy(double arcSeconds) {
+    this.precision = Math.toRadians(arcSeconds / 3600.0);
+  }
+
+  /**
+   * Returns the largest difference from the complete series allowed at this accuracy, in radians.
+   * It is zero for FULL.
+   *
+   * @return The precision of this accuracy, in radians.
+   */
+  public double getPrecision() {
+    return this.precision;
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class converts the 36 files of the ELP2000-82B lunar theory of Chapront-Touzé & Chapront
+ * (ELP1 to ELP36, as distributed by the Bureau des Longitudes) into the binary form read by
+ * ELPLunarTheory. The blob has the layout written by VSOPBinaryData, so it is loaded with one
+ * bulk read or memory mapping in the same way, and holds twelve series:
+ *
+ * <pre>
+ *   elp2000-82b/longitude0, latitude0, distance0                   terms * T^0
+ *   elp2000-82b/longitude0.secular, latitude0.secular, ...         their secular arguments
+ *   elp2000-82b/longitude1, ..., distance1                         terms * T
+ *   elp2000-82b/longitude2, ..., distance2                         terms * T^2
+ * </pre>
+ *
+ * <p>Every term is stored as A * cos(B + C * T), with T in julian centuries from J2000.0, the
+ * amplitude in seconds of arc or kilometers, and the phase and frequency in radians. The sine
+ * series of the files are turned into cosines by taking a quarter turn off the phase, and the
+ * arguments, which the files give as multiples of the Delaunay arguments, of the mean longitudes
+ * of the planets, and of the mean longitude of the Moon referred to the equinox of the date,
+ * are summed once here. The arguments of the main problem (files 1 to 3) also have terms in
+ * T^2, T^3, and T^4, which are kept as the three columns of the matching .secular series; every
+ * other term has a linear argument. The amplitudes of the main problem are corrected for the
+ * constants fitted to DE200, as in the ELP82B program of the authors.</p>
+ *
+ * <p>The files are too large to ship with the library. Once they have been fetched, the blob is
+ * generated by running</p>
+ *
+ * <pre>
+ * java com.mattwelsh.astronomy.object.ELPBinaryData elp2000-82b elp2000-82b.bin
+ * </pre>
+ *
+ * <p>and installed, either on the class path as {@value #RESOURCE_NAME} next to this class, or as
+ * a file named by the system property {@value #DATA_FILE_PROPERTY}.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ELPBinaryData {
+
+  /** The name of the class path resource holding the blob, relative to this class. */
+  public static final String RESOURCE_NAME = "elp2000-82b.bin";
+
+  /** The system property that can name a blob on the file system to memory map. */
+  public static final String DATA_FILE_PROPERTY = "urania.elp2000.data";
+
+  /** The prefix of the names of the series in the blob. */
+  static final String PREFIX = "elp2000-82b/";
+
+  /** The suffix of the series holding the secular arguments of the terms of power zero. */
+  static final String SECULAR = ".secular";
+
+  /** The names of the three coordinates, in the order of the files. */
+  static final String[] COORDINATES = {"longitude", "latitude", "distance"};
+
+  /** The number of files of the theory. */
+  static final int FILES = 36;
+
+  /** The power of T the terms of each group of three files are multiplied by. */
+  private static final int[] POWERS = {0, 0, 1, 0, 1, 0, 1, 0, 1, 0, 0, 2};
+
+  /** The constants fitted to DE200 that the amplitudes of the main problem are corrected for. */
+  private static final double AM = 0.074801329518;
+  private static final double ALPHA = 0.002571881335;
+  private static final double DTASM = 2.0 * ALPHA / (3.0 * AM);
+  private static final double DELNU = 0.55604 / ELPLunarTheory.W1[1];
+  private static final double DELE = 0.01789 * ELPLunarTheory.ARCSEC;
+  private static final double DELG = -0.08066 * ELPLunarTheory.ARCSEC;
+  private static final double DELNP = -0.06424 / ELPLunarTheory.W1[1];
+  private static final double DELEP = -0.12879 * ELPLunarTheory.ARCSEC;
+
+  private ELPBinaryData() {
+  }
+
+  /**
+   * Converts the 36 files in a directory into a single blob. The first argument is the directory
+   * holding ELP1 to ELP36, the second is the file to write.
+   *
+   * @param args The directory of the files and the output file.
+   * @throws IOException If a file can not be read or the blob can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: ELPBinaryData <directory of ELP1 to ELP36> <output file>");
+      System.exit(1);
+    }
+    Map<String, VSOPTermTable> tables = readTextTables(Paths.get(args[0]));
+    try (OutputStream out = Files.newOutputStream(Paths.get(args[1]))) {
+      VSOPBinaryData.write(tables.values(), out);
+    }
+    int terms = 0;
+    for (Map.Entry<String, VSOPTermTable> entry : tables.entrySet()) {
+      if (!entry.getKey().endsWith(SECULAR)) {
+        terms += entry.getValue().size();
+      }
+    }
+    System.out.println("Wrote " + terms + " terms to " + args[1]);
+  }
+
+  /**
+   * Parses the files ELP1 to ELP36 in the passed directory into the series of the blob.
+   *
+   * @param directory The directory holding the files.
+   * @return The series keyed by name.
+   * @throws IOException If a file is missing, can not be read, or holds a malformed term.
+   */
+  public static Map<String, VSOPTermTable> readTextTables(Path directory) throws IOException {
+    Terms[][] terms = new Terms[COORDINATES.length][3];
+    for (int coordinate = 0; coordinate < COORDINATES.length; coordinate++) {
+      for (int power = 0; power < 3; power++) {
+        terms[coordinate][power] = new Terms();
+      }
+    }
+    for (int file = 1; file <= FILES; file++) {
+      int group = (file - 1) / 3;
+      try (InputStream in = Files.newInputStream(directory.resolve("ELP" + file))) {
+        parse(file, in, terms[(file - 1) % 3][POWERS[group]]);
+      }
+    }
+
+    Map<String, VSOPTermTable> tables = new LinkedHashMap<>();
+    for (int coordinate = 0; coordinate < COORDINATES.length; coordinate++) {
+      for (int power = 0; power < 3; power++) {
+        String name = PREFIX + COORDINATES[coordinate] + power;
+        Terms series = terms[coordinate][power];
+        tables.put(name, series.table(name));
+        if (power == 0) {
+          tables.put(name + SECULAR, series.secular(name + SECULAR));
+        }
+      }
+    }
+    return Collections.unmodifiableMap(tables);
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Parses the terms of one file, numbered from 1 to 36, and adds them to the passed series. The
+   * first line of a file is a title. The integer multiples are read from their three character
+   * columns, since a negative multiple of two digits fills its column, and the real numbers that
+   * follow them are separated by blanks.
+   */
+  static void parse(int file, InputStream inputStream, Terms terms) throws IOException {
+    int group = (file - 1) / 3;
+    int coordinate = (file - 1) % 3;
+    BufferedReader reader = new BufferedReader(
+        new InputStreamReader(inputStream, StandardCharsets.US_ASCII));
+    reader.readLine();
+    String line;
+    int lineNumber = 1;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+      try {
+        if (group == 0) {
+          parseMainProblem(line, coordinate, terms);
+        } else if (group >= 3 && group <= 6) {
+          parsePlanetary(line, group <= 4, terms);
+        } else {
+          parseFigure(line, terms);
+        }
+      } catch (RuntimeException e) {
+        throw new IOException("Malformed term on line " + lineNumber + " of ELP" + file, e);
+      }
+    }
+  }
+
+  /**
+   * Parses a term of the main problem: the multiples of D, l', l, and F, then the amplitude and
+   * its derivatives with respect to the constants of the theory.
+   */
+  private static void parseMainProblem(String line, int coordinate, Terms terms) {
+    int[] multiples = multiples(line, 4);
+    double[] coefficients = reals(line, 4, 6);
+    double amplitude = coefficients[0];
+    if (coordinate == 2) {
+      amplitude -= 2.0 * amplitude * DELNU / 3.0;
+    }
+    amplitude += (coefficients[1] + DTASM * coefficients[5]) * (DELNP - AM * DELNU)
+        + coefficients[2] * DELG + coefficients[3] * DELE + coefficients[4] * DELEP;
+
+    double[] argument = new double[5];
+    for (int k = 0; k < 5; k++) {
+      argument[k] = ELPLunarTheory.ARCSEC * (multiples[0] * ELPLunarTheory.D[k]
+          + multiples[1] * ELPLunarTheory.L_PRIME[k] + multiples[2] * ELPLunarTheory.L[k]
+          + multiples[3] * ELPLunarTheory.F[k]);
+    }
+    // The longitude and latitude are sine series, the distance a cosine series.
+    double phase = coordinate == 2 ? argument[0] : argument[0] - Math.PI / 2.0;
+    terms.add(amplitude, phase, argument[1], argument[2], argument[3], argument[4]);
+  }
+
+  /**
+   * Parses a term of the perturbations other than the planetary ones: the multiples of zeta, D,
+   * l', l, and F, then the phase in degrees, the amplitude, and the period.
+   */
+  private static void parseFigure(String line, Terms terms) {
+    int[] multiples = multiples(line, 5);
+    double[] reals = reals(line, 5, 2);
+    // zeta is the mean longitude of the Moon referred to the mean equinox of the date.
+    double phase = Math.toRadians(reals[0])
+        + ELPLunarTheory.ARCSEC * multiples[0] * ELPLunarTheory.W1[0];
+    double frequency = ELPLunarTheory.ARCSEC * multiples[0]
+        * (ELPLunarTheory.W1[1] + ELPLunarTheory.PRECESSION);
+    for (int i = 0; i < 4; i++) {
+      double[] delaunay = ELPLunarTheory.DELAUNAY[i];
+      phase += ELPLunarTheory.ARCSEC * multiples[i + 1] * delaunay[0];
+      frequency += ELPLunarTheory.ARCSEC * multiples[i + 1] * delaunay[1];
+    }
+    terms.add(reals[1], phase - Math.PI / 2.0, frequency, 0.0, 0.0, 0.0);
+  }
+
+  /**
+   * Parses a planetary perturbation. The first table (files 10 to 15) has the multiples of the
+   * mean longitudes of the eight planets, then of D, l, and F; the second (files 16 to 21) those
+   * of the first seven planets, then of D, l', l, and F. They are followed by the phase in
+   * degrees, the amplitude, and the period.
+   */
+  private static void parsePlanetary(String line, boolean firstTable, Terms terms) {
+    int[] multiples = multiples(line, 11);
+    double[] reals = reals(line, 11, 2);
+    int planets = firstTable ? 8 : 7;
+    int[] delaunay = firstTable ? new int[] {0, 2, 3} : new int[] {0, 1, 2, 3};
+    double phase = Math.toRadians(reals[0]);
+    double frequency = 0.0;
+    for (int i = 0; i < planets; i++) {
+      phase += ELPLunarTheory.ARCSEC * multiples[i] * ELPLunarTheory.PLANETS[i][0];
+      frequency += ELPLunarTheory.ARCSEC * multiples[i] * ELPLunarTheory.PLANETS[i][1];
+    }
+    for (int i = 0; i < delaunay.length; i++) {
+      double[] argument = ELPLunarTheory.DELAUNAY[delaunay[i]];
+      phase += ELPLunarTheory.ARCSEC * multiples[planets + i] * argument[0];
+      frequency += ELPLunarTheory.ARCSEC * multiples[planets + i] * argument[1];
+    }
+    terms.add(reals[1], phase - Math.PI / 2.0, frequency, 0.0, 0.0, 0.0);
+  }
+
+  /** Returns the integers in the first count columns of three characters of the line. */
+  private static int[] multiples(String line, int count) {
+    int[] multiples = new int[count];
+    for (int i = 0; i < count; i++) {
+      multiples[i] = Integer.parseInt(line.substring(3 * i, 3 * i + 3).trim());
+    }
+    return multiples;
+  }
+
+  /** Returns the first count blank separated real numbers after the multiples of the line. */
+  private static double[] reals(String line, int multiples, int count) {
+    String[] fields = line.substring(3 * multiples).trim().split("\\s+");
+    double[] reals = new double[count];
+    for (int i = 0; i < count; i++) {
+      reals[i] = Double.parseDouble(fields[i]);
+    }
+    return reals;
+  }
+
+  /**
+   * This class collects the terms of one series as they are parsed, in parallel growing arrays of
+   * amplitudes, phases, frequencies, and the coefficients of T^2, T^3, and T^4 in the argument.
+   */
+  static final class Terms {
+
+    private double[][] columns = new double[6][64];
+    private int size;
+
+    void add(double amplitude, double phase, double frequency, double t2, double t3, double t4) {
+      if (this.size == this.columns[0].length) {
+        for (int i = 0; i < this.columns.length; i++) {
+          this.columns[i] = Arrays.copyOf(this.columns[i], 2 * this.size);
+        }
+      }
+      double[] values = {amplitude, phase, frequency, t2, t3, t4};
+      for (int i = 0; i < values.length; i++) {
+        this.columns[i][this.size] = values[i];
+      }
+      this.size++;
+    }
+
+    VSOPTermTable table(String name) {
+      return new VSOPTermTable(name, Arrays.copyOf(this.columns[0], this.size),
+          Arrays.copyOf(this.columns[1], this.size), Arrays.copyOf(this.columns[2], this.size));
+    }
+
+    VSOPTermTable secular(String name) {
+      return new VSOPTermTable(name, Arrays.copyOf(this.columns[3], this.size),
+          Arrays.copyOf(this.columns[4], this.size), Arrays.copyOf(this.columns[5], this.size));
+    }
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This class implements the API that lunar circumstance calculators must implement using the
+ * ELP2000-82B theory of Chapront-Touzé & Chapront. The work is done by the installed
+ * ELPLunarTheory, which is looked up the first time circumstances are computed, so a computer can
+ * be created whether or not the tables of the theory have been installed.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+class ELPCircumstanceComputer extends LunarTheoryComputer {
+
+  private final Accuracy accuracy;
+
+  /**
+   * Create a computer using every term.
+   */
+  ELPCircumstanceComputer() {
+    this(Accuracy.FULL);
+  }
+
+  /**
+   * Create a computer leaving out as many of the small terms as the passed accuracy allows.
+   *
+   * @param accuracy The accuracy the longitude, latitude, and distance must have.
+   */
+  ELPCircumstanceComputer(Accuracy accuracy) {
+    this.accuracy = accuracy;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalStateException If the tables of the theory are not installed.
+   */
+  @Override
+  LunarState computeState(double julianDayNumber) {
+    return ELPLunarTheory.getInstalled().compute(julianDayNumber, this.accuracy);
+  }
+}
@@ -0,0 +1,356 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.MeeusNutationBlock;
+import com.mattwelsh.astronomy.time.DeltaTCalculator;
+import com.mattwelsh.astronomy.utilities.Utilities;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * This class computes the position of the Moon with the ELP2000-82B theory of Chapront-Touzé &
+ * Chapront, summing the 37,000 or so terms of its 36 series. It is far more precise than the
+ * abridged theory of Meeus, to well under a second of arc over the centuries around J2000, at
+ * several times the cost. As with MeeusLunarTheory, compute() returns an immutable LunarState that
+ * depends on nothing but its arguments and the tables, so an instance can be used by any number
+ * of threads at once.
+ *
+ * <p>The tables are read from the binary form written by ELPBinaryData, which must be generated
+ * from the files of the theory and installed before getInstalled() can be used; see
+ * ELPBinaryData. The series give the geometric longitude, referred to the mean ecliptic of the
+ * date and the fixed departure point of J2000, the latitude, and the distance. The longitude is
+ * taken to the mean equinox of the date with the general precession, and then to the apparent
+ * right ascension and declination with the nutation of Meeus, as for MeeusLunarTheory.</p>
+ *
+ * <p>An Accuracy can be passed to leave out the smallest terms. The terms dropped from each
+ * series are the smallest ones whose amplitudes add up to no more than a third of the precision,
+ * scaled for the series multiplied by T and T^2 by the number of centuries from J2000 as for
+ * VSOP87, so the longitude and latitude stay within the precision of the complete series, and the
+ * distance within the same angle seen from the mean distance of the Moon.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ELPLunarTheory {
+
+  /** The number of radians in a second of arc. */
+  static final double ARCSEC = Math.PI / 648000.0;
+
+  /**
+   * The mean longitude of the Moon, W1, and the mean longitudes of its perigee, W2, and of its
+   * ascending node, W3, referred to the fixed departure point of J2000, in seconds of arc, as the
+   * coefficients of T^0 to T^4 with T in julian centuries from J2000.0.
+   */
+  static final double[] W1 = {dms(218, 18, 59.95571), 1732559343.73604, -5.8883, 0.6604e-2,
+      -0.3169e-4};
+  static final double[] W2 = {dms(83, 21, 11.67475), 14643420.2632, -38.2776, -0.45047e-1,
+      0.21301e-3};
+  static final double[] W3 = {dms(125, 2, 40.39816), -6967919.3622, 6.3622, 0.7625e-2,
+      -0.3586e-4};
+
+  /** The mean heliocentric longitude of the Earth-Moon barycenter, T, and of its perihelion. */
+  static final double[] EARTH = {dms(100, 27, 59.22059), 129597742.2758, -0.0202, 0.9e-5,
+      0.15e-6};
+  static final double[] PERIHELION = {dms(102, 56, 14.42753), 1161.2283, 0.5327, -0.138e-3,
+      0.0};
+
+  /** The precession in longitude, in seconds of arc per julian century. */
+  static final double PRECESSION = 5029.0966;
+
+  /**
+   * The general precession in longitude of Laskar, which takes the longitudes of the theory to
+   * the mean equinox of the date, in seconds of arc.
+   */
+  static final double[] GENERAL_PRECESSION = {0.0, PRECESSION, 1.1120, 0.000077, -0.00002353};
+
+  /** The Delaunay arguments D = W1 - T + 180, l' = T - perihelion, l = W1 - W2, F = W1 - W3. */
+  static final double[] D = difference(W1, EARTH, 648000.0);
+  static final double[] L_PRIME = difference(EARTH, PERIHELION, 0.0);
+  static final double[] L = difference(W1, W2, 0.0);
+  static final double[] F = difference(W1, W3, 0.0);
+  static final double[][] DELAUNAY = {D, L_PRIME, L, F};
+
+  /** The mean longitudes of Mercury to Neptune, as the coefficients of T^0 and T^1. */
+  static final double[][] PLANETS = {
+      {dms(252, 15, 3.25986), 538101628.68898},
+      {dms(181, 58, 47.28305), 210664136.43355},
+      {dms(100, 27, 59.22059), 129597742.27580},
+      {dms(355, 25, 59.78866), 68905077.59284},
+      {dms(34, 21, 5.34212), 10925660.42861},
+      {dms(50, 4, 38.89694), 4399609.65932},
+      {dms(314, 3, 18.01841), 1542481.19393},
+      {dms(304, 20, 55.19575), 786550.32074}
+  };
+
+  /** The ratio of the semi-major axis the distances are scaled to and the one of the theory. */
+  private static final double DISTANCE_SCALE = 384747.9806448954 / 384747.9806743165;
+
+  /** The mean distance of the Moon in kilometers, for the precision of the distance. */
+  private static final double MEAN_DISTANCE = 385000.56;
+
+  /** The work arrays of compute(), one set per thread. */
+  private static final ThreadLocal<MeeusNutationBlock> NUTATION =
+      ThreadLocal.withInitial(() -> new MeeusNutationBlock(1));
+  private static final ThreadLocal<double[]> SINGLE = ThreadLocal.withInitial(() -> new double[1]);
+
+  private static volatile ELPLunarTheory installed;
+
+  /** The series of each coordinate, by power of T. */
+  private final VSOPTermTable[][] series = new VSOPTermTable[3][3];
+
+  /** The coefficients of T^2, T^3, and T^4 in the arguments of the series of power zero. */
+  private final double[][] secular = new double[3][];
+
+  /** The indices of the terms of the series of power zero kept at each accuracy. */
+  private final int[][][] kept = new int[3][Accuracy.values().length][];
+
+  /**
+   * Create the theory from the series of the blob written by ELPBinaryData.
+   *
+   * @param tables The series keyed by name.
+   * @throws IllegalArgumentException If a series is missing.
+   */
+  public ELPLunarTheory(Map<String, VSOPTermTable> tables) {
+    for (int coordinate = 0; coordinate < 3; coordinate++) {
+      for (int power = 0; power < 3; power++) {
+        this.series[coordinate][power] = table(tables,
+            ELPBinaryData.PREFIX + ELPBinaryData.COORDINATES[coordinate] + power);
+      }
+      VSOPTermTable arguments = table(tables, ELPBinaryData.PREFIX
+          + ELPBinaryData.COORDINATES[coordinate] + 0 + ELPBinaryData.SECULAR);
+      VSOPTermTable terms = this.series[coordinate][0];
+      if (arguments.size() != terms.size()) {
+        throw new IllegalArgumentException("The secular arguments of "
+            + ELPBinaryData.COORDINATES[coordinate] + " don't match its terms");
+      }
+      this.secular[coordinate] = new double[3 * terms.size()];
+      for (int i = 0; i < terms.size(); i++) {
+        this.secular[coordinate][3 * i] = arguments.getAmplitude(i);
+        this.secular[coordinate][3 * i + 1] = arguments.getPhase(i);
+        this.secular[coordinate][3 * i + 2] = arguments.getFrequency(i);
+      }
+      for (Accuracy accuracy : Accuracy.values()) {
+        this.kept[coordinate][accuracy.ordinal()] = keptTerms(terms,
+            maxError(coordinate, accuracy, 1.0, 0));
+      }
+    }
+  }
+
+  /**
+   * Returns the theory with the installed tables, either the file named by the
+   * {@value ELPBinaryData#DATA_FILE_PROPERTY} system property or the
+   * {@value ELPBinaryData#RESOURCE_NAME} class path resource. The tables are only read once.
+   *
+   * @return The theory with the installed tables.
+   * @throws IllegalStateException If no tables are installed, or they can not be read.
+   */
+  public static ELPLunarTheory getInstalled() {
+    ELPLunarTheory theory = installed;
+    if (theory == null) {
+      synchronized (ELPLunarTheory.class) {
+        theory = installed;
+        if (theory == null) {
+          theory = new ELPLunarTheory(loadInstalled());
+          installed = theory;
+        }
+      }
+    }
+    return theory;
+  }
+
+  /**
+   * Computes the circumstances of the Moon at the passed instant with every term.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the circumstances for.
+   * @return The circumstances of the Moon.
+   */
+  public LunarState compute(double julianDayNumber) {
+    return compute(julianDayNumber, Accuracy.FULL);
+  }
+
+  /**
+   * Computes the circumstances of the Moon at the passed instant, leaving out as many of the small
+   * terms as the passed accuracy allows.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the circumstances for.
+   * @param accuracy The accuracy the longitude, latitude, and distance must have.
+   * @return The circumstances of the Moon.
+   */
+  public LunarState compute(double julianDayNumber, Accuracy accuracy) {
+    double t = (julianDayNumber - DeltaTCalculator.EPOCH2000.getJulianDayNumber()) / 36525.0;
+    double precession = degrees(GENERAL_PRECESSION, t);
+    double meanLongitude = Utilities.reduceToRange360(degrees(W1, t) + precession);
+    double longitude = Utilities.reduceToRange360(meanLongitude + sum(0, accuracy, t) / 3600.0);
+    double latitude = sum(1, accuracy, t) / 3600.0;
+    double distance = sum(2, accuracy, t) * DISTANCE_SCALE;
+
+    double[] single = SINGLE.get();
+    single[0] = julianDayNumber;
+    MeeusNutationBlock nutation = NUTATION.get();
+    nutation.compute(single, 0, 1);
+    double apparentLongitude = longitude + nutation.getNutationsInLongitude()[0] / 3600.0;
+    double obliquity = Math.toRadians(nutation.getTrueObliquitiesOfEcliptic()[0]);
+    double lambda = Math.toRadians(apparentLongitude);
+    double beta = Math.toRadians(latitude);
+    double rightAscension = Utilities.reduceToRange360(Math.toDegrees(Math.atan2(
+        Math.sin(lambda) * Math.cos(obliquity) - Math.tan(beta) * Math.sin(obliquity),
+        Math.cos(lambda))));
+    double declination = Math.toDegrees(Math.asin(Math.sin(beta) * Math.cos(obliquity)
+        + Math.cos(beta) * Math.sin(obliquity) * Math.sin(lambda)));
+
+    double d = degrees(D, t);
+    double m = degrees(L_PRIME, t);
+    double mPrime = degrees(L, t);
+    double f = degrees(F, t);
+    double meanAscendingNode = Utilities.reduceToRange360(degrees(W3, t) + precession);
+    double trueAscendingNode = meanAscendingNode
+        - (1.4979 * Math.sin(Math.toRadians(2 * (d - f))))
+        - (0.15 * Math.sin(Math.toRadians(m)))
+        - (0.1226 * Math.sin(Math.toRadians(2 * d)))
+        + (0.1176 * Math.sin(Math.toRadians(f)))
+        - (0.0801 * Math.sin(Math.toRadians(2 * (mPrime - f))));
+
+    return new LunarState(julianDayNumber, meanLongitude, d, m, mPrime, f, longitude, latitude,
+        distance, apparentLongitude, rightAscension, declination, meanAscendingNode,
+        Utilities.reduceToRange360(degrees(W2, t) + precession), trueAscendingNode);
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Reads the installed blob. A file named by the system property that can not be read is an
+   * error, as is finding no blob at all, since there are no text files to fall back to.
+   */
+  private static Map<String, VSOPTermTable> loadInstalled() {
+    String file = System.getProperty(ELPBinaryData.DATA_FILE_PROPERTY);
+    try {
+      if (file != null) {
+        return VSOPBinaryData.map(Paths.get(file));
+      }
+      InputStream in = ELPLunarTheory.class.getResourceAsStream(ELPBinaryData.RESOURCE_NAME);
+      if (in != null) {
+        return VSOPBinaryData.load(in);
+      }
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalStateException("The ELP2000-82B tables can not be read", e);
+    }
+    throw new IllegalStateException("The ELP2000-82B tables are not installed; see ELPBinaryData");
+  }
+
+  private static VSOPTermTable table(Map<String, VSOPTermTable> tables, String name) {
+    VSOPTermTable table = tables.get(name);
+    if (table == null) {
+      throw new IllegalArgumentException("The ELP2000-82B series " + name + " is missing");
+    }
+    return table;
+  }
+
+  /**
+   * Sums the series of a coordinate, in seconds of arc for the longitude and latitude and in
+   * kilometers for the distance.
+   */
+  private double sum(int coordinate, Accuracy accuracy, double t) {
+    VSOPTermTable terms = this.series[coordinate][0];
+    double[] arguments = this.secular[coordinate];
+    double sum = 0.0;
+    for (int i : this.kept[coordinate][accuracy.ordinal()]) {
+      double argument = terms.getPhase(i) + t * (terms.getFrequency(i) + t * (arguments[3 * i]
+          + t * (arguments[3 * i + 1] + t * arguments[3 * i + 2])));
+      sum += terms.getAmplitude(i) * Math.cos(argument);
+    }
+
+    double span = Math.max(1.0, Math.ceil(Math.abs(t)));
+    double power = 1.0;
+    for (int n = 1; n < 3; n++) {
+      power *= t;
+      VSOPTermTable table = this.series[coordinate][n];
+      if (accuracy != Accuracy.FULL) {
+        table = table.truncate(maxError(coordinate, accuracy, span, n));
+      }
+      sum += power * table.evaluate(t);
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the largest error allowed in the series of a power of a coordinate: a third of the
+   * precision, in seconds of arc or in kilometers, scaled down by span^power.
+   */
+  private static double maxError(int coordinate, Accuracy accuracy, double span, int power) {
+    double precision = coordinate == 2 ? accuracy.getPrecision() * MEAN_DISTANCE
+        : accuracy.getPrecision() / ARCSEC;
+    return precision / (3.0 * Math.pow(span, power));
+  }
+
+  /**
+   * Returns the indices, in order, of the terms kept when the smallest are dropped for as long as
+   * the sum of the dropped amplitudes stays within the limit.
+   */
+  private static int[] keptTerms(VSOPTermTable terms, double limit) {
+    Integer[] order = new Integer[terms.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(i -> Math.abs(terms.getAmplitude(i))));
+    boolean[] dropped = new boolean[order.length];
+    int count = 0;
+    double sum = 0.0;
+    for (int i : order) {
+      sum += Math.abs(terms.getAmplitude(i));
+      if (sum > limit) {
+        break;
+      }
+      dropped[i] = true;
+      count++;
+    }
+
+    int[] kept = new int[order.length - count];
+    for (int i = 0, j = 0; i < order.length; i++) {
+      if (!dropped[i]) {
+        kept[j++] = i;
+      }
+    }
+    return kept;
+  }
+
+  /** Returns the value in degrees, reduced to [0, 360), of a polynomial in seconds of arc. */
+  private static double degrees(double[] polynomial, double t) {
+    double value = 0.0;
+    for (int k = polynomial.length - 1; k >= 0; k--) {
+      value = value * t + polynomial[k];
+    }
+    return Utilities.reduceToRange360(value / 3600.0);
+  }
+
+  private static double dms(int degrees, int minutes, double seconds) {
+    return degrees * 3600.0 + minutes * 60.0 + seconds;
+  }
+
+  private static double[] difference(double[] first, double[] second, double constant) {
+    double[] difference = new double[first.length];
+    for (int k = 0; k < first.length; k++) {
+      difference[k] = first[k] - second[k];
+    }
+    difference[0] += constant;
+    return difference;
+  }
+}
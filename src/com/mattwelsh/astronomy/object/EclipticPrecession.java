@@ -0,0 +1,72 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This class precesses ecliptic longitudes and latitudes from the ecliptic and equinox of J2000,
+ * the frame of VSOP87a and VSOP87b, to the ecliptic and mean equinox of a date, with formulas
+ * 21.5 and 21.7 of Astronomical Algorithms by Jean Meeus, and reduces them to the FK5 system with
+ * formula 32.3. The angles of the date are computed once, when an instance is created.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+final class EclipticPrecession {
+
+  private static final double ARCSECONDS = Math.PI / (180.0 * 3600.0);
+
+  private final double t;
+  private final double eta;
+  private final double bigPi;
+  private final double p;
+
+  /**
+   * Create an instance for the date the passed number of julian centuries from J2000.
+   *
+   * @param t The julian centuries (TT) from J2000.
+   */
+  EclipticPrecession(double t) {
+    this.t = t;
+    this.eta = (47.0029 - 0.03302 * t + 0.000060 * t * t) * t * ARCSECONDS;
+    this.bigPi = Math.toRadians(174.876384) + (-869.8089 * t + 0.03536 * t * t) * ARCSECONDS;
+    this.p = (5029.0966 + 1.11113 * t - 0.000006 * t * t) * t * ARCSECONDS;
+  }
+
+  /**
+   * Precesses a longitude and latitude referred to J2000 to the date of this instance, and
+   * reduces them to the FK5 system.
+   *
+   * @param lambda0 The longitude referred to J2000, in radians.
+   * @param beta0 The latitude referred to J2000, in radians.
+   * @param lonLat An array of at least two elements that receives the longitude and latitude of
+   *     date, in radians.
+   */
+  void precess(double lambda0, double beta0, double[] lonLat) {
+    double a = Math.cos(eta) * Math.cos(beta0) * Math.sin(bigPi - lambda0)
+        - Math.sin(eta) * Math.sin(beta0);
+    double b = Math.cos(beta0) * Math.cos(bigPi - lambda0);
+    double c = Math.cos(eta) * Math.sin(beta0)
+        + Math.sin(eta) * Math.cos(beta0) * Math.sin(bigPi - lambda0);
+    double lambda = p + bigPi - Math.atan2(a, b);
+    double beta = Math.asin(c);
+
+    double lambdaPrime = lambda - Math.toRadians(1.397 * t + 0.00031 * t * t);
+    lambda += (-0.09033 + 0.03916 * (Math.cos(lambdaPrime) + Math.sin(lambdaPrime))
+        * Math.tan(beta)) * ARCSECONDS;
+    beta += 0.03916 * (Math.cos(lambdaPrime) - Math.sin(lambdaPrime)) * ARCSECONDS;
+    lonLat[0] = lambda;
+    lonLat[1] = beta;
+  }
+}
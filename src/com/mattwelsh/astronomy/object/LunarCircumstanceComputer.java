@@ -46,6 +46,19 @@ public interface LunarCircumstanceComputer {
    */
   void computeCircumstances(JulianDate jd);
 
+  /**
+   * Returns all of the circumstances computed for the last date, as one immutable object.
+   *
+   * <p>The default builds the state from the other getters of this interface. They don't give
+   * the date, the sun's mean anomaly, or the latitude, which are NaN, and the longitude is taken
+   * to be the apparent longitude. A computer that knows them should override this method.</p>
+   *
+   * @return The circumstances of the moon, or null if none have been computed.
+   */
+  default LunarState getState() {
+    return getRaDec() == null ? null : LunarState.of(Double.NaN, this);
+  }
+
   /**
    * Returns the right ascension and declination as a coordinate pair.
    *
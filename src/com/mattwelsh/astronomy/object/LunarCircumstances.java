@@ -25,6 +25,10 @@ public enum LunarCircumstances {
    */
   DEFAULT {
     public LunarCircumstanceComputer getCalculator() { return new MeeusCircumstanceComputer();}
+
+    public LunarCircumstanceComputer getCalculator(Accuracy accuracy) {
+      return new MeeusCircumstanceComputer(accuracy);
+    }
   },
 
   /**
@@ -33,6 +37,23 @@ public enum LunarCircumstances {
    */
   MEEUS {
     public LunarCircumstanceComputer getCalculator() { return new MeeusCircumstanceComputer();}
+
+    public LunarCircumstanceComputer getCalculator(Accuracy accuracy) {
+      return new MeeusCircumstanceComputer(accuracy);
+    }
+  },
+
+  /**
+   * Use the ELP2000-82B theory of Chapront-Touzé & Chapront, whose tables must be installed first
+   * (see ELPBinaryData). Its computers throw an IllegalStateException when they are used without
+   * them.
+   */
+  ELP2000_82B {
+    public LunarCircumstanceComputer getCalculator() { return new ELPCircumstanceComputer();}
+
+    public LunarCircumstanceComputer getCalculator(Accuracy accuracy) {
+      return new ELPCircumstanceComputer(accuracy);
+    }
   },;
 
   /**
@@ -43,5 +64,14 @@ public enum LunarCircumstances {
    */
   abstract LunarCircumstanceComputer getCalculator();
 
+  /**
+   * Returns an instance of a LunarCircumstanceComputer that leaves out as many of the small terms
+   * of its series as the passed accuracy allows.
+   *
+   * @param accuracy The accuracy the computed circumstances must have.
+   * @return An instance of a LunarCircumstanceComputer
+   */
+  abstract LunarCircumstanceComputer getCalculator(Accuracy accuracy);
+
 }
 
@@ -0,0 +1,156 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This class holds the circumstances of the Moon at many instants, as computed by
+ * MeeusLunarTheory.compute(double[], Accuracy), in one primitive array per quantity indexed like
+ * the julian days passed. Nothing is created per instant, which matters when the instants number
+ * in the hundreds of thousands.
+ *
+ * <p>The getters return the arrays themselves rather than copies, so they are cheap to call in a
+ * loop; a caller that changes an element changes it for every other user of the ephemeris.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LunarEphemeris {
+
+  private final double[] julianDays;
+  private final double[] rightAscensions;
+  private final double[] declinations;
+  private final double[] distances;
+  private final double[] apparentLongitudes;
+  private final double[] longitudes;
+  private final double[] latitudes;
+  private final double[] meanAscendingNodes;
+  private final double[] meanPerigees;
+  private final double[] trueAscendingNodes;
+
+  LunarEphemeris(double[] julianDays) {
+    this.julianDays = julianDays;
+    this.rightAscensions = new double[julianDays.length];
+    this.declinations = new double[julianDays.length];
+    this.distances = new double[julianDays.length];
+    this.apparentLongitudes = new double[julianDays.length];
+    this.longitudes = new double[julianDays.length];
+    this.latitudes = new double[julianDays.length];
+    this.meanAscendingNodes = new double[julianDays.length];
+    this.meanPerigees = new double[julianDays.length];
+    this.trueAscendingNodes = new double[julianDays.length];
+  }
+
+  /**
+   * Returns the number of instants in the ephemeris.
+   *
+   * @return The number of instants.
+   */
+  public int size() {
+    return this.julianDays.length;
+  }
+
+  /**
+   * Returns the julian day numbers (TT) of the instants.
+   *
+   * @return The julian day numbers of the instants.
+   */
+  public double[] getJulianDays() {
+    return this.julianDays;
+  }
+
+  /**
+   * Returns the apparent right ascensions, in degrees in [0, 360), one per instant.
+   *
+   * @return The apparent right ascensions.
+   */
+  public double[] getRightAscensions() {
+    return this.rightAscensions;
+  }
+
+  /**
+   * Returns the apparent declinations, in degrees, one per instant.
+   *
+   * @return The apparent declinations.
+   */
+  public double[] getDeclinations() {
+    return this.declinations;
+  }
+
+  /**
+   * Returns the distances in kilometers between the centers of the earth and moon, one per
+   * instant.
+   *
+   * @return The distances in kilometers between the centers of the earth and moon.
+   */
+  public double[] getDistances() {
+    return this.distances;
+  }
+
+  /**
+   * Returns the apparent longitudes, which include the nutation in longitude, in degrees, one per
+   * instant.
+   *
+   * @return The apparent longitudes.
+   */
+  public double[] getApparentLongitudes() {
+    return this.apparentLongitudes;
+  }
+
+  /**
+   * Returns the geocentric ecliptic longitudes referred to the mean equinox of the date, in
+   * degrees, one per instant.
+   *
+   * @return The geocentric ecliptic longitudes referred to the mean equinox of the date.
+   */
+  public double[] getLongitudes() {
+    return this.longitudes;
+  }
+
+  /**
+   * Returns the geocentric ecliptic latitudes, in degrees, one per instant.
+   *
+   * @return The geocentric ecliptic latitudes.
+   */
+  public double[] getLatitudes() {
+    return this.latitudes;
+  }
+
+  /**
+   * Returns the mean ascending nodes, in degrees, one per instant.
+   *
+   * @return The mean ascending nodes.
+   */
+  public double[] getMeanAscendingNodes() {
+    return this.meanAscendingNodes;
+  }
+
+  /**
+   * Returns the mean perigees, in degrees, one per instant.
+   *
+   * @return The mean perigees.
+   */
+  public double[] getMeanPerigees() {
+    return this.meanPerigees;
+  }
+
+  /**
+   * Returns the true ascending nodes, in degrees, one per instant.
+   *
+   * @return The true ascending nodes.
+   */
+  public double[] getTrueAscendingNodes() {
+    return this.trueAscendingNodes;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This enumeration lists the principal phases of the moon, each defined by the excess of the
+ * apparent geocentric longitude of the moon over that of the sun.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public enum LunarPhase {
+
+  /** The moon has the same apparent longitude as the sun. */
+  NEW_MOON(0.0),
+
+  /** The moon is 90 degrees east of the sun. */
+  FIRST_QUARTER(90.0),
+
+  /** The moon is 180 degrees from the sun. */
+  FULL_MOON(180.0),
+
+  /** The moon is 270 degrees east, or 90 degrees west, of the sun. */
+  LAST_QUARTER(270.0);
+
+  private final double elongation;
+
+  LunarPhase(double elongation) {
+    this.elongation = elongation;
+  }
+
+  /**
+   * Returns the excess of the apparent longitude of the moon over that of the sun at this phase.
+   *
+   * @return The elongation in longitude, in degrees.
+   */
+  public double getElongation() {
+    return this.elongation;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This class holds one phase of the moon found by LunarPhaseFinder: which phase it is, the
+ * lunation it belongs to, and the instant it happens. It is immutable.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LunarPhaseEvent {
+
+  private final LunarPhase phase;
+  private final int lunation;
+  private final double julianDayNumber;
+
+  LunarPhaseEvent(LunarPhase phase, int lunation, double julianDayNumber) {
+    this.phase = phase;
+    this.lunation = lunation;
+    this.julianDayNumber = julianDayNumber;
+  }
+
+  /**
+   * Returns the phase.
+   *
+   * @return The phase.
+   */
+  public LunarPhase getPhase() {
+    return this.phase;
+  }
+
+  /**
+   * Returns the number of the lunation, counted as Meeus counts k: lunation 0 starts with the new
+   * moon of 2000 January 6, and earlier lunations are negative.
+   *
+   * @return The lunation number.
+   */
+  public int getLunation() {
+    return this.lunation;
+  }
+
+  /**
+   * Returns the julian day number (TT) of the phase.
+   *
+   * @return The julian day number of the phase.
+   */
+  public double getJulianDayNumber() {
+    return this.julianDayNumber;
+  }
+
+  @Override
+  public String toString() {
+    return this.phase + " " + this.lunation + " JDE " + this.julianDayNumber;
+  }
+}
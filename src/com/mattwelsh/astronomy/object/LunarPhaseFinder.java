@@ -0,0 +1,256 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class finds the instants of the principal phases of the moon. Rather than sampling the
+ * elongation of the moon densely and looking for crossings, each phase is seeded with the mean
+ * phase of formula 49.1 of Astronomical Algorithms by Jean Meeus, which is never more than about
+ * 14 hours from the true one, and refined with a few secant steps on the elongation in longitude,
+ * so a range costs a fixed handful of evaluations per phase.
+ *
+ * <p>The elongation is the longitude of the moon from MeeusLunarTheory less the apparent
+ * longitude of the sun, which is Earth's VSOP87b position seen from Earth, precessed to the
+ * equinox of date and corrected for aberration. The nutation in longitude is the same for both
+ * and cancels, so it is not computed. Steps stop when they fall under a hundredth of a second;
+ * the instants found are then limited by the lunar theory, to within a few seconds of time.</p>
+ *
+ * <p>The phases of a range are independent of each other, so they are spread over the cores of a
+ * ForkJoinPool. An instance holds no mutable state and can be shared between threads.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class LunarPhaseFinder {
+
+  /** The mean synodic month, in days. */
+  public static final double SYNODIC_MONTH = 29.530588861;
+
+  /** The julian day number (TT) of the mean new moon of lunation 0, 2000 January 6. */
+  private static final double MEAN_NEW_MOON = 2451550.09766;
+
+  /** The mean rate of the elongation, in degrees per day. */
+  private static final double MEAN_RATE = 360.0 / SYNODIC_MONTH;
+
+  /** The step in days under which a phase is taken as found. */
+  private static final double TOLERANCE = 1e-7;
+
+  private static final int MAX_ITERATIONS = 10;
+
+  /** The number of phases each task of a range computes without splitting further. */
+  private static final int PHASES_PER_TASK = 32;
+
+  private static final LunarPhase[] PHASES = LunarPhase.values();
+
+  private static final double ARCSECONDS = Math.PI / (180.0 * 3600.0);
+
+  private final Accuracy accuracy;
+
+  /**
+   * Create a finder using every term of the lunar theory and of VSOP87.
+   */
+  public LunarPhaseFinder() {
+    this(Accuracy.FULL);
+  }
+
+  /**
+   * Create a finder computing the positions of the moon and the sun to the passed accuracy.
+   *
+   * @param accuracy The accuracy of the positions.
+   */
+  public LunarPhaseFinder(Accuracy accuracy) {
+    this.accuracy = accuracy;
+  }
+
+  /**
+   * Returns the accuracy the positions of the moon and the sun are computed to.
+   *
+   * @return The accuracy of the positions.
+   */
+  public Accuracy getAccuracy() {
+    return this.accuracy;
+  }
+
+  /**
+   * Finds one phase of one lunation.
+   *
+   * @param lunation The number of the lunation, 0 for the one starting with the new moon of 2000
+   *     January 6.
+   * @param phase The phase.
+   * @return The phase found.
+   */
+  public LunarPhaseEvent find(int lunation, LunarPhase phase) {
+    return new LunarPhaseEvent(phase, lunation,
+        refine(meanPhase(lunation + phase.ordinal() / 4.0), phase.getElongation()));
+  }
+
+  /**
+   * Finds every phase in a range of julian day numbers, spreading the phases over the common
+   * ForkJoinPool.
+   *
+   * @param startJulianDay The first julian day number (TT) of the range.
+   * @param endJulianDay The julian day number (TT) the range ends before.
+   * @return The phases in the range, in the order they happen.
+   */
+  public List<LunarPhaseEvent> find(double startJulianDay, double endJulianDay) {
+    return find(startJulianDay, endJulianDay, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Finds every phase in a range of julian day numbers, spreading the phases over the passed pool.
+   * The results do not depend on the pool.
+   *
+   * @param startJulianDay The first julian day number (TT) of the range.
+   * @param endJulianDay The julian day number (TT) the range ends before.
+   * @param pool The pool to compute the phases in.
+   * @return The phases in the range, in the order they happen.
+   */
+  public List<LunarPhaseEvent> find(double startJulianDay, double endJulianDay,
+      ForkJoinPool pool) {
+    if (!(endJulianDay >= startJulianDay)) {
+      throw new IllegalArgumentException("Invalid range " + startJulianDay + " to "
+          + endJulianDay);
+    }
+
+    // Quarters are numbered 4k + phase. One more quarter is searched on each side, since a true
+    // phase can fall on the other side of a range boundary from its mean phase.
+    double quarter = SYNODIC_MONTH / 4.0;
+    long first = (long) Math.floor((startJulianDay - MEAN_NEW_MOON) / quarter) - 1;
+    long last = (long) Math.ceil((endJulianDay - MEAN_NEW_MOON) / quarter) + 1;
+    if (last - first >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Range too long");
+    }
+    double[] instants = new double[(int) (last - first + 1)];
+    pool.invoke(new PhaseTask(this, first, instants, 0, instants.length));
+
+    List<LunarPhaseEvent> events = new ArrayList<>();
+    for (int i = 0; i < instants.length; i++) {
+      if (instants[i] >= startJulianDay && instants[i] < endJulianDay) {
+        long q = first + i;
+        events.add(new LunarPhaseEvent(PHASES[(int) Math.floorMod(q, 4L)],
+            (int) Math.floorDiv(q, 4L), instants[i]));
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Returns the excess of the apparent longitude of the moon over that of the sun.
+   *
+   * @param julianDayNumber The julian day number (TT).
+   * @return The elongation in longitude, in degrees in [0, 360).
+   */
+  public double getElongation(double julianDayNumber) {
+    double elongation = Math.IEEEremainder(elongationFrom(julianDayNumber, 0.0), 360.0);
+    return elongation < 0.0 ? elongation + 360.0 : elongation;
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the instant of the mean phase of formula 49.1, where k is the lunation number plus
+   * the quarter.
+   */
+  static double meanPhase(double k) {
+    double t = k / 1236.85;
+    return MEAN_NEW_MOON + SYNODIC_MONTH * k
+        + t * t * (0.00015437 + t * (-0.000000150 + t * 0.00000000073));
+  }
+
+  /**
+   * Refines a seed by secant steps on the elongation, starting from the mean rate.
+   */
+  private double refine(double seed, double target) {
+    double jd = seed;
+    double residual = Math.IEEEremainder(elongationFrom(jd, target), 360.0);
+    double rate = MEAN_RATE;
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double step = residual / rate;
+      double next = jd - step;
+      if (Math.abs(step) < TOLERANCE) {
+        return next;
+      }
+      double nextResidual = Math.IEEEremainder(elongationFrom(next, target), 360.0);
+      double secant = (residual - nextResidual) / step;
+      // The true rate stays within about 10 and 15 degrees per day; anything else means the
+      // residuals were too close to tell apart, and the mean rate is the better guess.
+      rate = secant > 0.5 * MEAN_RATE && secant < 2.0 * MEAN_RATE ? secant : MEAN_RATE;
+      jd = next;
+      residual = nextResidual;
+    }
+    return jd;
+  }
+
+  /**
+   * Returns the elongation in longitude less the passed target, in degrees, unreduced.
+   */
+  private double elongationFrom(double julianDayNumber, double target) {
+    double moon = MeeusLunarTheory.compute(julianDayNumber, this.accuracy).getLongitude();
+
+    double[] lbr = new double[3];
+    VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, this.accuracy,
+        (julianDayNumber - 2451545.0) / 365250.0, lbr);
+    double[] lonLat = new double[2];
+    new EclipticPrecession((julianDayNumber - 2451545.0) / 36525.0)
+        .precess(lbr[0] + Math.PI, -lbr[1], lonLat);
+    double sun = Math.toDegrees(lonLat[0] - 20.4898 * ARCSECONDS / lbr[2]);
+
+    return moon - sun - target;
+  }
+
+  /**
+   * This task refines a range of quarters, splitting the range in two until it is small enough.
+   */
+  private static final class PhaseTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LunarPhaseFinder finder;
+    private final long first;
+    private final double[] instants;
+    private final int from;
+    private final int to;
+
+    PhaseTask(LunarPhaseFinder finder, long first, double[] instants, int from, int to) {
+      this.finder = finder;
+      this.first = first;
+      this.instants = instants;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PHASES_PER_TASK) {
+        for (int i = from; i < to; i++) {
+          long q = first + i;
+          instants[i] = finder.refine(meanPhase(q / 4.0),
+              PHASES[(int) Math.floorMod(q, 4L)].getElongation());
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new PhaseTask(finder, first, instants, from, middle),
+            new PhaseTask(finder, first, instants, middle, to));
+      }
+    }
+  }
+}
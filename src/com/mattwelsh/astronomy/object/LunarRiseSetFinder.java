@@ -0,0 +1,296 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.observer.Site;
+import com.mattwelsh.astronomy.time.DeltaTCalculator;
+import com.mattwelsh.astronomy.time.DynamicalTime;
+import com.mattwelsh.astronomy.time.GreenwichSiderealTime;
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class computes the times of moonrise, transit, and moonset for sites over runs of days,
+ * following chapter 15 of Astronomical Algorithms by Jean Meeus. The right ascension,
+ * declination, and distance of the moon are computed at 0h TD of each day, and each event is
+ * found by interpolating them between the day before and the day after, starting from the
+ * approximate times of formula 15.2 and correcting them until the correction falls under a tenth
+ * of a second.
+ *
+ * <p>A rise or set is the instant the upper limb of the moon is on the horizon, which Meeus puts
+ * at a geocentric altitude of 0.7275 times the horizontal parallax less 34 minutes of arc for the
+ * refraction. The parallax is interpolated with the rest, so it changes through the day as the
+ * distance of the moon does. Whether the moon crosses the horizon at all on a day is decided, as
+ * in Meeus, from its declination at 0h, so far from the equator a rise or set that only just
+ * happens can be missed.</p>
+ *
+ * <p>Longitudes of sites are taken as positive east of Greenwich, which is the opposite of the
+ * sign Meeus uses. The sidereal time is the mean one; leaving out the equation of the equinoxes
+ * moves the events by at most about a second.</p>
+ *
+ * <p>The positions of the moon do not depend on the site, so they are computed once per day, in
+ * blocks with MeeusLunarTheory.compute(double[], Accuracy), and shared by every site. The days are
+ * spread over the cores of a ForkJoinPool. An instance holds no mutable state and can be shared
+ * between threads.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class LunarRiseSetFinder {
+
+  /** The rate of the sidereal time, in degrees per day of UT. */
+  private static final double SIDEREAL_RATE = 360.985647;
+
+  /** The altitude of the center of the moon at rising and setting, less the parallax term. */
+  private static final double REFRACTION_AND_SEMIDIAMETER = -34.0 / 60.0;
+
+  private static final double EARTH_RADIUS = 6378.14;
+
+  /** The correction in days under which an event is taken as found. */
+  private static final double TOLERANCE = 1e-6;
+
+  private static final int MAX_ITERATIONS = 10;
+
+  /** The number of days each task computes without splitting further. */
+  private static final int DAYS_PER_TASK = 64;
+
+  private static final int RISE = -1;
+  private static final int TRANSIT = 0;
+  private static final int SET = 1;
+
+  private final Accuracy accuracy;
+  private final DeltaTCalculator deltaT;
+
+  /**
+   * Create a finder using every term of the lunar theory and the default delta T.
+   */
+  public LunarRiseSetFinder() {
+    this(Accuracy.FULL, DynamicalTime.DEFAULT.getCalculator());
+  }
+
+  /**
+   * Create a finder computing the positions of the moon to the passed accuracy.
+   *
+   * @param accuracy The accuracy of the positions of the moon.
+   * @param deltaT The calculator of the difference between TD and UT.
+   */
+  public LunarRiseSetFinder(Accuracy accuracy, DeltaTCalculator deltaT) {
+    this.accuracy = accuracy;
+    this.deltaT = deltaT;
+  }
+
+  /**
+   * Computes the events of one site over a run of days, spreading the days over the common
+   * ForkJoinPool.
+   *
+   * @param site The site.
+   * @param firstDay Any instant (UT) of the first day.
+   * @param days The number of days.
+   * @return The events of the site.
+   */
+  public LunarRiseSetTable compute(Site site, JulianDate firstDay, int days) {
+    return compute(new Site[] {site}, firstDay, days, ForkJoinPool.commonPool())[0];
+  }
+
+  /**
+   * Computes the events of several sites over the same run of days, spreading the days over the
+   * common ForkJoinPool.
+   *
+   * @param sites The sites.
+   * @param firstDay Any instant (UT) of the first day.
+   * @param days The number of days.
+   * @return The events of each site, in the order passed.
+   */
+  public LunarRiseSetTable[] compute(Site[] sites, JulianDate firstDay, int days) {
+    return compute(sites, firstDay, days, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the events of several sites over the same run of days, spreading the days over the
+   * passed pool. The results do not depend on the pool.
+   *
+   * @param sites The sites.
+   * @param firstDay Any instant (UT) of the first day.
+   * @param days The number of days.
+   * @param pool The pool to compute the days in.
+   * @return The events of each site, in the order passed.
+   */
+  public LunarRiseSetTable[] compute(Site[] sites, JulianDate firstDay, int days,
+      ForkJoinPool pool) {
+    if (days < 0) {
+      throw new IllegalArgumentException("Invalid number of days " + days);
+    }
+    double first = Math.floor(firstDay.getJulianDayNumber() - 0.5) + 0.5;
+    double[] julianDays = new double[days];
+    for (int i = 0; i < days; i++) {
+      julianDays[i] = first + i;
+    }
+    LunarRiseSetTable[] tables = new LunarRiseSetTable[sites.length];
+    for (int s = 0; s < sites.length; s++) {
+      tables[s] = new LunarRiseSetTable(sites[s], julianDays);
+    }
+    if (days > 0 && sites.length > 0) {
+      pool.invoke(new DayTask(this, tables, 0, days));
+    }
+    return tables;
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Computes the days [from, to) of every table. The moon is computed at 0h TD of the day before
+   * the first to the day after the last.
+   */
+  private void computeDays(LunarRiseSetTable[] tables, int from, int to) {
+    double first = tables[0].getJulianDays()[from];
+    double[] instants = new double[to - from + 2];
+    for (int i = 0; i < instants.length; i++) {
+      instants[i] = first - 1.0 + i;
+    }
+    LunarEphemeris moon = MeeusLunarTheory.compute(instants, this.accuracy);
+    double[] ra = moon.getRightAscensions();
+    double[] dec = moon.getDeclinations();
+    double[] distance = moon.getDistances();
+
+    double[] alpha = new double[3];
+    double[] delta = new double[3];
+    double[] parallax = new double[3];
+    for (int day = from; day < to; day++) {
+      double julianDay = first + (day - from);
+      int k = day - from;
+      for (int j = 0; j < 3; j++) {
+        alpha[j] = ra[k + 1] + Math.IEEEremainder(ra[k + j] - ra[k + 1], 360.0);
+        delta[j] = dec[k + j];
+        parallax[j] = Math.toDegrees(Math.asin(EARTH_RADIUS / distance[k + j]));
+      }
+      JulianDate date = new JulianDate(julianDay);
+      double siderealTime = new GreenwichSiderealTime(date).getMeanSiderealTime();
+      double deltaTDays = this.deltaT.getDeltaT(date) / 86400.0;
+
+      for (LunarRiseSetTable table : tables) {
+        Site site = table.getSite();
+        double latitude = Math.toRadians(site.getGeographicalLatitude());
+        double longitude = site.getLongitude();
+        table.getTransits()[day] = julianDay + solve(TRANSIT, latitude, longitude,
+            siderealTime, deltaTDays, alpha, delta, parallax);
+        table.getRises()[day] = julianDay + solve(RISE, latitude, longitude, siderealTime,
+            deltaTDays, alpha, delta, parallax);
+        table.getSets()[day] = julianDay + solve(SET, latitude, longitude, siderealTime,
+            deltaTDays, alpha, delta, parallax);
+      }
+    }
+  }
+
+  /**
+   * Returns the fraction of the day an event happens at, or NaN if it doesn't happen that day.
+   * The arrays hold the right ascension, declination, and parallax of the moon at 0h TD of the
+   * day before, the day, and the day after, in degrees, with the right ascensions made
+   * continuous.
+   */
+  private static double solve(int event, double latitude, double longitude, double siderealTime,
+      double deltaTDays, double[] alpha, double[] delta, double[] parallax) {
+    double sinLatitude = Math.sin(latitude);
+    double cosLatitude = Math.cos(latitude);
+
+    // Formula 15.2, with the longitude positive east.
+    double m = (alpha[1] - longitude - siderealTime) / 360.0;
+    if (event != TRANSIT) {
+      double declination = Math.toRadians(delta[1]);
+      double cosH0 = (Math.sin(Math.toRadians(standardAltitude(parallax[1])))
+          - sinLatitude * Math.sin(declination)) / (cosLatitude * Math.cos(declination));
+      if (cosH0 < -1.0 || cosH0 > 1.0) {
+        return Double.NaN;
+      }
+      m += event * Math.toDegrees(Math.acos(cosH0)) / 360.0;
+    }
+    m -= Math.floor(m);
+
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double n = m + deltaTDays;
+      double theta = siderealTime + SIDEREAL_RATE * m;
+      double rightAscension = interpolate(alpha, n);
+      double declination = Math.toRadians(interpolate(delta, n));
+      double hourAngle = Math.IEEEremainder(theta + longitude - rightAscension, 360.0);
+
+      double correction;
+      if (event == TRANSIT) {
+        correction = -hourAngle / 360.0;
+      } else {
+        double h = Math.toRadians(hourAngle);
+        double altitude = Math.toDegrees(Math.asin(sinLatitude * Math.sin(declination)
+            + cosLatitude * Math.cos(declination) * Math.cos(h)));
+        correction = (altitude - standardAltitude(interpolate(parallax, n)))
+            / (360.0 * Math.cos(declination) * cosLatitude * Math.sin(h));
+      }
+      m += correction;
+      if (Math.abs(correction) < TOLERANCE) {
+        return m >= 0.0 && m < 1.0 ? m : Double.NaN;
+      }
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * Returns the geocentric altitude of the center of the moon when its upper limb is on the
+   * horizon, in degrees.
+   */
+  private static double standardAltitude(double parallax) {
+    return 0.7275 * parallax + REFRACTION_AND_SEMIDIAMETER;
+  }
+
+  /**
+   * Interpolates three values tabulated a day apart, formula 3.3, at n days from the middle one.
+   */
+  private static double interpolate(double[] y, double n) {
+    double a = y[1] - y[0];
+    double b = y[2] - y[1];
+    double c = b - a;
+    return y[1] + 0.5 * n * (a + b + n * c);
+  }
+
+  /**
+   * This task computes a range of days, splitting the range in two until it is small enough.
+   */
+  private static final class DayTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LunarRiseSetFinder finder;
+    private final LunarRiseSetTable[] tables;
+    private final int from;
+    private final int to;
+
+    DayTask(LunarRiseSetFinder finder, LunarRiseSetTable[] tables, int from, int to) {
+      this.finder = finder;
+      this.tables = tables;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= DAYS_PER_TASK) {
+        finder.computeDays(tables, from, to);
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new DayTask(finder, tables, from, middle),
+            new DayTask(finder, tables, middle, to));
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.observer.Site;
+
+/**
+ * This class holds the moonrises, transits, and moonsets of one site over a run of days, as
+ * computed by LunarRiseSetFinder, in one primitive array per event indexed by day. A day that has
+ * no such event, as happens about once a month for rises and sets since the moon comes back to
+ * the meridian about 50 minutes later each day, or at high latitudes when the moon stays above or
+ * below the horizon, holds NaN.
+ *
+ * <p>The getters return the arrays themselves rather than copies, so they are cheap to call in a
+ * loop; a caller that changes an element changes it for every other user of the table.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LunarRiseSetTable {
+
+  private final Site site;
+  private final double[] julianDays;
+  private final double[] rises;
+  private final double[] transits;
+  private final double[] sets;
+
+  LunarRiseSetTable(Site site, double[] julianDays) {
+    this.site = site;
+    this.julianDays = julianDays;
+    this.rises = new double[julianDays.length];
+    this.transits = new double[julianDays.length];
+    this.sets = new double[julianDays.length];
+  }
+
+  /**
+   * Returns the site the events are for.
+   *
+   * @return The site.
+   */
+  public Site getSite() {
+    return this.site;
+  }
+
+  /**
+   * Returns the number of days in the table.
+   *
+   * @return The number of days.
+   */
+  public int size() {
+    return this.julianDays.length;
+  }
+
+  /**
+   * Returns the julian day numbers (UT) of 0h of each day.
+   *
+   * @return The julian day numbers of the days.
+   */
+  public double[] getJulianDays() {
+    return this.julianDays;
+  }
+
+  /**
+   * Returns the julian day numbers (UT) the upper limb of the moon rises at, one per day, NaN for
+   * the days it doesn't rise.
+   *
+   * @return The moonrises.
+   */
+  public double[] getRises() {
+    return this.rises;
+  }
+
+  /**
+   * Returns the julian day numbers (UT) the moon crosses the meridian at, one per day, NaN for the
+   * days it doesn't.
+   *
+   * @return The transits.
+   */
+  public double[] getTransits() {
+    return this.transits;
+  }
+
+  /**
+   * Returns the julian day numbers (UT) the upper limb of the moon sets at, one per day, NaN for
+   * the days it doesn't set.
+   *
+   * @return The moonsets.
+   */
+  public double[] getSets() {
+    return this.sets;
+  }
+}
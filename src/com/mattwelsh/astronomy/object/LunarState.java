@@ -0,0 +1,245 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.Declination;
+import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.coordinates.RightAscension;
+
+/**
+ * This class holds the circumstances of the Moon at one instant, as computed by
+ * MeeusLunarTheory.compute(). It is immutable, so it can be cached or handed to other threads
+ * freely. Angles are in degrees.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LunarState {
+
+  private final double julianDayNumber;
+  private final double meanLongitude;
+  private final double meanElongation;
+  private final double sunsMeanAnomaly;
+  private final double meanAnomaly;
+  private final double argumentOfLatitude;
+  private final double longitude;
+  private final double latitude;
+  private final double distance;
+  private final double apparentLongitude;
+  private final double rightAscension;
+  private final double declination;
+  private final double meanAscendingNode;
+  private final double meanPerigee;
+  private final double trueAscendingNode;
+
+  LunarState(double julianDayNumber, double meanLongitude, double meanElongation,
+      double sunsMeanAnomaly, double meanAnomaly, double argumentOfLatitude, double longitude,
+      double latitude, double distance, double apparentLongitude, double rightAscension,
+      double declination, double meanAscendingNode, double meanPerigee, double trueAscendingNode) {
+    this.julianDayNumber = julianDayNumber;
+    this.meanLongitude = meanLongitude;
+    this.meanElongation = meanElongation;
+    this.sunsMeanAnomaly = sunsMeanAnomaly;
+    this.meanAnomaly = meanAnomaly;
+    this.argumentOfLatitude = argumentOfLatitude;
+    this.longitude = longitude;
+    this.latitude = latitude;
+    this.distance = distance;
+    this.apparentLongitude = apparentLongitude;
+    this.rightAscension = rightAscension;
+    this.declination = declination;
+    this.meanAscendingNode = meanAscendingNode;
+    this.meanPerigee = meanPerigee;
+    this.trueAscendingNode = trueAscendingNode;
+  }
+
+  /**
+   * Builds the circumstances from the getters of a computer that has computed them for the passed
+   * date. The sun's mean anomaly and the latitude aren't part of its interface and are NaN, and
+   * the longitude is taken to be the apparent longitude.
+   *
+   * @param julianDayNumber The julian day number (TT) the computer was last asked for.
+   * @param computer The computer to read the circumstances from.
+   * @return The circumstances of the moon.
+   */
+  static LunarState of(double julianDayNumber, LunarCircumstanceComputer computer) {
+    RaDec raDec = computer.getRaDec();
+    return new LunarState(julianDayNumber, computer.getMeanLongitude(),
+        computer.getMeanElongation(), Double.NaN, computer.getMeanAnomaly(),
+        computer.getArgumentOfLatitude(), computer.getApparentLongitude(), Double.NaN,
+        computer.getDistance(), computer.getApparentLongitude(),
+        raDec.getRightAscension().getDecimalDegrees(),
+        raDec.getDeclination().getDecimalDegrees(), computer.getMeanAscendingNode(),
+        computer.getMeanPerigee(), computer.getTrueAscendingNode());
+  }
+
+  /**
+   * Returns the julian day number (TT) the circumstances are for.
+   *
+   * @return The julian day number of the circumstances.
+   */
+  public double getJulianDayNumber() {
+    return this.julianDayNumber;
+  }
+
+  /**
+   * Returns the mean longitude of the moon, in degrees.
+   *
+   * @return The mean longitude of the moon.
+   */
+  public double getMeanLongitude() {
+    return this.meanLongitude;
+  }
+
+  /**
+   * Returns the mean elongation of the moon, in degrees.
+   *
+   * @return The mean elongation of the moon.
+   */
+  public double getMeanElongation() {
+    return this.meanElongation;
+  }
+
+  /**
+   * Returns the mean anomaly of the sun, in degrees.
+   *
+   * @return The mean anomaly of the sun.
+   */
+  public double getSunsMeanAnomaly() {
+    return this.sunsMeanAnomaly;
+  }
+
+  /**
+   * Returns the mean anomaly of the moon, in degrees.
+   *
+   * @return The mean anomaly of the moon.
+   */
+  public double getMeanAnomaly() {
+    return this.meanAnomaly;
+  }
+
+  /**
+   * Returns the mean argument of latitude (the distance of the moon from it's ascending node), in
+   * degrees.
+   *
+   * @return The mean argument of latitude.
+   */
+  public double getArgumentOfLatitude() {
+    return this.argumentOfLatitude;
+  }
+
+  /**
+   * Returns the geocentric ecliptic longitude of the moon referred to the mean equinox of the
+   * date, in degrees.
+   *
+   * @return The geocentric longitude of the moon.
+   */
+  public double getLongitude() {
+    return this.longitude;
+  }
+
+  /**
+   * Returns the geocentric ecliptic latitude of the moon, in degrees.
+   *
+   * @return The geocentric latitude of the moon.
+   */
+  public double getLatitude() {
+    return this.latitude;
+  }
+
+  /**
+   * Returns the distance in kilometers between the centers of the earth and moon.
+   *
+   * @return The distance in kilometers between the centers of the earth and moon.
+   */
+  public double getDistance() {
+    return this.distance;
+  }
+
+  /**
+   * Returns the equatorial horizontal parallax of the moon, the angle the equatorial radius of the
+   * earth subtends at the moon, in degrees.
+   *
+   * @return The equatorial horizontal parallax.
+   */
+  public double getEquatorialHorizontalParallax() {
+    return Math.toDegrees(Math.asin(6378.14 / this.distance));
+  }
+
+  /**
+   * Returns the apparent longitude of the moon, which includes the nutation in longitude, in
+   * degrees.
+   *
+   * @return The apparent longitude of the moon.
+   */
+  public double getApparentLongitude() {
+    return this.apparentLongitude;
+  }
+
+  /**
+   * Returns the apparent right ascension of the moon, in degrees in [0, 360).
+   *
+   * @return The apparent right ascension of the moon.
+   */
+  public double getRightAscension() {
+    return this.rightAscension;
+  }
+
+  /**
+   * Returns the apparent declination of the moon, in degrees.
+   *
+   * @return The apparent declination of the moon.
+   */
+  public double getDeclination() {
+    return this.declination;
+  }
+
+  /**
+   * Returns the mean ascending node of the moon, in degrees.
+   *
+   * @return The mean ascending node of the moon.
+   */
+  public double getMeanAscendingNode() {
+    return this.meanAscendingNode;
+  }
+
+  /**
+   * Returns the mean perigee of the moon, in degrees.
+   *
+   * @return The mean perigee of the moon.
+   */
+  public double getMeanPerigee() {
+    return this.meanPerigee;
+  }
+
+  /**
+   * Returns the true ascending node of the moon, in degrees.
+   *
+   * @return The true ascending node of the moon.
+   */
+  public double getTrueAscendingNode() {
+    return this.trueAscendingNode;
+  }
+
+  /**
+   * Returns the apparent right ascension and declination as a new coordinate pair, which the
+   * caller is free to change.
+   *
+   * @return The right ascension and declination as a coordinate pair.
+   */
+  public RaDec getRaDec() {
+    return new RaDec(new RightAscension(this.rightAscension), new Declination(this.declination));
+  }
+}
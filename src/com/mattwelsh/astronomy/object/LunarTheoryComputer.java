@@ -0,0 +1,165 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.time.JulianDate;
+
+/**
+ * This class implements the API that lunar circumstance calculators must implement for the lunar
+ * theories that compute an immutable LunarState, such as MeeusLunarTheory and ELPLunarTheory. It
+ * keeps the LunarState of the last date it was asked for, which is replaced as a whole, so an
+ * instance can be used again for any number of dates, and Moon can take the state of each date
+ * straight from compute() without a lock.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+abstract class LunarTheoryComputer implements LunarCircumstanceComputer {
+
+  private volatile LunarState state;
+  private volatile RaDec raDec;
+
+  @Override
+  public void computeCircumstances(JulianDate jd) {
+    compute(jd);
+  }
+
+  @Override
+  public LunarState getState() {
+    return this.state;
+  }
+
+  /**
+   * Returns the right ascension and declination as a coordinate pair.
+   *
+   * @return The right ascension and declination as a coordinate pair.
+   */
+  @Override
+  public RaDec getRaDec() {
+    return this.raDec;
+  }
+
+  /**
+   * Return the distance in kilometers between the centers of the earth and moon.
+   *
+   * @return The distance in kilometers between the centers of the earth and moon.
+   */
+  @Override
+  public double getDistance() {
+    return this.state.getDistance();
+  }
+
+  /**
+   * Return the mean longitude of the moon.
+   *
+   * @return The mean longitude of the moon.
+   */
+  @Override
+  public double getMeanLongitude() {
+    return this.state.getMeanLongitude();
+  }
+
+  /**
+   * Return the mean elongation of the moon.
+   *
+   * @return The mean elongation of the moon.
+   */
+  @Override
+  public double getMeanElongation() {
+    return this.state.getMeanElongation();
+  }
+
+  /**
+   * Return the mean anomaly of the moon.
+   *
+   * @return The mean anomaly of the moon.
+   */
+  @Override
+  public double getMeanAnomaly() {
+    return this.state.getMeanAnomaly();
+  }
+
+  /**
+   * Return the mean argument of latitude (the distance of the moon from it's ascending node).
+   *
+   * @return The mean argument of latitude.
+   */
+  @Override
+  public double getArgumentOfLatitude() {
+    return this.state.getArgumentOfLatitude();
+  }
+
+  /**
+   * Returns the apparent longitude of the moon.
+   *
+   * @return The apparent longitude of the moon.
+   */
+  @Override
+  public double getApparentLongitude() {
+    return this.state.getApparentLongitude();
+  }
+
+  /**
+   * Returns the mean ascending node of the moon.
+   *
+   * @return The mean ascending node of the moon.
+   */
+  @Override
+  public double getMeanAscendingNode() {
+    return this.state.getMeanAscendingNode();
+  }
+
+  /**
+   * Returns the mean perigee of the moon.
+   *
+   * @return The mean perigee of the moon.
+   */
+  @Override
+  public double getMeanPerigee() {
+    return this.state.getMeanPerigee();
+  }
+
+  /**
+   * Returns the true ascending node of the moon.
+   *
+   * @return The true ascending node of the moon.
+   */
+  @Override
+  public double getTrueAscendingNode() {
+    return this.state.getTrueAscendingNode();
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Computes the circumstances for the passed date and returns them, as well as keeping them as
+   * the last ones computed. Unlike computeCircumstances() followed by getState() this needs no
+   * lock, as another thread computing another date can't change what is returned.
+   */
+  final LunarState compute(JulianDate jd) {
+    LunarState state = computeState(jd.getJulianDayNumber());
+    this.raDec = state.getRaDec();
+    this.state = state;
+    return state;
+  }
+
+  /**
+   * Computes the circumstances for the passed julian day number (TT) with the theory.
+   */
+  abstract LunarState computeState(double julianDayNumber);
+}
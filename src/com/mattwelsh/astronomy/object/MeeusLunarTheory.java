@@ -0,0 +1,591 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.MeeusNutationBlock;
+import com.mattwelsh.astronomy.time.DeltaTCalculator;
+import com.mattwelsh.astronomy.utilities.MultipleAngles;
+import com.mattwelsh.astronomy.utilities.Utilities;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * This class computes the position of the Moon with the method of Jean Meeus in chapter 47 of
+ * Astronomical Algorithms, as a pure function of the instant: compute() returns an immutable
+ * LunarState that depends on nothing but its arguments, so it can be called from any number of
+ * threads at once without a computer per thread. Each thread keeps its own work arrays for the
+ * single instant form, which then creates nothing but the result.
+ *
+ * <p>An Accuracy can be passed to leave out the smallest periodic terms. As for VSOP87, the terms
+ * dropped are the smallest ones whose amplitudes add up to no more than the precision, so the
+ * longitude and latitude stay within it of the complete series, and the distance within the
+ * same angle seen from the mean distance of the Moon.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MeeusLunarTheory {
+
+  /**
+   * The periodic terms of the longitude and distance, Meeus table 47.A, one term per row of six:
+   * the multiples of D, M, M' and F, then the coefficients of the sine of the longitude and of the
+   * cosine of the distance. The rows are unpacked into the columns below once, when the class is
+   * loaded.
+   */
+  private static final int[] LONGITUDE_DISTANCE_TERMS = {
+      0, 0, 1, 0, 6288774, -20905335,
+      2, 0, -1, 0, 1274027, -3699111,
+      2, 0, 0, 0, 658314, -2955968,
+      0, 0, 2, 0, 213618, -569925,
+      0, 1, 0, 0, -185116, 48888,
+      0, 0, 0, 2, -114332, -3149,
+      2, 0, -2, 0, 58793, 246158,
+      2, -1, -1, 0, 57066, -152138,
+      2, 0, 1, 0, 53322, -170733,
+      2, -1, 0, 0, 45758, -204586,
+      0, 1, -1, 0, -40923, -129620,
+      1, 0, 0, 0, -34720, 108743,
+      0, 1, 1, 0, -30383, 104755,
+      2, 0, 0, -2, 15327, 10321,
+      0, 0, 1, 2, -12528, 0,
+      0, 0, 1, -2, 10980, 79661,
+      4, 0, -1, 0, 10675, -34782,
+      0, 0, 3, 0, 10034, -23210,
+      4, 0, -2, 0, 8548, -21636,
+      2, 1, -1, 0, -7888, 24208,
+      2, 1, 0, 0, -6766, 30824,
+      1, 0, -1, 0, -5163, -8379,
+      1, 1, 0, 0, 4987, -16675,
+      2, -1, 1, 0, 4036, -12831,
+      2, 0, 2, 0, 3994, -10445,
+      4, 0, 0, 0, 3861, -11650,
+      2, 0, -3, 0, 3665, 14403,
+      0, 1, -2, 0, -2689, -7003,
+      2, 0, -1, 2, -2602, 0,
+      2, -1, -2, 0, 2390, 10056,
+      1, 0, 1, 0, -2348, 6322,
+      2, -2, 0, 0, 2236, -9884,
+      0, 1, 2, 0, -2120, 5751,
+      0, 2, 0, 0, -2069, 0,
+      2, -2, -1, 0, 2048, -4950,
+      2, 0, 1, -2, -1773, 4130,
+      2, 0, 0, 2, -1595, 0,
+      4, -1, -1, 0, 1215, -3958,
+      0, 0, 2, 2, -1110, 0,
+      3, 0, -1, 0, -892, 3258,
+      2, 1, 1, 0, -810, 2616,
+      4, -1, -2, 0, 759, -1897,
+      0, 2, -1, 0, -713, -2117,
+      2, 2, -1, 0, -700, 2354,
+      2, 1, -2, 0, 691, 0,
+      2, -1, 0, -2, 596, 0,
+      4, 0, 1, 0, 549, -1423,
+      0, 0, 4, 0, 537, -1117,
+      4, -1, 0, 0, 520, -1571,
+      1, 0, -2, 0, -487, -1739,
+      2, 1, 0, -2, -399, 0,
+      0, 0, 2, -2, -381, -4421,
+      1, 1, 1, 0, 351, 0,
+      3, 0, -2, 0, -340, 0,
+      4, 0, -3, 0, 330, 0,
+      2, -1, 2, 0, 327, 0,
+      0, 2, 1, 0, -323, 1165,
+      1, 1, -1, 0, 299, 0,
+      2, 0, 3, 0, 294, 0,
+      2, 0, -1, -2, 0, 8752
+  };
+
+  /**
+   * The periodic terms of the latitude, Meeus table 47.B, one term per row of five: the multiples
+   * of D, M, M' and F, then the coefficient of the sine of the latitude.
+   */
+  private static final int[] LATITUDE_TERMS = {
+      0, 0, 0, 1, 5128122,
+      0, 0, 1, 1, 280602,
+      0, 0, 1, -1, 277693,
+      2, 0, 0, -1, 173237,
+      2, 0, -1, 1, 55413,
+      2, 0, -1, -1, 46271,
+      2, 0, 0, 1, 32573,
+      0, 0, 2, 1, 17198,
+      2, 0, 1, -1, 9266,
+      0, 0, 2, -1, 8822,
+      2, -1, 0, -1, 8216,
+      2, 0, -2, -1, 4324,
+      2, 0, 1, 1, 4200,
+      2, 1, 0, -1, -3359,
+      2, -1, -1, 1, 2463,
+      2, -1, 0, 1, 2211,
+      2, -1, -1, -1, 2065,
+      0, 1, -1, -1, -1870,
+      4, 0, -1, -1, 1828,
+      0, 1, 0, 1, -1794,
+      0, 0, 0, 3, -1749,
+      0, 1, -1, 1, -1565,
+      1, 0, 0, 1, -1491,
+      0, 1, 1, 1, -1475,
+      0, 1, 1, -1, -1410,
+      0, 1, 0, -1, -1344,
+      1, 0, 0, -1, -1335,
+      0, 0, 3, 1, 1107,
+      4, 0, 0, -1, 1021,
+      4, 0, -1, 1, 833,
+      0, 0, 1, -3, 777,
+      4, 0, -2, 1, 671,
+      2, 0, 0, -3, 607,
+      2, 0, 2, -1, 596,
+      2, -1, 1, -1, 491,
+      2, 0, -2, 1, -451,
+      0, 0, 3, -1, 439,
+      2, 0, 2, 1, 422,
+      2, 0, -3, -1, 421,
+      2, 1, -1, 1, -366,
+      2, 1, 0, 1, -351,
+      4, 0, 0, 1, 331,
+      2, -1, 1, 1, 315,
+      2, -2, 0, -1, 302,
+      0, 0, 1, 3, -283,
+      2, 1, 1, -1, -229,
+      1, 1, 0, -1, 223,
+      1, 1, 0, 1, 223,
+      0, 1, -2, -1, -220,
+      2, 1, -1, -1, -220,
+      1, 0, 1, 1, -185,
+      2, -1, -2, -1, 181,
+      0, 1, 2, 1, -177,
+      4, 0, -2, -1, 176,
+      4, -1, -1, -1, 166,
+      1, 0, 1, -1, -164,
+      4, 0, 1, -1, 132,
+      1, 0, -1, -1, -119,
+      4, -1, 0, -1, 115,
+      2, -2, 0, 1, 107
+  };
+
+  private static final int[] LONGITUDE_DISTANCE_D = column(LONGITUDE_DISTANCE_TERMS, 6, 0);
+  private static final int[] LONGITUDE_DISTANCE_M = column(LONGITUDE_DISTANCE_TERMS, 6, 1);
+  private static final int[] LONGITUDE_DISTANCE_M_PRIME = column(LONGITUDE_DISTANCE_TERMS, 6, 2);
+  private static final int[] LONGITUDE_DISTANCE_F = column(LONGITUDE_DISTANCE_TERMS, 6, 3);
+  private static final int[] LONGITUDE_DISTANCE_E_POWER = ePowers(LONGITUDE_DISTANCE_M);
+  private static final double[] LONGITUDE_COEFFICIENTS =
+      coefficients(LONGITUDE_DISTANCE_TERMS, 6, 4);
+  private static final double[] DISTANCE_COEFFICIENTS =
+      coefficients(LONGITUDE_DISTANCE_TERMS, 6, 5);
+
+  private static final int[] LATITUDE_D = column(LATITUDE_TERMS, 5, 0);
+  private static final int[] LATITUDE_M = column(LATITUDE_TERMS, 5, 1);
+  private static final int[] LATITUDE_M_PRIME = column(LATITUDE_TERMS, 5, 2);
+  private static final int[] LATITUDE_F = column(LATITUDE_TERMS, 5, 3);
+  private static final int[] LATITUDE_E_POWER = ePowers(LATITUDE_M);
+  private static final double[] LATITUDE_COEFFICIENTS = coefficients(LATITUDE_TERMS, 5, 4);
+
+  private static final int[][] LONGITUDE_DISTANCE_MULTIPLES = {LONGITUDE_DISTANCE_D,
+      LONGITUDE_DISTANCE_M, LONGITUDE_DISTANCE_M_PRIME, LONGITUDE_DISTANCE_F};
+  private static final int[][] LATITUDE_MULTIPLES = {LATITUDE_D, LATITUDE_M, LATITUDE_M_PRIME,
+      LATITUDE_F};
+  private static final int MAX_MULTIPLE = Math.max(
+      MultipleAngles.getMaxMultiple(LONGITUDE_DISTANCE_MULTIPLES),
+      MultipleAngles.getMaxMultiple(LATITUDE_MULTIPLES));
+
+  /** The number of instants a batch computes at a time. */
+  private static final int BLOCK_SIZE = 256;
+
+  /** The work arrays of compute(double, Accuracy), one set per thread. */
+  private static final ThreadLocal<Block> SINGLE = ThreadLocal.withInitial(() -> new Block(1));
+
+  /** The indices of the quantities in the result array of a Block. */
+  private static final int LONGITUDE = 0;
+  private static final int LATITUDE = 1;
+  private static final int DISTANCE = 2;
+  private static final int APPARENT_LONGITUDE = 3;
+  private static final int RIGHT_ASCENSION = 4;
+  private static final int DECLINATION = 5;
+  private static final int MEAN_ASCENDING_NODE = 6;
+  private static final int MEAN_PERIGEE = 7;
+  private static final int TRUE_ASCENDING_NODE = 8;
+  private static final int RESULT_SIZE = 9;
+
+  /** The mean distance of the Moon in kilometers, the constant term of the distance. */
+  private static final double MEAN_DISTANCE = 385000.56;
+
+  /** The indices of the terms of each table kept at each accuracy, by Accuracy.ordinal(). */
+  private static final int[][] LONGITUDE_DISTANCE_KEPT = new int[Accuracy.values().length][];
+  private static final int[][] LATITUDE_KEPT = new int[Accuracy.values().length][];
+
+  static {
+    for (Accuracy accuracy : Accuracy.values()) {
+      // The coefficients are in millionths of a degree and in meters.
+      double angular = Math.toDegrees(accuracy.getPrecision()) * 1000000.0;
+      double distance = accuracy.getPrecision() * MEAN_DISTANCE * 1000.0;
+      LONGITUDE_DISTANCE_KEPT[accuracy.ordinal()] = keptTerms(LONGITUDE_COEFFICIENTS, angular,
+          DISTANCE_COEFFICIENTS, distance);
+      LATITUDE_KEPT[accuracy.ordinal()] = keptTerms(LATITUDE_COEFFICIENTS, angular,
+          LATITUDE_COEFFICIENTS, angular);
+    }
+  }
+
+  private MeeusLunarTheory() {
+  }
+
+  /**
+   * Computes the circumstances of the Moon at the passed instant with every periodic term.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the circumstances for.
+   * @return The circumstances of the Moon.
+   */
+  public static LunarState compute(double julianDayNumber) {
+    return compute(julianDayNumber, Accuracy.FULL);
+  }
+
+  /**
+   * Computes the circumstances of the Moon at the passed instant, leaving out as many of the small
+   * periodic terms as the passed accuracy allows.
+   *
+   * @param julianDayNumber The julian day number (TT) to compute the circumstances for.
+   * @param accuracy The accuracy the longitude, latitude, and distance must have.
+   * @return The circumstances of the Moon.
+   */
+  public static LunarState compute(double julianDayNumber, Accuracy accuracy) {
+    Block block = SINGLE.get();
+    block.compute(julianDayNumber, accuracy);
+    double[] result = block.result;
+    return new LunarState(julianDayNumber, block.meanLongitude[0], block.meanElongation[0],
+        block.sunsMeanAnomaly[0], block.meanAnomaly[0], block.argumentOfLatitude[0],
+        result[LONGITUDE], result[LATITUDE], result[DISTANCE], result[APPARENT_LONGITUDE],
+        result[RIGHT_ASCENSION], result[DECLINATION], result[MEAN_ASCENDING_NODE],
+        result[MEAN_PERIGEE], result[TRUE_ASCENDING_NODE]);
+  }
+
+  /**
+   * Computes the circumstances of the Moon at many instants at once, into primitive arrays. The
+   * instants are taken BLOCK_SIZE at a time, and each periodic term is applied to every instant
+   * of a block before the next term, so the tables are read once per block rather than once per
+   * instant. The nutation is computed the same way, a block at a time, so no object is created
+   * per instant. The results are the same as those of compute() for each instant.
+   *
+   * @param julianDays The julian day numbers (TT) to compute the circumstances for.
+   * @param accuracy The accuracy the longitude, latitude, and distance must have.
+   * @return The circumstances of the Moon at each instant.
+   */
+  public static LunarEphemeris compute(double[] julianDays, Accuracy accuracy) {
+    LunarEphemeris ephemeris = new LunarEphemeris(julianDays.clone());
+    Block block = new Block(Math.max(1, Math.min(BLOCK_SIZE, julianDays.length)));
+    for (int from = 0; from < julianDays.length; from += BLOCK_SIZE) {
+      block.compute(ephemeris, from, Math.min(BLOCK_SIZE, julianDays.length - from), accuracy);
+    }
+    return ephemeris;
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private static double centuries(double julianDayNumber) {
+    return (julianDayNumber - DeltaTCalculator.EPOCH2000.getJulianDayNumber()) / 36525.0;
+  }
+
+  private static double reduceToRange(double decimalDegrees) {
+    if (decimalDegrees > 360.0) {
+      decimalDegrees = decimalDegrees - 360.0 * ((long) (decimalDegrees / 360.0));
+    }
+
+    if (decimalDegrees < 0.0) {
+      decimalDegrees = decimalDegrees + 360.0 * ((long) Math.abs(decimalDegrees / 360.0) + 1);
+    }
+    return decimalDegrees;
+  }
+
+  private static int[] column(int[] terms, int width, int column) {
+    int[] values = new int[terms.length / width];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = terms[i * width + column];
+    }
+    return values;
+  }
+
+  private static double[] coefficients(int[] terms, int width, int column) {
+    double[] values = new double[terms.length / width];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = terms[i * width + column];
+    }
+    return values;
+  }
+
+  /**
+   * Returns, for each term, the power of E its coefficients are multiplied by, which is the
+   * absolute value of its multiple of M: the terms in M and 2M depend on the eccentricity of
+   * Earth's orbit, which is decreasing.
+   */
+  private static int[] ePowers(int[] mMultiples) {
+    int[] powers = new int[mMultiples.length];
+    for (int i = 0; i < powers.length; i++) {
+      powers[i] = Math.abs(mMultiples[i]);
+    }
+    return powers;
+  }
+
+  /**
+   * Returns the indices, in order, of the terms kept when the smallest are dropped for as long as
+   * the sums of the dropped amplitudes of both coefficients stay within their limits.
+   */
+  private static int[] keptTerms(double[] first, double firstLimit, double[] second,
+      double secondLimit) {
+    Integer[] order = new Integer[first.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(i -> Math.max(
+        Math.abs(first[i]) / firstLimit, Math.abs(second[i]) / secondLimit)));
+
+    boolean[] dropped = new boolean[first.length];
+    int count = 0;
+    if (firstLimit > 0.0 && secondLimit > 0.0) {
+      double firstSum = 0.0;
+      double secondSum = 0.0;
+      for (int i : order) {
+        firstSum += Math.abs(first[i]);
+        secondSum += Math.abs(second[i]);
+        if (firstSum > firstLimit || secondSum > secondLimit) {
+          break;
+        }
+        dropped[i] = true;
+        count++;
+      }
+    }
+
+    int[] kept = new int[first.length - count];
+    for (int i = 0, j = 0; i < first.length; i++) {
+      if (!dropped[i]) {
+        kept[j++] = i;
+      }
+    }
+    return kept;
+  }
+
+  /**
+   * This class holds the work arrays of a block of instants, one element per instant, with the
+   * sines and cosines of the multiples of D, M, M' and F kept by a MultipleAngles for the whole
+   * block.
+   */
+  private static final class Block {
+
+    private final double[] meanLongitude;
+    private final double[] meanElongation;
+    private final double[] sunsMeanAnomaly;
+    private final double[] meanAnomaly;
+    private final double[] argumentOfLatitude;
+    private final double[][] eFactors;
+    private final MultipleAngles angles;
+    private final double[] cosArgument;
+    private final double[] sinArgument;
+    private final double[] sumLongitude;
+    private final double[] sumDistance;
+    private final double[] sumLatitude;
+    private final MeeusNutationBlock nutation;
+    private final double[] single = new double[1];
+    private final double[] cosSin = new double[2];
+    private final double[] result = new double[RESULT_SIZE];
+
+    Block(int size) {
+      this.meanLongitude = new double[size];
+      this.meanElongation = new double[size];
+      this.sunsMeanAnomaly = new double[size];
+      this.meanAnomaly = new double[size];
+      this.argumentOfLatitude = new double[size];
+      this.eFactors = new double[3][size];
+      this.angles = new MultipleAngles(4, MAX_MULTIPLE, size);
+      this.cosArgument = new double[size];
+      this.sinArgument = new double[size];
+      this.sumLongitude = new double[size];
+      this.sumDistance = new double[size];
+      this.sumLatitude = new double[size];
+      this.nutation = new MeeusNutationBlock(size);
+    }
+
+    /**
+     * Computes count instants of the ephemeris, starting at from, applying each periodic term to
+     * every instant before the next term.
+     */
+    void compute(LunarEphemeris ephemeris, int from, int count, Accuracy accuracy) {
+      double[] julianDays = ephemeris.getJulianDays();
+      for (int j = 0; j < count; j++) {
+        setElements(j, julianDays[from + j]);
+      }
+      nutation.compute(julianDays, from, count);
+
+      for (int i : LONGITUDE_DISTANCE_KEPT[accuracy.ordinal()]) {
+        angles.combine(LONGITUDE_DISTANCE_MULTIPLES, i, count, cosArgument, sinArgument);
+        double[] factors = eFactors[LONGITUDE_DISTANCE_E_POWER[i]];
+        double longitudeCoefficient = LONGITUDE_COEFFICIENTS[i];
+        double distanceCoefficient = DISTANCE_COEFFICIENTS[i];
+        for (int j = 0; j < count; j++) {
+          sumLongitude[j] += factors[j] * longitudeCoefficient * sinArgument[j];
+          sumDistance[j] += factors[j] * distanceCoefficient * cosArgument[j];
+        }
+      }
+      for (int i : LATITUDE_KEPT[accuracy.ordinal()]) {
+        angles.combine(LATITUDE_MULTIPLES, i, count, cosArgument, sinArgument);
+        double[] factors = eFactors[LATITUDE_E_POWER[i]];
+        double coefficient = LATITUDE_COEFFICIENTS[i];
+        for (int j = 0; j < count; j++) {
+          sumLatitude[j] += factors[j] * coefficient * sinArgument[j];
+        }
+      }
+
+      for (int j = 0; j < count; j++) {
+        int index = from + j;
+        finish(j, julianDays[index]);
+        ephemeris.getLongitudes()[index] = result[LONGITUDE];
+        ephemeris.getLatitudes()[index] = result[LATITUDE];
+        ephemeris.getDistances()[index] = result[DISTANCE];
+        ephemeris.getApparentLongitudes()[index] = result[APPARENT_LONGITUDE];
+        ephemeris.getRightAscensions()[index] = result[RIGHT_ASCENSION];
+        ephemeris.getDeclinations()[index] = result[DECLINATION];
+        ephemeris.getMeanAscendingNodes()[index] = result[MEAN_ASCENDING_NODE];
+        ephemeris.getMeanPerigees()[index] = result[MEAN_PERIGEE];
+        ephemeris.getTrueAscendingNodes()[index] = result[TRUE_ASCENDING_NODE];
+      }
+    }
+
+    /**
+     * Computes one instant into the first element of the block and result, summing each series
+     * in a single pass. The terms are added in the same order and with the same arithmetic as in
+     * a batch, so both give the same values.
+     */
+    void compute(double julianDayNumber, Accuracy accuracy) {
+      setElements(0, julianDayNumber);
+      double sumL = 0.0;
+      double sumR = 0.0;
+      for (int i : LONGITUDE_DISTANCE_KEPT[accuracy.ordinal()]) {
+        angles.combine(LONGITUDE_DISTANCE_MULTIPLES, i, cosSin);
+        double factor = eFactors[LONGITUDE_DISTANCE_E_POWER[i]][0];
+        sumL += factor * LONGITUDE_COEFFICIENTS[i] * cosSin[1];
+        sumR += factor * DISTANCE_COEFFICIENTS[i] * cosSin[0];
+      }
+      double sumB = 0.0;
+      for (int i : LATITUDE_KEPT[accuracy.ordinal()]) {
+        angles.combine(LATITUDE_MULTIPLES, i, cosSin);
+        sumB += eFactors[LATITUDE_E_POWER[i]][0] * LATITUDE_COEFFICIENTS[i] * cosSin[1];
+      }
+      sumLongitude[0] = sumL;
+      sumDistance[0] = sumR;
+      sumLatitude[0] = sumB;
+      single[0] = julianDayNumber;
+      nutation.compute(single, 0, 1);
+      finish(0, julianDayNumber);
+    }
+
+    /**
+     * Computes the mean elements and the multiples of D, M, M' and F of the instant j, and clears
+     * its sums.
+     */
+    private void setElements(int j, double julianDayNumber) {
+      double t = centuries(julianDayNumber);
+      double t2 = t * t;
+      double t3 = t * t2;
+      double t4 = t * t3;
+
+      // The mean longitude includes the constant term of the effect of light-time (-0.7 seconds).
+      meanLongitude[j] = reduceToRange(218.3164477 + (481267.88123421 * t)
+          - (0.0015786 * t2) + (t3 / 538841.0) - (t4 / 65194000.0));
+      meanElongation[j] = reduceToRange(297.8501921 + (445267.1114034 * t)
+          - (0.0018819 * t2) + (t3 / 545868.0) - (t4 / 113065000.0));
+      sunsMeanAnomaly[j] = reduceToRange(357.5291092 + (35999.0502909 * t)
+          - (0.0001536 * t2) + (t3 / 24490000.0));
+      meanAnomaly[j] = reduceToRange(134.9633964 + (477198.8675055 * t) + (0.0087414 * t2)
+          + (t3 / 69699.0) - (t4 / 14712000.0));
+      argumentOfLatitude[j] = reduceToRange(93.2720950 + (483202.0175233 * t)
+          - (0.0036539 * t2) - (t3 / 3526000.0 + (t4 / 863310000.0)));
+      double e = 1.0 - (0.002516 * t) - (0.0000074 * t2);
+      eFactors[0][j] = 1.0;
+      eFactors[1][j] = e;
+      eFactors[2][j] = e * e;
+
+      // The arguments of the periodic terms are combinations of multiples of D, M, M' and F.
+      angles.setAngle(0, j, Math.toRadians(meanElongation[j]));
+      angles.setAngle(1, j, Math.toRadians(sunsMeanAnomaly[j]));
+      angles.setAngle(2, j, Math.toRadians(meanAnomaly[j]));
+      angles.setAngle(3, j, Math.toRadians(argumentOfLatitude[j]));
+      sumLongitude[j] = 0.0;
+      sumDistance[j] = 0.0;
+      sumLatitude[j] = 0.0;
+    }
+
+    /**
+     * Adds the terms in A1, A2, and A3 to the sums of the instant j, and computes everything else
+     * from them into result.
+     */
+    private void finish(int j, double julianDayNumber) {
+      double t = centuries(julianDayNumber);
+      double t2 = t * t;
+      double t3 = t * t2;
+      double t4 = t * t3;
+      double venusTerms = reduceToRange(119.75 + (131.849 * t));
+      double jupiterTerms = reduceToRange(53.09 + (479264.29 * t));
+      double a3 = reduceToRange(313.45 + (481266.484 * t));
+      double lPrime = meanLongitude[j];
+      double f = argumentOfLatitude[j];
+      double mPrime = meanAnomaly[j];
+
+      double sumL = sumLongitude[j];
+      sumL = sumL + (3958.0 * Math.sin(Math.toRadians(venusTerms)));
+      sumL = sumL + (1962.0 * Math.sin(Math.toRadians(lPrime - f)));
+      sumL = sumL + (318.0 * Math.sin(Math.toRadians(jupiterTerms)));
+      double sumB = sumLatitude[j];
+      sumB = sumB + (-2235 * Math.sin(Math.toRadians(lPrime)));
+      sumB = sumB + (382 * Math.sin(Math.toRadians(a3)));
+      sumB = sumB + (175 * Math.sin(Math.toRadians(venusTerms - f)));
+      sumB = sumB + (175 * Math.sin(Math.toRadians(venusTerms + f)));
+      sumB = sumB + (127 * Math.sin(Math.toRadians(lPrime - mPrime)));
+      sumB = sumB + (-115 * Math.sin(Math.toRadians(lPrime + mPrime)));
+
+      double longitude = lPrime + sumL / 1000000.0;
+      double latitude = sumB / 1000000.0;
+      double distance = MEAN_DISTANCE + sumDistance[j] / 1000;
+
+      double apparentLongitude = longitude + (nutation.getNutationsInLongitude()[j] / 3600);
+      double obliquity = Math.toRadians(nutation.getTrueObliquitiesOfEcliptic()[j]);
+      double lambda = Math.toRadians(apparentLongitude);
+      double beta = Math.toRadians(latitude);
+      double rightAscension = Utilities.reduceToRange360(Math.toDegrees(Math.atan2(
+          Math.sin(lambda) * Math.cos(obliquity) - Math.tan(beta) * Math.sin(obliquity),
+          Math.cos(lambda))));
+      double declination = Math.toDegrees(Math.asin(Math.sin(beta) * Math.cos(obliquity)
+          + Math.cos(beta) * Math.sin(obliquity) * Math.sin(lambda)));
+
+      double meanAscendingNode = reduceToRange(125.0445479 - (1934.1362891 * t)
+          + (0.0020754 * t2) + (t3 / 467441) - (t4 / 60616000));
+      double meanPerigee = reduceToRange(83.3532465 + (4069.0137287 * t) - (0.0103200 * t2)
+          - (t3 / 80053.0) + (t4 / 18999000.0));
+      double d = meanElongation[j];
+      double trueAscendingNode = meanAscendingNode
+          - (1.4979 * Math.sin(Math.toRadians(2 * (d - f))))
+          - (0.15 * Math.sin(Math.toRadians(sunsMeanAnomaly[j])))
+          - (0.1226 * Math.sin(Math.toRadians(2 * d)))
+          + (0.1176 * Math.sin(Math.toRadians(f)))
+          - (0.0801 * Math.sin(Math.toRadians(2 * (mPrime - f))));
+
+      result[LONGITUDE] = longitude;
+      result[LATITUDE] = latitude;
+      result[DISTANCE] = distance;
+      result[APPARENT_LONGITUDE] = apparentLongitude;
+      result[RIGHT_ASCENSION] = rightAscension;
+      result[DECLINATION] = declination;
+      result[MEAN_ASCENDING_NODE] = meanAscendingNode;
+      result[MEAN_PERIGEE] = meanPerigee;
+      result[TRUE_ASCENDING_NODE] = trueAscendingNode;
+    }
+  }
+}
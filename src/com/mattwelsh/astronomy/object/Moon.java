@@ -13,22 +13,30 @@
 package com.mattwelsh.astronomy.object;
 
 import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.observer.Site;
 import com.mattwelsh.astronomy.time.JulianDate;
-import com.mattwelsh.astronomy.time.MutableJulianDate;
+import com.mattwelsh.astronomy.time.DateBoundValue;
 import java.util.ResourceBundle;
 
 /**
  * This class implements the AstronomicalObject interface and calculates the circumstances of the
  * moon using one of the methods specified by the LunarCircumstances enumeration.
  *
+ * <p>The circumstances are computed when they are first asked for, and again only when they are
+ * asked for after the date has changed; changing a MutableJulianDate just marks them stale. Each
+ * getter reads one immutable LunarState, so readers on other threads never see a mix of two
+ * dates. The built-in computers are used without a lock; any other computer is only called with
+ * a lock private to this object held, so the calls of two threads don't interleave.</p>
+ *
  * @author Matt Welsh (mitya.welsh@gmail.com)
  * @version 1.0
  * @since 1.0
  */
 public class Moon implements AstronomicalObject {
 
-  private JulianDate julianDate;
-  private LunarCircumstanceComputer computer;
+  private final LunarCircumstanceComputer computer;
+  private final DateBoundValue<LunarState> state;
+  private final Object lock = new Object();
 
   /**
    * Create an instance of the Moon object and calculate the circumstances of the moon for that
@@ -42,18 +50,26 @@ public class Moon implements AstronomicalObject {
 
   /**
    * Create an instance of the Moon object and calculate the circumstances of the moon for that
+   * moment in time using the default method, leaving out as many of the small terms of its series
+   * as the passed accuracy allows.
+   *
+   * @param julianDate The date to use to compute the circumstances.
+   * @param accuracy The accuracy the circumstances must have.
+   */
+  public Moon(JulianDate julianDate, Accuracy accuracy) {
+    this(julianDate, LunarCircumstances.DEFAULT.getCalculator(accuracy));
+  }
+
+  /**
+   * Create an instance of the Moon object that calculates the circumstances of the moon for that
    * moment in time using the passed method.
    *
    * @param julianDate The date to use to compute the circumstances.
    * @param computer The LunarCircumstanceComputer to use to do the calculations.
    */
   public Moon(JulianDate julianDate, LunarCircumstanceComputer computer) {
-    this.julianDate = julianDate;
-    if (julianDate instanceof MutableJulianDate) {
-      ((MutableJulianDate) julianDate).addDateChangedListener(evt -> calculateCircumstances());
-    }
     this.computer = computer;
-    calculateCircumstances();
+    this.state = new DateBoundValue<>(julianDate, this::calculateCircumstances);
   }
 
   @Override
@@ -63,7 +79,19 @@ public class Moon implements AstronomicalObject {
 
   @Override
   public RaDec getRaDec() {
-    return this.computer.getRaDec();
+    return this.state.get().getRaDec();
+  }
+
+  /**
+   * Returns the topocentric right ascension and declination of the moon, as seen from the passed
+   * site rather than from the center of the earth. To correct many sites or instants at once use
+   * a TopocentricLunarComputer.
+   *
+   * @param site The site to observe from.
+   * @return The topocentric right ascension and declination.
+   */
+  public RaDec getTopocentricRaDec(Site site) {
+    return new TopocentricLunarComputer(site).getRaDec(0, getState());
   }
 
   /**
@@ -82,15 +110,27 @@ public class Moon implements AstronomicalObject {
    * @return The distance in kilometers between the centers of the earth and moon.
    */
   public double getDistance() {
-    return this.computer.getDistance();
+    return this.state.get().getDistance();
+  }
+
+  /**
+   * Returns all of the circumstances of the moon, as one immutable object.
+   *
+   * @return The circumstances of the moon.
+   */
+  public LunarState getState() {
+    return this.state.get();
   }
 
   /**
    * Return a reference to the circumstance computer used to compute circumstances for this object.
+   * The computer is brought up to date first, but unlike the getters of this class it is shared
+   * mutable state, so it shouldn't be read while another thread may change the date.
    *
    * @return a reference to the circumstance computer used to compute circumstances for this object.
    */
   public LunarCircumstanceComputer getComputer() {
+    this.state.get();
     return this.computer;
   }
 
@@ -98,7 +138,37 @@ public class Moon implements AstronomicalObject {
   // Protected, package local, & and private methods
   // -----------------------------------------------------------------------------------------------
 
+  /**
+   * Computes the circumstances of the moon for the current date again, even if they are up to
+   * date.
+   *
+   * @deprecated The circumstances are computed when they are asked for; override
+   *     calculateCircumstances(JulianDate) to change how.
+   */
+  @Deprecated
   protected void calculateCircumstances() {
-    this.computer.computeCircumstances(this.julianDate);
+    this.state.invalidate();
+    this.state.get();
+  }
+
+  /**
+   * Computes the circumstances of the moon for the passed date.
+   *
+   * @param julianDate The date to compute the circumstances for.
+   * @return The circumstances of the moon.
+   */
+  protected LunarState calculateCircumstances(JulianDate julianDate) {
+    if (this.computer instanceof LunarTheoryComputer) {
+      return ((LunarTheoryComputer) this.computer).compute(julianDate);
+    }
+    synchronized (this.lock) {
+      this.computer.computeCircumstances(julianDate);
+      LunarState state = this.computer.getState();
+      if (state == null || state.getJulianDayNumber() != julianDate.getJulianDayNumber()) {
+        // The default getState() doesn't know the date, which the topocentric correction needs.
+        state = LunarState.of(julianDate.getJulianDayNumber(), this.computer);
+      }
+      return state;
+    }
   }
 }
@@ -0,0 +1,221 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.time.JulianDate;
+import com.mattwelsh.astronomy.utilities.SegmentedLruCache;
+import com.mattwelsh.astronomy.utilities.Utilities;
+import java.util.function.LongSupplier;
+
+/**
+ * This class memoizes the VSOP87 coordinates of the planets, for callers that ask for the same
+ * bodies at the same instants again and again, such as a dashboard asking for "now" rounded to
+ * the second. Entries are keyed by body, variant, and instant, where the instant is first rounded
+ * to a multiple of the quantum. Every instant that rounds to the same value gets the coordinates
+ * computed for the rounded instant, so the quantum has to be small enough for the motion of the
+ * fastest body over it not to matter. A quantum of zero keys on the exact julian day number.
+ *
+ * <p>The coordinates are those of VSOP87.compute(), except that with variant B the longitude is
+ * reduced to [0, 2PI) and the latitude to [-PI/2, PI/2], as PlanetaryComputer does.</p>
+ *
+ * <p>At most maxEntries entries are kept; when a new one is added the least recently used one is
+ * dropped. An entry older than maxAgeMillis is dropped the next time it is asked for, and
+ * computed again. The entries are kept in a SegmentedLruCache, so the cache is safe to use from
+ * many threads, and when several threads ask for the same missing entry only one of them computes
+ * it while the others wait for its result.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class PlanetaryPositionCache {
+
+  private final Accuracy accuracy;
+  private final double quantumDays;
+  private final long maxAgeNanos;
+  private final LongSupplier nanoTime;
+  private final SegmentedLruCache<Key, Entry> entries;
+
+  /**
+   * Create a cache computing coordinates to the passed accuracy.
+   *
+   * @param accuracy The accuracy the coordinates must have.
+   * @param quantumDays The step in days instants are rounded to, or zero for no rounding.
+   * @param maxEntries The largest number of entries to keep.
+   * @param maxAgeMillis The longest time in milliseconds an entry is kept.
+   */
+  public PlanetaryPositionCache(Accuracy accuracy, double quantumDays, int maxEntries,
+      long maxAgeMillis) {
+    this(accuracy, quantumDays, maxEntries, maxAgeMillis, System::nanoTime);
+  }
+
+  PlanetaryPositionCache(Accuracy accuracy, double quantumDays, int maxEntries,
+      long maxAgeMillis, LongSupplier nanoTime) {
+    if (quantumDays < 0.0 || maxEntries < 1 || maxAgeMillis <= 0) {
+      throw new IllegalArgumentException("Invalid position cache configuration");
+    }
+    this.accuracy = accuracy;
+    this.quantumDays = quantumDays;
+    this.maxAgeNanos = maxAgeMillis * 1000000L;
+    this.nanoTime = nanoTime;
+    this.entries = new SegmentedLruCache<>(maxEntries, this::compute,
+        entry -> this.nanoTime.getAsLong() - entry.created > this.maxAgeNanos);
+  }
+
+  /**
+   * Computes the coordinates of a body at the passed julian date, or takes them from the cache.
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param jd The julian date (TT) to compute the coordinates for.
+   * @param out An array of at least three elements that receives the coordinates.
+   */
+  public void computePosition(VSOP87.Body body, VSOP87.Variant variant, JulianDate jd,
+      double[] out) {
+    computePosition(body, variant, jd.getJulianDayNumber(), out);
+  }
+
+  /**
+   * Computes the coordinates of a body at the passed julian day number, or takes them from the
+   * cache.
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param julianDayNumber The julian day number (TT) to compute the coordinates for.
+   * @param out An array of at least three elements that receives the coordinates.
+   */
+  public void computePosition(VSOP87.Body body, VSOP87.Variant variant, double julianDayNumber,
+      double[] out) {
+    Entry entry = this.entries.get(new Key(body, variant, quantize(julianDayNumber)));
+    System.arraycopy(entry.coordinates, 0, out, 0, 3);
+  }
+
+  /**
+   * Returns the step in days instants are rounded to.
+   *
+   * @return The quantum in days, zero for no rounding.
+   */
+  public double getQuantumDays() {
+    return this.quantumDays;
+  }
+
+  /**
+   * Returns the number of entries currently cached.
+   *
+   * @return The number of entries currently cached.
+   */
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * Returns the number of queries answered from a cached entry.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return this.entries.getHitCount();
+  }
+
+  /**
+   * Returns the number of queries that had to compute a new entry, or wait for another thread to
+   * compute it.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return this.entries.getMissCount();
+  }
+
+  /**
+   * Returns the number of entries dropped to stay within the size limit or because they were too
+   * old.
+   *
+   * @return The number of evictions.
+   */
+  public long getEvictionCount() {
+    return this.entries.getEvictionCount();
+  }
+
+  /** Drops every cached entry. */
+  public void clear() {
+    this.entries.clear();
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private double quantize(double julianDayNumber) {
+    if (this.quantumDays == 0.0) {
+      return julianDayNumber;
+    }
+    return Math.rint(julianDayNumber / this.quantumDays) * this.quantumDays;
+  }
+
+  private Entry compute(Key key) {
+    double[] coordinates = new double[3];
+    VSOP87.compute(key.body, key.variant, this.accuracy,
+        (key.julianDayNumber - 2451545.0) / 365250.0, coordinates);
+    if (key.variant.isSpherical()) {
+      coordinates[0] = Utilities.reduceTo2pi(coordinates[0]);
+      coordinates[1] = Utilities.reduceToRangePIOver2(coordinates[1]);
+    }
+    return new Entry(coordinates, this.nanoTime.getAsLong());
+  }
+
+  private static final class Key {
+
+    private final VSOP87.Body body;
+    private final VSOP87.Variant variant;
+    private final double julianDayNumber;
+
+    Key(VSOP87.Body body, VSOP87.Variant variant, double julianDayNumber) {
+      this.body = body;
+      this.variant = variant;
+      this.julianDayNumber = julianDayNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return this.body == other.body && this.variant == other.variant
+          && Double.compare(this.julianDayNumber, other.julianDayNumber) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = 31 * this.body.hashCode() + this.variant.hashCode();
+      return 31 * result + Double.hashCode(this.julianDayNumber);
+    }
+  }
+
+  private static final class Entry {
+
+    private final double[] coordinates;
+    private final long created;
+
+    Entry(double[] coordinates, long created) {
+      this.coordinates = coordinates;
+      this.created = created;
+    }
+  }
+
+}
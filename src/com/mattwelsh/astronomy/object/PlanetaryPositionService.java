@@ -0,0 +1,216 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.Nutation;
+import com.mattwelsh.astronomy.coordinates.NutationCalculatorFactory;
+import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.coordinates.RightAscension;
+import com.mattwelsh.astronomy.time.JulianDate;
+import com.mattwelsh.astronomy.utilities.Utilities;
+
+/**
+ * This class computes the apparent geocentric right ascension and declination of the planets and
+ * the Sun, following chapter 33 of Astronomical Algorithms by Jean Meeus:
+ *
+ * <ol>
+ * <li>The heliocentric positions of Earth and of the body are computed with VSOP87b, the body's at
+ * the time its light left it, found by iterating on the light time.</li>
+ * <li>The geometric geocentric longitude and latitude are precessed from the ecliptic of J2000 to
+ * the ecliptic of date, and reduced to the FK5 system, by EclipticPrecession.</li>
+ * <li>Annual aberration and the nutation in longitude are added, and the result is converted to
+ * equatorial coordinates with the true obliquity of the ecliptic.</li>
+ * </ol>
+ *
+ * <p>Everything that only depends on the instant, Earth's position, the nutation, the obliquity
+ * and the precession and aberration angles, is computed once per instant and reused for every body
+ * asked for at that instant, so asking for all of the planets at once costs one Earth evaluation
+ * rather than eight. The state of the last instant is kept, so asking for bodies one at a time at
+ * the same instant shares it as well. The service is safe to use from many threads.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class PlanetaryPositionService {
+
+  /** The light time for one AU, in days. */
+  private static final double LIGHT_TIME_PER_AU = 0.0057755183;
+
+  private static final double ARCSECONDS = Math.PI / (180.0 * 3600.0);
+
+  private final Accuracy accuracy;
+  private volatile InstantState lastState;
+
+  /**
+   * Create a service computing positions to full accuracy.
+   */
+  public PlanetaryPositionService() {
+    this(Accuracy.FULL);
+  }
+
+  /**
+   * Create a service computing the VSOP87 positions to the passed accuracy.
+   *
+   * @param accuracy The accuracy the heliocentric positions must have.
+   */
+  public PlanetaryPositionService(Accuracy accuracy) {
+    this.accuracy = accuracy;
+  }
+
+  /**
+   * Returns the apparent geocentric right ascension and declination of a body.
+   *
+   * @param body The body, any VSOP87 body but Earth.
+   * @param jd The instant (TT).
+   * @return The apparent right ascension, in [0, 360) degrees, and declination.
+   */
+  public RaDec getApparentPosition(VSOP87.Body body, JulianDate jd) {
+    return stateFor(jd.getJulianDayNumber()).apparentPosition(body);
+  }
+
+  /**
+   * Returns the apparent geocentric right ascension and declination of several bodies at one
+   * instant, computing Earth's position and the nutation only once.
+   *
+   * @param jd The instant (TT).
+   * @param bodies The bodies, any VSOP87 bodies but Earth.
+   * @return The apparent right ascension and declination of each body, in the order passed.
+   */
+  public RaDec[] getApparentPositions(JulianDate jd, VSOP87.Body... bodies) {
+    InstantState state = stateFor(jd.getJulianDayNumber());
+    RaDec[] positions = new RaDec[bodies.length];
+    for (int i = 0; i < bodies.length; i++) {
+      positions[i] = state.apparentPosition(bodies[i]);
+    }
+    return positions;
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private InstantState stateFor(double julianDayNumber) {
+    InstantState state = this.lastState;
+    if (state == null || state.julianDayNumber != julianDayNumber) {
+      state = new InstantState(julianDayNumber, this.accuracy);
+      this.lastState = state;
+    }
+    return state;
+  }
+
+  /**
+   * This class holds everything needed for apparent positions that depends only on the instant.
+   */
+  private static final class InstantState {
+
+    private final double julianDayNumber;
+    private final Accuracy accuracy;
+    private final double t;
+    private final double[] earth = new double[3];
+    private final EclipticPrecession precession;
+    private final double sunLongitude;
+    private final double eccentricity;
+    private final double perihelion;
+    private final double nutationInLongitude;
+    private final double trueObliquity;
+
+    InstantState(double julianDayNumber, Accuracy accuracy) {
+      this.julianDayNumber = julianDayNumber;
+      this.accuracy = accuracy;
+      this.t = (julianDayNumber - 2451545.0) / 36525.0;
+      heliocentric(VSOP87.Body.EARTH, julianDayNumber, this.earth);
+
+      this.precession = new EclipticPrecession(t);
+
+      // The true longitude of the Sun, for the aberration, is the precessed longitude of the Sun
+      // as seen from Earth.
+      double[] lonLat = new double[2];
+      double earthLongitude = Math.atan2(earth[1], earth[0]);
+      double earthLatitude = Math.atan2(earth[2], Math.hypot(earth[0], earth[1]));
+      precession.precess(earthLongitude + Math.PI, -earthLatitude, lonLat);
+      this.sunLongitude = lonLat[0];
+      this.eccentricity = 0.016708634 - 0.000042037 * t - 0.0000001267 * t * t;
+      this.perihelion = Math.toRadians(102.93735 + 1.71946 * t + 0.00046 * t * t);
+
+      Nutation nutation = NutationCalculatorFactory.DEFAULT
+          .getCalculator(new JulianDate(julianDayNumber)).getNutation();
+      this.nutationInLongitude = nutation.getNutationInLongitude() * ARCSECONDS;
+      this.trueObliquity = nutation.getTrueObliquityOfEcliptic();
+    }
+
+    RaDec apparentPosition(VSOP87.Body body) {
+      if (body == VSOP87.Body.EARTH) {
+        throw new IllegalArgumentException("Earth has no geocentric position");
+      }
+
+      // Geometric geocentric position, corrected for light time.
+      double[] planet = new double[3];
+      double x = 0.0;
+      double y = 0.0;
+      double z = 0.0;
+      double lightTime = 0.0;
+      for (int iteration = 0; iteration < 5; iteration++) {
+        heliocentric(body, julianDayNumber - lightTime, planet);
+        x = planet[0] - earth[0];
+        y = planet[1] - earth[1];
+        z = planet[2] - earth[2];
+        double newLightTime = LIGHT_TIME_PER_AU * Math.sqrt(x * x + y * y + z * z);
+        boolean converged = Math.abs(newLightTime - lightTime) < 1e-9;
+        lightTime = newLightTime;
+        if (converged || body == VSOP87.Body.SUN) {
+          break;
+        }
+      }
+      double[] lonLat = new double[2];
+      precession.precess(Math.atan2(y, x), Math.atan2(z, Math.hypot(x, y)), lonLat);
+      double lambda = lonLat[0];
+      double beta = lonLat[1];
+
+      // Annual aberration, Meeus 23.2.
+      double kappa = Utilities.getConstantOfAberration() * ARCSECONDS;
+      double deltaLambda = (-kappa * Math.cos(sunLongitude - lambda)
+          + eccentricity * kappa * Math.cos(perihelion - lambda)) / Math.cos(beta);
+      double deltaBeta = -kappa * Math.sin(beta) * (Math.sin(sunLongitude - lambda)
+          - eccentricity * Math.sin(perihelion - lambda));
+      lambda += deltaLambda + nutationInLongitude;
+      beta += deltaBeta;
+
+      RaDec raDec = Utilities.convertEclipticalToEquatorial(
+          Math.toDegrees(Utilities.reduceTo2pi(lambda)), Math.toDegrees(beta), trueObliquity);
+      RightAscension ra = raDec.getRightAscension();
+      ra.setDecimalDegrees(Utilities.reduceToRange360(ra.getDecimalDegrees()));
+      return raDec;
+    }
+
+    /**
+     * Computes the rectangular heliocentric position of a body from its VSOP87b series. The Sun
+     * is at the origin.
+     */
+    private void heliocentric(VSOP87.Body body, double jdn, double[] xyz) {
+      if (body == VSOP87.Body.SUN) {
+        xyz[0] = 0.0;
+        xyz[1] = 0.0;
+        xyz[2] = 0.0;
+        return;
+      }
+      double[] lbr = new double[3];
+      VSOP87.compute(body, VSOP87.Variant.B, accuracy, (jdn - 2451545.0) / 365250.0, lbr);
+      double rCosB = lbr[2] * Math.cos(lbr[1]);
+      xyz[0] = rCosB * Math.cos(lbr[0]);
+      xyz[1] = rCosB * Math.sin(lbr[0]);
+      xyz[2] = lbr[2] * Math.sin(lbr[1]);
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+/**
+ * This enumeration lists the ways a VSOPTermTable can sum its series of A * cos(B + C * t) terms.
+ *
+ * <p>SCALAR calls Math.cos for every term and is the reference. POLYNOMIAL computes the cosine
+ * itself: the angle is reduced to [-PI, PI] with a three part Cody-Waite reduction by 2 PI, and
+ * the cosine of the reduced angle is the Taylor polynomial of degree 28, evaluated with Horner's
+ * rule in r^2. That is a fixed sequence of multiplies and adds with no branches and no calls, so
+ * the JIT compiler can inline it into the series loop and keep several terms in flight at once,
+ * where Math.cos is an opaque call with its own range reduction branches. The truncation error of
+ * the polynomial is below 4e-18 on [-PI, PI] and its rounding error a few units in the last place,
+ * so a series sum agrees with SCALAR to well within 1e-12.</p>
+ *
+ * <p>The kernel used by default is SCALAR, or the one named by the system property
+ * {@value #KERNEL_PROPERTY}, for example -Durania.vsop87.kernel=POLYNOMIAL.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public enum SeriesKernel {
+
+  /** Sum the series with Math.cos. */
+  SCALAR {
+    @Override
+    double sum(double[] a, double[] b, double[] c, double t) {
+      double seriesVal = 0.0;
+      for (int i = 0; i < a.length; i++) {
+        seriesVal += a[i] * Math.cos(b[i] + c[i] * t);
+      }
+      return seriesVal;
+    }
+
+    @Override
+    void accumulate(double ai, double bi, double ci, double[] t, double[] out, int start,
+        int end) {
+      for (int k = start; k < end; k++) {
+        out[k] += ai * Math.cos(bi + ci * t[k]);
+      }
+    }
+
+    @Override
+    void sumWithDerivative(double[] a, double[] b, double[] c, double t, double[] out) {
+      double seriesVal = 0.0;
+      double seriesRate = 0.0;
+      for (int i = 0; i < a.length; i++) {
+        double angle = b[i] + c[i] * t;
+        seriesVal += a[i] * Math.cos(angle);
+        seriesRate -= a[i] * c[i] * Math.sin(angle);
+      }
+      out[0] = seriesVal;
+      out[1] = seriesRate;
+    }
+  },
+
+  /** Sum the series with a branch free polynomial cosine. */
+  POLYNOMIAL {
+    @Override
+    double sum(double[] a, double[] b, double[] c, double t) {
+      double seriesVal = 0.0;
+      for (int i = 0; i < a.length; i++) {
+        seriesVal += a[i] * cos(b[i] + c[i] * t);
+      }
+      return seriesVal;
+    }
+
+    @Override
+    void accumulate(double ai, double bi, double ci, double[] t, double[] out, int start,
+        int end) {
+      for (int k = start; k < end; k++) {
+        out[k] += ai * cos(bi + ci * t[k]);
+      }
+    }
+
+    @Override
+    void sumWithDerivative(double[] a, double[] b, double[] c, double t, double[] out) {
+      double seriesVal = 0.0;
+      double seriesRate = 0.0;
+      for (int i = 0; i < a.length; i++) {
+        double x = b[i] + c[i] * t;
+        double k = Math.rint(x * INVERSE_TWO_PI);
+        double r = ((x - k * TWO_PI_1) - k * TWO_PI_2) - k * TWO_PI_3;
+        double r2 = r * r;
+        seriesVal += a[i] * cosPolynomial(r2);
+        seriesRate -= a[i] * c[i] * (r * sinPolynomial(r2));
+      }
+      out[0] = seriesVal;
+      out[1] = seriesRate;
+    }
+  };
+
+  /** The system property that can name the kernel used by default. */
+  public static final String KERNEL_PROPERTY = "urania.vsop87.kernel";
+
+  // 2 PI split so that k * TWO_PI_1 and k * TWO_PI_2 are exact for |k| < 2^23.
+  private static final double TWO_PI_1 = 6.283185310661793;
+  private static final double TWO_PI_2 = -3.4822062768002926e-09;
+  private static final double TWO_PI_3 = -1.401373759235972e-18;
+  private static final double INVERSE_TWO_PI = 0.15915494309189535;
+
+  // (-1)^n / (2n)! for n = 1 to 14.
+  private static final double C1 = -0.5;
+  private static final double C2 = 0.041666666666666664;
+  private static final double C3 = -0.001388888888888889;
+  private static final double C4 = 2.48015873015873e-05;
+  private static final double C5 = -2.755731922398589e-07;
+  private static final double C6 = 2.08767569878681e-09;
+  private static final double C7 = -1.1470745597729725e-11;
+  private static final double C8 = 4.779477332387385e-14;
+  private static final double C9 = -1.5619206968586225e-16;
+  private static final double C10 = 4.110317623312165e-19;
+  private static final double C11 = -8.896791392450574e-22;
+  private static final double C12 = 1.6117375710961184e-24;
+  private static final double C13 = -2.4795962632247976e-27;
+  private static final double C14 = 3.279889237069838e-30;
+
+  // (-1)^n / (2n + 1)! for n = 1 to 13.
+  private static final double S1 = -0.16666666666666666;
+  private static final double S2 = 0.008333333333333333;
+  private static final double S3 = -0.0001984126984126984;
+  private static final double S4 = 2.7557319223985893e-06;
+  private static final double S5 = -2.505210838544172e-08;
+  private static final double S6 = 1.6059043836821613e-10;
+  private static final double S7 = -7.647163731819816e-13;
+  private static final double S8 = 2.8114572543455206e-15;
+  private static final double S9 = -8.22063524662433e-18;
+  private static final double S10 = 1.9572941063391263e-20;
+  private static final double S11 = -3.868170170630684e-23;
+  private static final double S12 = 6.446950284384474e-26;
+  private static final double S13 = -9.183689863795546e-29;
+
+  /**
+   * Returns the kernel named by the {@value #KERNEL_PROPERTY} system property, or SCALAR if it is
+   * not set or names no kernel.
+   *
+   * @return The kernel to use by default.
+   */
+  public static SeriesKernel getDefault() {
+    return Default.KERNEL;
+  }
+
+  /**
+   * Returns the cosine of the passed angle as computed by the POLYNOMIAL kernel. The angle must be
+   * less than about 5e7 radians in size, which covers every VSOP87 argument over the span of the
+   * theory.
+   *
+   * @param x The angle in radians.
+   * @return The cosine of the angle.
+   */
+  public static double cos(double x) {
+    double k = Math.rint(x * INVERSE_TWO_PI);
+    double r = ((x - k * TWO_PI_1) - k * TWO_PI_2) - k * TWO_PI_3;
+    return cosPolynomial(r * r);
+  }
+
+  /**
+   * Returns the sine of the passed angle as computed by the POLYNOMIAL kernel: the same reduction
+   * as cos(), followed by the Taylor polynomial of degree 27.
+   *
+   * @param x The angle in radians.
+   * @return The sine of the angle.
+   */
+  public static double sin(double x) {
+    double k = Math.rint(x * INVERSE_TWO_PI);
+    double r = ((x - k * TWO_PI_1) - k * TWO_PI_2) - k * TWO_PI_3;
+    return r * sinPolynomial(r * r);
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the sum of a[i] * cos(b[i] + c[i] * t) over all of the terms.
+   */
+  abstract double sum(double[] a, double[] b, double[] c, double t);
+
+  /**
+   * Adds ai * cos(bi + ci * t[k]) to out[k] for k from start up to, but not including, end.
+   */
+  abstract void accumulate(double ai, double bi, double ci, double[] t, double[] out, int start,
+      int end);
+
+  /**
+   * Stores the sum of a[i] * cos(b[i] + c[i] * t) in out[0] and its derivative with respect to t,
+   * the sum of -a[i] * c[i] * sin(b[i] + c[i] * t), in out[1]. The angle of each term is computed
+   * once for both, and out[0] is identical to sum().
+   */
+  abstract void sumWithDerivative(double[] a, double[] b, double[] c, double t, double[] out);
+
+  private static double cosPolynomial(double r2) {
+    return 1.0 + r2 * (C1 + r2 * (C2 + r2 * (C3 + r2 * (C4 + r2 * (C5 + r2 * (C6 + r2 * (C7
+        + r2 * (C8 + r2 * (C9 + r2 * (C10 + r2 * (C11 + r2 * (C12 + r2 * (C13
+        + r2 * C14)))))))))))));
+  }
+
+  private static double sinPolynomial(double r2) {
+    return 1.0 + r2 * (S1 + r2 * (S2 + r2 * (S3 + r2 * (S4 + r2 * (S5 + r2 * (S6 + r2 * (S7
+        + r2 * (S8 + r2 * (S9 + r2 * (S10 + r2 * (S11 + r2 * (S12 + r2 * S13))))))))))));
+  }
+
+  private static final class Default {
+
+    private static final SeriesKernel KERNEL = lookup();
+
+    private static SeriesKernel lookup() {
+      String name = System.getProperty(KERNEL_PROPERTY);
+      if (name != null) {
+        for (SeriesKernel kernel : values()) {
+          if (kernel.name().equalsIgnoreCase(name.trim())) {
+            return kernel;
+          }
+        }
+      }
+      return SCALAR;
+    }
+  }
+}
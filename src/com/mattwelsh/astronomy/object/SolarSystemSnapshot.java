@@ -0,0 +1,228 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class holds the positions of every VSOP87 body at one instant, computed in one pass. The
+ * time argument is computed once, each body is computed once with its VSOP87a series as a
+ * separate task so the bodies are spread over the cores of the pool, and Earth's position is then
+ * used for the geocentric positions of all of them.
+ *
+ * <p>Positions are rectangular, referred to the ecliptic and equinox J2000, in AU. The position of
+ * a planet is heliocentric. The series of the Sun give its position relative to the barycentre of
+ * the solar system, so that is what getPosition() returns for the Sun; its geocentric position is
+ * minus Earth's heliocentric position. Geocentric positions are geometric: neither light time nor
+ * aberration are applied. The geocentric longitude, latitude, and distance of Earth itself are
+ * zero.</p>
+ *
+ * <p>A snapshot is immutable and holds nothing but primitive arrays, so it can be handed to other
+ * threads, such as a rendering thread, without copying.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SolarSystemSnapshot {
+
+  private static final VSOP87.Body[] BODIES = VSOP87.Body.values();
+
+  private final double julianDayNumber;
+  private final Accuracy accuracy;
+  private final double[] positions;
+  private final double[] geocentric;
+  private final double[] longitudes;
+  private final double[] latitudes;
+  private final double[] distances;
+
+  private SolarSystemSnapshot(double julianDayNumber, Accuracy accuracy, double[] positions) {
+    this.julianDayNumber = julianDayNumber;
+    this.accuracy = accuracy;
+    this.positions = positions;
+    this.geocentric = new double[positions.length];
+    this.longitudes = new double[BODIES.length];
+    this.latitudes = new double[BODIES.length];
+    this.distances = new double[BODIES.length];
+
+    int earth = 3 * VSOP87.Body.EARTH.ordinal();
+    for (VSOP87.Body body : BODIES) {
+      int i = 3 * body.ordinal();
+      for (int axis = 0; axis < 3; axis++) {
+        double heliocentric = body == VSOP87.Body.SUN ? 0.0 : positions[i + axis];
+        geocentric[i + axis] = heliocentric - positions[earth + axis];
+      }
+      double x = geocentric[i];
+      double y = geocentric[i + 1];
+      double z = geocentric[i + 2];
+      double distance = Math.sqrt(x * x + y * y + z * z);
+      distances[body.ordinal()] = distance;
+      if (distance > 0.0) {
+        double longitude = Math.atan2(y, x);
+        longitudes[body.ordinal()] = longitude < 0.0 ? longitude + 2.0 * Math.PI : longitude;
+        latitudes[body.ordinal()] = Math.asin(z / distance);
+      }
+    }
+  }
+
+  /**
+   * Computes the positions of every body at the passed instant to full accuracy, spreading the
+   * bodies over the common ForkJoinPool.
+   *
+   * @param jd The instant (TT) to compute the positions for.
+   * @return The snapshot of the positions.
+   */
+  public static SolarSystemSnapshot at(JulianDate jd) {
+    return at(jd, Accuracy.FULL, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the positions of every body at the passed instant to the passed accuracy, spreading
+   * the bodies over the common ForkJoinPool.
+   *
+   * @param jd The instant (TT) to compute the positions for.
+   * @param accuracy The accuracy the positions must have.
+   * @return The snapshot of the positions.
+   */
+  public static SolarSystemSnapshot at(JulianDate jd, Accuracy accuracy) {
+    return at(jd, accuracy, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the positions of every body at the passed instant to the passed accuracy, spreading
+   * the bodies over the passed pool. The results do not depend on the pool.
+   *
+   * @param jd The instant (TT) to compute the positions for.
+   * @param accuracy The accuracy the positions must have.
+   * @param pool The pool to compute the bodies in.
+   * @return The snapshot of the positions.
+   */
+  public static SolarSystemSnapshot at(JulianDate jd, Accuracy accuracy, ForkJoinPool pool) {
+    double julianDayNumber = jd.getJulianDayNumber();
+    double t = (julianDayNumber - 2451545.0) / 365250.0;
+    double[] positions = new double[3 * BODIES.length];
+    pool.invoke(new BodyTask(t, accuracy, positions, 0, BODIES.length));
+    return new SolarSystemSnapshot(julianDayNumber, accuracy, positions);
+  }
+
+  /**
+   * Returns the julian day number (TT) of this snapshot.
+   *
+   * @return The julian day number of this snapshot.
+   */
+  public double getJulianDayNumber() {
+    return this.julianDayNumber;
+  }
+
+  /**
+   * Returns the accuracy the positions of this snapshot were computed to.
+   *
+   * @return The accuracy of the positions.
+   */
+  public Accuracy getAccuracy() {
+    return this.accuracy;
+  }
+
+  /**
+   * Copies the position given by the series of a body into the passed array: heliocentric for a
+   * planet, barycentric for the Sun.
+   *
+   * @param body The body.
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  public void getPosition(VSOP87.Body body, double[] xyz) {
+    System.arraycopy(this.positions, 3 * body.ordinal(), xyz, 0, 3);
+  }
+
+  /**
+   * Copies the geometric geocentric position of a body into the passed array.
+   *
+   * @param body The body.
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  public void getGeocentricPosition(VSOP87.Body body, double[] xyz) {
+    System.arraycopy(this.geocentric, 3 * body.ordinal(), xyz, 0, 3);
+  }
+
+  /**
+   * Returns the geometric geocentric ecliptic longitude of a body, in radians in [0, 2PI).
+   *
+   * @param body The body.
+   * @return The geocentric longitude.
+   */
+  public double getGeocentricLongitude(VSOP87.Body body) {
+    return this.longitudes[body.ordinal()];
+  }
+
+  /**
+   * Returns the geometric geocentric ecliptic latitude of a body, in radians.
+   *
+   * @param body The body.
+   * @return The geocentric latitude.
+   */
+  public double getGeocentricLatitude(VSOP87.Body body) {
+    return this.latitudes[body.ordinal()];
+  }
+
+  /**
+   * Returns the geometric distance of a body from Earth, in AU.
+   *
+   * @param body The body.
+   * @return The geocentric distance.
+   */
+  public double getGeocentricDistance(VSOP87.Body body) {
+    return this.distances[body.ordinal()];
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * This task computes a range of bodies, splitting the range in two until it holds a single one.
+   */
+  private static final class BodyTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double t;
+    private final Accuracy accuracy;
+    private final double[] positions;
+    private final int from;
+    private final int to;
+
+    BodyTask(double t, Accuracy accuracy, double[] positions, int from, int to) {
+      this.t = t;
+      this.accuracy = accuracy;
+      this.positions = positions;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        double[] xyz = new double[3];
+        VSOP87.compute(BODIES[from], VSOP87.Variant.A, accuracy, t, xyz);
+        System.arraycopy(xyz, 0, positions, 3 * from, 3);
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new BodyTask(t, accuracy, positions, from, middle),
+            new BodyTask(t, accuracy, positions, middle, to));
+      }
+    }
+  }
+}
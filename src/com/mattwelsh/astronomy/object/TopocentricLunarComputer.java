@@ -0,0 +1,219 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.Declination;
+import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.coordinates.RightAscension;
+import com.mattwelsh.astronomy.observer.Site;
+import com.mattwelsh.astronomy.time.DeltaTCalculator;
+import com.mattwelsh.astronomy.time.DynamicalTime;
+import com.mattwelsh.astronomy.time.GreenwichSiderealTime;
+import com.mattwelsh.astronomy.time.JulianDate;
+import com.mattwelsh.astronomy.utilities.Utilities;
+
+/**
+ * This class corrects the geocentric right ascension and declination of the moon for the
+ * parallax of one or more sites, with the rigorous formulas 40.2 and 40.3 of Astronomical
+ * Algorithms by Jean Meeus. The correction reaches about a degree when the moon is on the
+ * horizon.
+ *
+ * <p>The hour angle is taken from the apparent sidereal time at Greenwich, at the UT of the
+ * instant of the moon, plus the longitude of the site, positive east. Everything about a site
+ * that doesn't change, rho sin phi', rho cos phi', and the sine and cosine of the longitude, is
+ * computed once when the computer is created, and the sine and cosine of the hour angle of each
+ * site are found from those of Greenwich with the addition formulas, so correcting one instant
+ * for many sites costs no trigonometry per site beyond two arc tangents. An instance holds no
+ * mutable state and can be shared between threads.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class TopocentricLunarComputer {
+
+  private static final double EARTH_RADIUS = 6378.14;
+
+  private final DeltaTCalculator deltaT;
+  private final Site[] sites;
+  private final double[] rhoSinPhiPrime;
+  private final double[] rhoCosPhiPrime;
+  private final double[] sinLongitude;
+  private final double[] cosLongitude;
+
+  /**
+   * Create a computer for the passed sites, using the default delta T.
+   *
+   * @param sites The sites.
+   */
+  public TopocentricLunarComputer(Site... sites) {
+    this(DynamicalTime.DEFAULT.getCalculator(), sites);
+  }
+
+  /**
+   * Create a computer for the passed sites.
+   *
+   * @param deltaT The calculator of the difference between TD and UT.
+   * @param sites The sites.
+   */
+  public TopocentricLunarComputer(DeltaTCalculator deltaT, Site... sites) {
+    this.deltaT = deltaT;
+    this.sites = sites.clone();
+    this.rhoSinPhiPrime = new double[sites.length];
+    this.rhoCosPhiPrime = new double[sites.length];
+    this.sinLongitude = new double[sites.length];
+    this.cosLongitude = new double[sites.length];
+    for (int s = 0; s < sites.length; s++) {
+      this.rhoSinPhiPrime[s] = sites[s].getRhoSinPhiPrime();
+      this.rhoCosPhiPrime[s] = sites[s].getRhoCosPhiPrime();
+      this.sinLongitude[s] = Math.sin(Math.toRadians(sites[s].getLongitude()));
+      this.cosLongitude[s] = Math.cos(Math.toRadians(sites[s].getLongitude()));
+    }
+  }
+
+  /**
+   * Returns the number of sites.
+   *
+   * @return The number of sites.
+   */
+  public int getSiteCount() {
+    return this.sites.length;
+  }
+
+  /**
+   * Returns one of the sites.
+   *
+   * @param site The index of the site, in the order passed when the computer was created.
+   * @return The site.
+   */
+  public Site getSite(int site) {
+    return this.sites[site];
+  }
+
+  /**
+   * Returns the topocentric right ascension and declination of the moon for one site.
+   *
+   * @param site The index of the site.
+   * @param moon The geocentric circumstances of the moon.
+   * @return The topocentric right ascension and declination, as a new coordinate pair.
+   */
+  public RaDec getRaDec(int site, LunarState moon) {
+    double[] raDec = new double[2];
+    double hourAngle = greenwichHourAngle(moon.getJulianDayNumber(), moon.getRightAscension(),
+        moon.getApparentLongitude() - moon.getLongitude()) + this.sites[site].getLongitude();
+    correct(moon.getRightAscension(), moon.getDeclination(),
+        EARTH_RADIUS / moon.getDistance(), hourAngle, this.rhoSinPhiPrime[site],
+        this.rhoCosPhiPrime[site], raDec);
+    return new RaDec(new RightAscension(raDec[0]), new Declination(raDec[1]));
+  }
+
+  /**
+   * Computes the topocentric right ascension and declination of the moon at one instant for
+   * every site.
+   *
+   * @param moon The geocentric circumstances of the moon.
+   * @param rightAscensions An array of at least getSiteCount() elements that receives the
+   *     topocentric right ascensions, in degrees in [0, 360), of the sites in order.
+   * @param declinations An array of at least getSiteCount() elements that receives the
+   *     topocentric declinations, in degrees.
+   */
+  public void computeSites(LunarState moon, double[] rightAscensions, double[] declinations) {
+    double alpha = moon.getRightAscension();
+    double delta = Math.toRadians(moon.getDeclination());
+    double sinParallax = EARTH_RADIUS / moon.getDistance();
+    double sinDelta = Math.sin(delta);
+    double cosDelta = Math.cos(delta);
+    double hourAngle = Math.toRadians(greenwichHourAngle(moon.getJulianDayNumber(), alpha,
+        moon.getApparentLongitude() - moon.getLongitude()));
+    double sinGreenwich = Math.sin(hourAngle);
+    double cosGreenwich = Math.cos(hourAngle);
+
+    for (int s = 0; s < this.sites.length; s++) {
+      double sinH = sinGreenwich * this.cosLongitude[s] + cosGreenwich * this.sinLongitude[s];
+      double cosH = cosGreenwich * this.cosLongitude[s] - sinGreenwich * this.sinLongitude[s];
+      double y = -this.rhoCosPhiPrime[s] * sinParallax * sinH;
+      double x = cosDelta - this.rhoCosPhiPrime[s] * sinParallax * cosH;
+      double cosDeltaAlpha = x / Math.hypot(x, y);
+      rightAscensions[s] = Utilities.reduceToRange360(alpha + Math.toDegrees(Math.atan2(y, x)));
+      declinations[s] = Math.toDegrees(Math.atan2(
+          (sinDelta - this.rhoSinPhiPrime[s] * sinParallax) * cosDeltaAlpha, x));
+    }
+  }
+
+  /**
+   * Computes the topocentric right ascension and declination of the moon for one site at every
+   * instant of an ephemeris.
+   *
+   * @param site The index of the site.
+   * @param moon The geocentric ephemeris of the moon.
+   * @param rightAscensions An array of at least moon.size() elements that receives the
+   *     topocentric right ascensions, in degrees in [0, 360), of the instants in order.
+   * @param declinations An array of at least moon.size() elements that receives the topocentric
+   *     declinations, in degrees.
+   */
+  public void computeInstants(int site, LunarEphemeris moon, double[] rightAscensions,
+      double[] declinations) {
+    double[] julianDays = moon.getJulianDays();
+    double[] ra = moon.getRightAscensions();
+    double[] dec = moon.getDeclinations();
+    double[] distances = moon.getDistances();
+    double[] apparentLongitudes = moon.getApparentLongitudes();
+    double[] longitudes = moon.getLongitudes();
+    double longitude = this.sites[site].getLongitude();
+    double[] raDec = new double[2];
+    for (int i = 0; i < julianDays.length; i++) {
+      double hourAngle = greenwichHourAngle(julianDays[i], ra[i],
+          apparentLongitudes[i] - longitudes[i]) + longitude;
+      correct(ra[i], dec[i], EARTH_RADIUS / distances[i], hourAngle, this.rhoSinPhiPrime[site],
+          this.rhoCosPhiPrime[site], raDec);
+      rightAscensions[i] = raDec[0];
+      declinations[i] = raDec[1];
+    }
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the hour angle at Greenwich, in degrees, of a body at the passed apparent right
+   * ascension at the passed julian day number (TT). The nutation in longitude turns the mean
+   * sidereal time into the apparent one.
+   */
+  private double greenwichHourAngle(double julianDayNumber, double rightAscension,
+      double nutationInLongitude) {
+    double universalTime = julianDayNumber
+        - this.deltaT.getDeltaT(new JulianDate(julianDayNumber)) / 86400.0;
+    double t = (julianDayNumber - 2451545.0) / 36525.0;
+    double obliquity = Math.toRadians(23.4392911 - 0.0130042 * t);
+    double siderealTime = GreenwichSiderealTime.computeMeanSiderealTime(universalTime)
+        + nutationInLongitude * Math.cos(obliquity);
+    return siderealTime - rightAscension;
+  }
+
+  /**
+   * Applies formulas 40.2 and 40.3. Angles are in degrees, and the topocentric right ascension
+   * and declination are written to raDec.
+   */
+  static void correct(double rightAscension, double declination, double sinParallax,
+      double hourAngle, double rhoSinPhiPrime, double rhoCosPhiPrime, double[] raDec) {
+    double h = Math.toRadians(hourAngle);
+    double delta = Math.toRadians(declination);
+    double x = Math.cos(delta) - rhoCosPhiPrime * sinParallax * Math.cos(h);
+    double deltaAlpha = Math.atan2(-rhoCosPhiPrime * sinParallax * Math.sin(h), x);
+    raDec[0] = Utilities.reduceToRange360(rightAscension + Math.toDegrees(deltaAlpha));
+    raDec[1] = Math.toDegrees(Math.atan2(
+        (Math.sin(delta) - rhoSinPhiPrime * sinParallax) * Math.cos(deltaAlpha), x));
+  }
+}
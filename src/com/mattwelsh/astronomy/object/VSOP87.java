@@ -0,0 +1,582 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class is the single engine behind every VSOP87 computer and data reader. A body and a
+ * variant of the theory select a directory of data files, and the three coordinates of the body
+ * are summed from the six series of each coordinate found there. The series are shared
+ * VSOPTermTable instances, so whichever body is asked for, the work is done by the same few
+ * methods and the same loop over the terms.
+ *
+ * <p>Only the variants whose data files are shipped with the library are listed: A, rectangular
+ * heliocentric coordinates referred to the ecliptic and equinox J2000, and B, spherical
+ * heliocentric coordinates referred to the same frame. The C, D, and E variants of Bretagnon &
+ * Francou use the same file layout, so supporting them needs no more than their data files and a
+ * Variant for each.</p>
+ *
+ * <p>All of the methods are static and the class holds no state besides the shared tables, so it
+ * can be used by any number of threads at the same time. Time is measured in julian millennia from
+ * J2000, t = (JD - 2451545.0) / 365250.0.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class VSOP87 {
+
+  /**
+   * This enumeration lists the variants of VSOP87 the engine can compute.
+   */
+  public enum Variant {
+
+    /** Heliocentric X, Y, and Z in AU, ecliptic and equinox J2000. */
+    A("VSOP87a", new String[] {"x", "y", "z"}, new boolean[] {false, false, false}),
+
+    /** Heliocentric longitude and latitude in radians and radius vector in AU, equinox J2000. */
+    B("VSOP87b", new String[] {"longitude", "latitude", "radius"},
+        new boolean[] {true, true, false});
+
+    private final String packageName;
+    private final String[] prefixes;
+    private final boolean[] angular;
+
+    Variant(String packageName, String[] prefixes, boolean[] angular) {
+      this.packageName = packageName;
+      this.prefixes = prefixes;
+      this.angular = angular;
+    }
+
+    /**
+     * Returns true if the coordinates of this variant are spherical, false if rectangular.
+     *
+     * @return True for spherical coordinates.
+     */
+    public boolean isSpherical() {
+      return this.angular[0];
+    }
+
+    /**
+     * Returns true if the passed coordinate of this variant is an angle, false if a distance.
+     *
+     * @param coordinate The index of the coordinate, 0 to 2.
+     * @return True if the coordinate is an angle.
+     */
+    public boolean isAngular(int coordinate) {
+      return this.angular[coordinate];
+    }
+  }
+
+  /**
+   * This enumeration lists the bodies the engine has data files for.
+   */
+  public enum Body {
+    MERCURY(Variant.A, Variant.B),
+    VENUS(Variant.A, Variant.B),
+    EARTH(Variant.A, Variant.B),
+    MARS(Variant.A, Variant.B),
+    JUPITER(Variant.A, Variant.B),
+    SATURN(Variant.A, Variant.B),
+    URANUS(Variant.A, Variant.B),
+    NEPTUNE(Variant.A, Variant.B),
+    SUN(Variant.A);
+
+    private final Set<Variant> variants;
+
+    Body(Variant first, Variant... rest) {
+      this.variants = EnumSet.of(first, rest);
+    }
+
+    /**
+     * Returns true if the engine can compute this body in the passed variant.
+     *
+     * @param variant The variant of the theory.
+     * @return True if the data files of the variant are available for this body.
+     */
+    public boolean hasVariant(Variant variant) {
+      return this.variants.contains(variant);
+    }
+  }
+
+  private static final String ROOT = VSOP87.class.getPackage().getName().replace('.', '/');
+
+  /** The eighteen tables of each body and variant, six per coordinate, found once. */
+  private static final AtomicReferenceArray<VSOPTermTable[]> TABLES =
+      new AtomicReferenceArray<>(Body.values().length * Variant.values().length);
+
+  /** The tables of each data reader class, by the prefix of the coordinate. */
+  private static final ClassValue<Map<String, VSOPTermTable[]>> READER_TABLES =
+      new ClassValue<Map<String, VSOPTermTable[]>>() {
+        @Override
+        protected Map<String, VSOPTermTable[]> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private VSOP87() {
+  }
+
+  /**
+   * Computes the three coordinates of a body for one time. The longitude of variant B is not
+   * reduced to [0, 2PI).
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param t The time in julian millennia from J2000.0.
+   * @param out An array of at least three elements that receives the coordinates.
+   */
+  public static void compute(Body body, Variant variant, Accuracy accuracy, double t,
+      double[] out) {
+    VSOPTermTable[] tables = tables(body, variant);
+    for (int i = 0; i < 3; i++) {
+      out[i] = computeCoordinate(tables, 6 * i, variant.angular[i], accuracy, t);
+    }
+  }
+
+  /**
+   * Computes one coordinate of a body for one time, summing only the six series of that
+   * coordinate. The result is identical to the same element of compute().
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the coordinate must have.
+   * @param t The time in julian millennia from J2000.0.
+   * @param coordinate The index of the coordinate, 0 to 2.
+   * @return The coordinate, in radians for an angle or in AU for a distance.
+   */
+  public static double compute(Body body, Variant variant, Accuracy accuracy, double t,
+      int coordinate) {
+    return computeCoordinate(tables(body, variant), 6 * coordinate, variant.angular[coordinate],
+        accuracy, t);
+  }
+
+  /**
+   * Computes the three coordinates of a body and their rates of change for one time. The rate of
+   * each series is summed in the same pass over its terms as its value, and the rate of the
+   * coordinate follows from the chain rule, x' = sum of (xn' * t^n + n * xn * t^(n - 1)), so the
+   * whole state costs little more than the position alone and needs no finite differences. The
+   * coordinates are identical to those of compute().
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param t The time in julian millennia from J2000.0.
+   * @param position An array of at least three elements that receives the coordinates.
+   * @param velocity An array of at least three elements that receives the rates of change of the
+   *     coordinates per day, in radians per day for an angle and AU per day for a distance.
+   */
+  public static void computeState(Body body, Variant variant, Accuracy accuracy, double t,
+      double[] position, double[] velocity) {
+    VSOPTermTable[] tables = tables(body, variant);
+    double[] state = new double[2];
+    for (int i = 0; i < 3; i++) {
+      computeCoordinateState(tables, 6 * i, variant.angular[i], accuracy, t, state);
+      position[i] = state[0];
+      velocity[i] = state[1] / 365250.0;
+    }
+  }
+
+  /**
+   * Computes the three coordinates of a body for one time, evaluating its eighteen series (six for
+   * each coordinate) as parallel tasks in the passed pool. This is meant for interactive use,
+   * where one request is one body at one instant and latency matters more than throughput.
+   *
+   * <p>Each task sums one complete series, and the series are then combined into the coordinates
+   * by the calling thread in the same order as compute() combines them, so the results are
+   * identical to those of compute() bit for bit whatever the parallelism of the pool.</p>
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param t The time in julian millennia from J2000.0.
+   * @param out An array of at least three elements that receives the coordinates.
+   * @param pool The pool to evaluate the series in.
+   */
+  public static void compute(Body body, Variant variant, Accuracy accuracy, double t,
+      double[] out, ForkJoinPool pool) {
+    VSOPTermTable[] all = tables(body, variant);
+    double span = truncationSpan(t);
+    VSOPTermTable[] tables = new VSOPTermTable[18];
+    for (int i = 0; i < 3; i++) {
+      for (int power = 0; power <= 5; power++) {
+        tables[6 * i + power] = seriesTable(all, 6 * i, power, variant.angular[i], accuracy,
+            span);
+      }
+    }
+    double[] sums = new double[tables.length];
+    pool.invoke(new SeriesTask(tables, t, sums, 0, tables.length));
+
+    double t2 = t * t;
+    double t3 = t2 * t;
+    double t4 = t3 * t;
+    double t5 = t4 * t;
+    double[] powers = {1.0, t, t2, t3, t4, t5};
+    for (int i = 0; i < 3; i++) {
+      double value = 0.0;
+      for (int power = 0; power < powers.length; power++) {
+        value += sums[6 * i + power] * powers[power];
+      }
+      out[i] = value;
+    }
+  }
+
+  /**
+   * Returns a strict bound on the difference between a coordinate computed at the passed accuracy
+   * and the one the complete series would give, in radians for an angle or in AU for a distance.
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy of the coordinate.
+   * @param t The time in julian millennia from J2000.0.
+   * @param coordinate The index of the coordinate, 0 to 2.
+   * @return The bound on the truncation error, zero at full accuracy.
+   */
+  public static double computeErrorBound(Body body, Variant variant, Accuracy accuracy, double t,
+      int coordinate) {
+    return computeErrorBound(tables(body, variant), 6 * coordinate, variant.angular[coordinate],
+        accuracy, t);
+  }
+
+  /**
+   * Computes the three coordinates of a body for many julian day numbers in one pass over the
+   * series. At full accuracy the results are identical to those of compute() for each date. Any
+   * of the output arrays may be null, and the series of that coordinate are then not summed at
+   * all.
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param julianDays The julian day numbers (TT) to compute the coordinates for.
+   * @param out0 An array of at least julianDays.length elements for the first coordinate.
+   * @param out1 An array of at least julianDays.length elements for the second coordinate.
+   * @param out2 An array of at least julianDays.length elements for the third coordinate.
+   */
+  public static void compute(Body body, Variant variant, Accuracy accuracy, double[] julianDays,
+      double[] out0, double[] out1, double[] out2) {
+    VSOPTermTable[] tables = tables(body, variant);
+    double[] t = toMillennia(julianDays);
+    double[][] out = {out0, out1, out2};
+    for (int i = 0; i < 3; i++) {
+      if (out[i] == null) {
+        continue;
+      }
+      computeCoordinates(tables, 6 * i, variant.angular[i], accuracy, t, out[i]);
+    }
+  }
+
+  /**
+   * Computes the three coordinates of a body at evenly spaced julian day numbers, stepping the
+   * terms of the series with the recurrence of VSOPTermTable.evaluate(double, double, double[],
+   * int). Any of the output arrays may be null, and the series of that coordinate are then not
+   * summed at all.
+   *
+   * @param body The body to compute.
+   * @param variant The variant of the theory to use.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param startJulianDay The first julian day number (TT).
+   * @param stepDays The step between dates in days.
+   * @param count The number of dates.
+   * @param reseedInterval The number of steps between exact evaluations of the terms.
+   * @param out0 An array of at least count elements for the first coordinate.
+   * @param out1 An array of at least count elements for the second coordinate.
+   * @param out2 An array of at least count elements for the third coordinate.
+   */
+  public static void compute(Body body, Variant variant, Accuracy accuracy,
+      double startJulianDay, double stepDays, int count, int reseedInterval, double[] out0,
+      double[] out1, double[] out2) {
+    VSOPTermTable[] tables = tables(body, variant);
+    double t0 = (startJulianDay - 2451545.0) / 365250.0;
+    double h = stepDays / 365250.0;
+    double[][] out = {out0, out1, out2};
+    for (int i = 0; i < 3; i++) {
+      if (out[i] == null) {
+        continue;
+      }
+      computeCoordinates(tables, 6 * i, variant.angular[i], accuracy, t0, h, count,
+          reseedInterval, out[i]);
+    }
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Returns the resource directory holding the data files of a body in a variant.
+   */
+  static String directory(Body body, Variant variant) {
+    if (!body.hasVariant(variant)) {
+      throw new IllegalArgumentException("VSOP87" + variant + " has no series for " + body);
+    }
+    return ROOT + '/' + variant.packageName + '/' + body.name().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns the resource directory holding the data files read by a data reader class.
+   */
+  private static String directory(Class<?> readerClass) {
+    return readerClass.getPackage().getName().replace('.', '/');
+  }
+
+  /**
+   * Returns the eighteen tables of a body in a variant, six per coordinate in the order of
+   * Variant.prefixes. They are looked up the first time and then kept, so computing a body
+   * allocates nothing.
+   */
+  static VSOPTermTable[] tables(Body body, Variant variant) {
+    int index = body.ordinal() * Variant.values().length + variant.ordinal();
+    VSOPTermTable[] tables = TABLES.get(index);
+    if (tables == null) {
+      String directory = directory(body, variant);
+      tables = new VSOPTermTable[18];
+      for (int i = 0; i < 3; i++) {
+        System.arraycopy(tables(directory, variant.prefixes[i]), 0, tables, 6 * i, 6);
+      }
+      TABLES.set(index, tables);
+    }
+    return tables;
+  }
+
+  /**
+   * Returns the six tables of one coordinate read by a data reader class, named prefix0.data to
+   * prefix5.data. They are resolved the first time a class asks for a prefix and then kept, and
+   * for the readers of the library they are the tables of their body and variant, so a reader
+   * neither allocates nor builds resource names per call.
+   */
+  static VSOPTermTable[] tables(Class<?> readerClass, String prefix) {
+    Map<String, VSOPTermTable[]> byPrefix = READER_TABLES.get(readerClass);
+    VSOPTermTable[] tables = byPrefix.get(prefix);
+    if (tables == null) {
+      tables = resolve(directory(readerClass), prefix);
+      byPrefix.put(prefix, tables);
+    }
+    return tables;
+  }
+
+  /**
+   * Finds the six tables of a coordinate in a directory, taking them from the tables of the body
+   * and variant the directory belongs to when there is one.
+   */
+  private static VSOPTermTable[] resolve(String directory, String prefix) {
+    for (Variant variant : Variant.values()) {
+      int coordinate = Arrays.asList(variant.prefixes).indexOf(prefix);
+      if (coordinate < 0) {
+        continue;
+      }
+      for (Body body : Body.values()) {
+        if (body.hasVariant(variant) && directory(body, variant).equals(directory)) {
+          return Arrays.copyOfRange(tables(body, variant), 6 * coordinate, 6 * coordinate + 6);
+        }
+      }
+    }
+    return tables(directory, prefix);
+  }
+
+  /**
+   * Reads the six tables of one coordinate, named prefix0.data to prefix5.data.
+   */
+  private static VSOPTermTable[] tables(String directory, String prefix) {
+    VSOPTermTable[] tables = new VSOPTermTable[6];
+    for (int power = 0; power <= 5; power++) {
+      tables[power] = VSOPTermTable.forPath(directory + '/' + prefix + power + ".data");
+    }
+    return tables;
+  }
+
+  /**
+   * Computes one coordinate from the six series starting at tables[first].
+   */
+  static double computeCoordinate(VSOPTermTable[] tables, int first, boolean angular,
+      Accuracy accuracy, double t) {
+    double span = truncationSpan(t);
+    double value = 0.0;
+    double power = 1.0;
+    for (int n = 0; n <= 5; n++) {
+      value += seriesTable(tables, first, n, angular, accuracy, span).evaluate(t) * power;
+      power *= t;
+    }
+    return value;
+  }
+
+  /**
+   * Computes one coordinate like computeCoordinate(), storing it in out[0] and its derivative with
+   * respect to t, per julian millennium, in out[1].
+   */
+  static void computeCoordinateState(VSOPTermTable[] tables, int first, boolean angular,
+      Accuracy accuracy, double t, double[] out) {
+    double span = truncationSpan(t);
+    double[] series = new double[2];
+    double value = 0.0;
+    double rate = 0.0;
+    double previousPower = 0.0;
+    double power = 1.0;
+    for (int n = 0; n <= 5; n++) {
+      seriesTable(tables, first, n, angular, accuracy, span).evaluateWithDerivative(t, series);
+      value += series[0] * power;
+      rate += series[1] * power;
+      if (n > 0) {
+        rate += n * series[0] * previousPower;
+      }
+      previousPower = power;
+      power *= t;
+    }
+    out[0] = value;
+    out[1] = rate;
+  }
+
+  /**
+   * Returns the bound on the truncation error of computeCoordinate().
+   */
+  static double computeErrorBound(VSOPTermTable[] tables, int first, boolean angular,
+      Accuracy accuracy, double t) {
+    double span = truncationSpan(t);
+    double bound = 0.0;
+    for (int power = 0; power <= 5; power++) {
+      bound += seriesTable(tables, first, power, angular, accuracy, span).getTruncationError()
+          * Math.pow(span, power);
+    }
+    return bound;
+  }
+
+  /**
+   * Computes one coordinate for many times at once. Each of the six series is evaluated for all
+   * of the times before the next one is started. Below full accuracy the series are truncated for
+   * the time furthest from J2000, which meets the accuracy at every time.
+   */
+  static void computeCoordinates(VSOPTermTable[] tables, int first, boolean angular,
+      Accuracy accuracy, double[] t, double[] out) {
+    double maxT = 0.0;
+    for (double time : t) {
+      maxT = Math.max(maxT, Math.abs(time));
+    }
+    double span = truncationSpan(maxT);
+    double[] series = new double[t.length];
+    double[] power = new double[t.length];
+    Arrays.fill(power, 1.0);
+    Arrays.fill(out, 0, t.length, 0.0);
+    for (int n = 0; n <= 5; n++) {
+      seriesTable(tables, first, n, angular, accuracy, span).evaluate(t, series);
+      for (int k = 0; k < t.length; k++) {
+        out[k] += series[k] * power[k];
+        power[k] *= t[k];
+      }
+    }
+  }
+
+  /**
+   * Computes one coordinate at the evenly spaced times t0 + k * h for k from 0 to count - 1.
+   */
+  static void computeCoordinates(VSOPTermTable[] tables, int first, boolean angular,
+      Accuracy accuracy, double t0, double h, int count, int reseedInterval, double[] out) {
+    double span = truncationSpan(Math.max(Math.abs(t0), Math.abs(t0 + (count - 1) * h)));
+    double[] series = new double[count];
+    double[] power = new double[count];
+    double[] t = new double[count];
+    for (int k = 0; k < count; k++) {
+      t[k] = t0 + k * h;
+    }
+    Arrays.fill(power, 1.0);
+    Arrays.fill(out, 0, count, 0.0);
+    for (int n = 0; n <= 5; n++) {
+      seriesTable(tables, first, n, angular, accuracy, span).evaluate(t0, h, series,
+          reseedInterval);
+      for (int k = 0; k < count; k++) {
+        out[k] += series[k] * power[k];
+        power[k] *= t[k];
+      }
+    }
+  }
+
+  /**
+   * Converts julian day numbers to the times in julian millennia from J2000.0 the series use.
+   */
+  static double[] toMillennia(double[] julianDays) {
+    double[] t = new double[julianDays.length];
+    for (int k = 0; k < t.length; k++) {
+      t[k] = (julianDays[k] - 2451545.0) / 365250.0;
+    }
+    return t;
+  }
+
+  /**
+   * Returns the table for one series of a coordinate, truncated for the passed accuracy. The
+   * error allowed for the coordinate is split evenly over its six series, and the error of the
+   * series of power n is scaled by the span^n it is multiplied by.
+   */
+  private static VSOPTermTable seriesTable(VSOPTermTable[] tables, int first, int power,
+      boolean angular, Accuracy accuracy, double span) {
+    VSOPTermTable table = tables[first + power];
+    if (accuracy == Accuracy.FULL) {
+      return table;
+    }
+    double scale = 1.0;
+    if (!angular) {
+      scale = tables[first].getMaxAmplitude();
+    }
+    double maxError = accuracy.getPrecision() * scale / (6.0 * Math.pow(span, power));
+    return table.truncate(maxError);
+  }
+
+  /**
+   * This task sums a range of series, splitting the range in two until it holds a single series.
+   */
+  private static final class SeriesTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final VSOPTermTable[] tables;
+    private final double t;
+    private final double[] sums;
+    private final int from;
+    private final int to;
+
+    SeriesTask(VSOPTermTable[] tables, double t, double[] sums, int from, int to) {
+      this.tables = tables;
+      this.t = t;
+      this.sums = sums;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        sums[from] = tables[from].evaluate(t);
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new SeriesTask(tables, t, sums, from, middle),
+            new SeriesTask(tables, t, sums, middle, to));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of julian millennia the truncation is made for, |t| rounded up to a whole
+   * number of at least one so that dates in the same millennium share the same truncated tables.
+   */
+  private static double truncationSpan(double t) {
+    return Math.max(1.0, Math.ceil(Math.abs(t)));
+  }
+}
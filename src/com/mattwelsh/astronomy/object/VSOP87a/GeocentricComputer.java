@@ -0,0 +1,163 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object.VSOP87a;
+
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import com.mattwelsh.astronomy.time.JulianDate;
+
+/**
+ * This class computes the geometric geocentric rectangular (X, Y, Z) coordinates in AU of the
+ * VSOP87 bodies, referred to the ecliptic and equinox J2000, as the VSOP87a position of the body
+ * less that of Earth. Earth is computed once when the julian date is set, and reused for every
+ * body asked for until the date is set again.
+ *
+ * <p>The positions are written into arrays passed by the caller, and nothing is allocated once
+ * the series of the bodies have been loaded, so a computer can be kept and set to a new date on
+ * every frame of an animation or a real-time display. The geocentric position of the Sun is minus
+ * the heliocentric position of Earth, and that of Earth is zero. Neither light time nor
+ * aberration are applied.</p>
+ *
+ * <p>A computer holds the state of its date, so it must not be shared between threads without
+ * synchronization.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class GeocentricComputer {
+
+  private final Accuracy accuracy;
+  private final double[] earth = new double[3];
+  private double julianDayNumber;
+  private double t;
+
+  /**
+   * Initializes a computer using the passed JulianDate.
+   *
+   * @param jd The JulianDate to use to initialize this object.
+   */
+  public GeocentricComputer(JulianDate jd) {
+    this(jd, Accuracy.FULL);
+  }
+
+  /**
+   * Initializes a computer using the passed JulianDate, leaving out as many of the small terms of
+   * the series as the passed accuracy allows.
+   *
+   * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
+   */
+  public GeocentricComputer(JulianDate jd, Accuracy accuracy) {
+    this.accuracy = accuracy;
+    setJulianDate(jd);
+  }
+
+  /**
+   * Sets the julian date that the computer uses for calculations, and computes Earth's position
+   * for it.
+   *
+   * @param jd The julian date that the computer uses for calculations.
+   */
+  public void setJulianDate(JulianDate jd) {
+    setJulianDayNumber(jd.getJulianDayNumber());
+  }
+
+  /**
+   * Sets the julian day number that the computer uses for calculations, and computes Earth's
+   * position for it. Unlike setJulianDate() this needs no JulianDate to be created.
+   *
+   * @param julianDayNumber The julian day number (TT) that the computer uses for calculations.
+   */
+  public void setJulianDayNumber(double julianDayNumber) {
+    this.julianDayNumber = julianDayNumber;
+    this.t = (julianDayNumber - 2451545.0) / 365250.0;
+    VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.A, accuracy, t, earth);
+  }
+
+  /**
+   * Returns the julian day number (TT) the computer is set to.
+   *
+   * @return The julian day number the computer is set to.
+   */
+  public double getJulianDayNumber() {
+    return this.julianDayNumber;
+  }
+
+  /**
+   * Returns the accuracy this computer computes its coordinates to.
+   *
+   * @return The accuracy this computer computes its coordinates to.
+   */
+  public Accuracy getAccuracy() {
+    return this.accuracy;
+  }
+
+  /**
+   * Copies the heliocentric position of Earth at the julian date of this computer into the passed
+   * array.
+   *
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  public void getEarthPosition(double[] xyz) {
+    System.arraycopy(this.earth, 0, xyz, 0, 3);
+  }
+
+  /**
+   * Computes the geocentric position of a body at the julian date of this computer.
+   *
+   * @param body The body.
+   * @param xyz An array of at least three elements that receives X, Y, and Z in AU.
+   */
+  public void computePosition(VSOP87.Body body, double[] xyz) {
+    computePosition(body, xyz, 0);
+  }
+
+  /**
+   * Computes the geocentric positions of several bodies at the julian date of this computer,
+   * packed one after another into the passed array.
+   *
+   * @param bodies The bodies.
+   * @param xyz An array of at least 3 * bodies.length elements that receives X, Y, and Z in AU of
+   *     each body, in the order passed.
+   */
+  public void computePositions(VSOP87.Body[] bodies, double[] xyz) {
+    for (int i = 0; i < bodies.length; i++) {
+      computePosition(bodies[i], xyz, 3 * i);
+    }
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private void computePosition(VSOP87.Body body, double[] xyz, int offset) {
+    switch (body) {
+      case EARTH:
+        xyz[offset] = 0.0;
+        xyz[offset + 1] = 0.0;
+        xyz[offset + 2] = 0.0;
+        return;
+      case SUN:
+        xyz[offset] = -earth[0];
+        xyz[offset + 1] = -earth[1];
+        xyz[offset + 2] = -earth[2];
+        return;
+      default:
+        for (int i = 0; i < 3; i++) {
+          xyz[offset + i] = VSOP87.compute(body, VSOP87.Variant.A, accuracy, t, i) - earth[i];
+        }
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object.VSOP87a;
+
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import com.mattwelsh.astronomy.object.VSOPTermTable;
+import com.mattwelsh.astronomy.time.JulianDate;
+
+/**
+ * This class is the base of the VSOP87a computers. It computes the rectangular (X, Y, Z)
+ * coordinates in AU of one body with the VSOP87 engine; the subclasses only name the body.
+ *
+ * <p>Each coordinate is only computed the first time it is asked for after the julian date is
+ * set, so a computer used for one coordinate sums its six series and none of the other
+ * twelve.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public abstract class RectangularComputer {
+
+  protected final VSOP87.Body body;
+  protected final Accuracy accuracy;
+  protected JulianDate julianDate;
+  protected double rectX;
+  protected double rectY;
+  protected double rectZ;
+  private boolean xComputed;
+  private boolean yComputed;
+  private boolean zComputed;
+  protected double t;
+
+  /**
+   * Initializes a computer for the passed body using the passed JulianDate, leaving out as many
+   * of the small terms of the series as the passed accuracy allows.
+   *
+   * @param body The body to compute.
+   * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
+   */
+  protected RectangularComputer(VSOP87.Body body, JulianDate jd, Accuracy accuracy) {
+    this.body = body;
+    this.accuracy = accuracy;
+    setJulianDate(jd);
+  }
+
+  /**
+   * Sets the julian date that the computer uses for calculations. Calling this method will cause
+   * each of its fields to be recalculated the next time it is asked for.
+   *
+   * @param jd The julian date that the computer uses for calculations.
+   */
+  public void setJulianDate(JulianDate jd) {
+    this.julianDate = jd;
+    updateFields();
+  }
+
+  /**
+   * Returns the value of the X coordinate of the body's position in AU.
+   *
+   * @return The value of the X coordinate of the body's position in AU.
+   */
+  public double getRectX() {
+    if (!this.xComputed) {
+      this.rectX = VSOP87.compute(body, VSOP87.Variant.A, accuracy, t, 0);
+      this.xComputed = true;
+    }
+    return this.rectX;
+  }
+
+  /**
+   * Returns the value of the Y coordinate of the body's position in AU.
+   *
+   * @return The value of the Y coordinate of the body's position in AU.
+   */
+  public double getRectY() {
+    if (!this.yComputed) {
+      this.rectY = VSOP87.compute(body, VSOP87.Variant.A, accuracy, t, 1);
+      this.yComputed = true;
+    }
+    return this.rectY;
+  }
+
+  /**
+   * Returns the value of the Z coordinate of the body's position in AU.
+   *
+   * @return The value of the Z coordinate of the body's position in AU.
+   */
+  public double getRectZ() {
+    if (!this.zComputed) {
+      this.rectZ = VSOP87.compute(body, VSOP87.Variant.A, accuracy, t, 2);
+      this.zComputed = true;
+    }
+    return this.rectZ;
+  }
+
+  /**
+   * Returns the accuracy this computer computes its coordinates to.
+   *
+   * @return The accuracy this computer computes its coordinates to.
+   */
+  public Accuracy getAccuracy() {
+    return this.accuracy;
+  }
+
+  /**
+   * Returns the body this computer computes.
+   *
+   * @return The body this computer computes.
+   */
+  public VSOP87.Body getBody() {
+    return this.body;
+  }
+
+  /**
+   * Returns a bound on the error of the coordinates caused by leaving out terms for the accuracy
+   * of this computer, in AU. It is the largest of the bounds of the three coordinates, and is zero
+   * at full accuracy.
+   *
+   * @return The bound on the truncation error of the coordinates.
+   */
+  public double getErrorBound() {
+    double bound = 0.0;
+    for (int coordinate = 0; coordinate < 3; coordinate++) {
+      bound = Math.max(bound,
+          VSOP87.computeErrorBound(body, VSOP87.Variant.A, accuracy, t, coordinate));
+    }
+    return bound;
+  }
+
+  /**
+   * Computes the position and velocity of the body at the julian date of this computer, summing
+   * the derivative of each series in the same pass over its terms as the series itself.
+   *
+   * @param position An array of at least three elements that receives X, Y, and Z in AU.
+   * @param velocity An array of at least three elements that receives dX, dY, and dZ in AU per
+   *     day.
+   */
+  public void computeState(double[] position, double[] velocity) {
+    VSOP87.computeState(body, VSOP87.Variant.A, accuracy, t, position, velocity);
+  }
+
+  /**
+   * Computes the X, Y, and Z coordinates of the body for many julian day numbers at once, at the
+   * accuracy of this computer. This is much faster than creating a computer per date, and is
+   * meant for generating ephemerides. Any of the output arrays may be null, and that coordinate
+   * is then not computed. The julian date of this computer is not changed.
+   *
+   * @param julianDays The julian day numbers (TT) to compute the coordinates for.
+   * @param outX An array of at least julianDays.length elements for the X coordinates in AU.
+   * @param outY An array of at least julianDays.length elements for the Y coordinates in AU.
+   * @param outZ An array of at least julianDays.length elements for the Z coordinates in AU.
+   */
+  public void evaluate(double[] julianDays, double[] outX, double[] outY, double[] outZ) {
+    VSOP87.compute(body, VSOP87.Variant.A, accuracy, julianDays, outX, outY, outZ);
+  }
+
+  /**
+   * Computes the X, Y, and Z coordinates of the body at evenly spaced julian day numbers, at the
+   * accuracy of this computer. The terms of the series are stepped from one date to the next with
+   * the angle addition formulas, and computed exactly again every
+   * VSOPTermTable.DEFAULT_RESEED_INTERVAL steps. Any of the output arrays may be null, and that
+   * coordinate is then not computed. The julian date of this computer is not changed.
+   *
+   * @param startJulianDay The first julian day number (TT).
+   * @param stepDays The step between dates in days.
+   * @param count The number of dates.
+   * @param outX An array of at least count elements for the X coordinates in AU.
+   * @param outY An array of at least count elements for the Y coordinates in AU.
+   * @param outZ An array of at least count elements for the Z coordinates in AU.
+   */
+  public void evaluate(double startJulianDay, double stepDays, int count, double[] outX,
+      double[] outY, double[] outZ) {
+    VSOP87.compute(body, VSOP87.Variant.A, accuracy, startJulianDay, stepDays, count,
+        VSOPTermTable.DEFAULT_RESEED_INTERVAL, outX, outY, outZ);
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  protected void updateFields() {
+    this.t = computeT(julianDate.getJulianDayNumber());
+    this.xComputed = false;
+    this.yComputed = false;
+    this.zComputed = false;
+  }
+
+  protected double computeT(double jDN) {
+    return (jDN - 2451545.0) / 365250.0;
+  }
+}
@@ -13,13 +13,17 @@
 
 package com.mattwelsh.astronomy.object.VSOP87a;
 
+import com.mattwelsh.astronomy.object.Accuracy;
 import com.mattwelsh.astronomy.object.VSOPDataReader;
 
 
 /**
  * This class is used to read the VSOP data files and are subclassed for the planets Mercury to
- * Uranus. It also contains a method to compute the series sum for the data, common to all of the
- * planets.
+ * Uranus. It computes the X, Y, and Z coordinates from the series in the xN.data, yN.data and
+ * zN.data files found next to the subclass.
+ *
+ * <p>Each coordinate is only computed the first time it is asked for, and then kept, so a reader
+ * used for one coordinate sums its six series and none of the other twelve.</p>
  *
  * @author Matt Welsh (mitya.welsh@gmail.com)
  * @version 1.0
@@ -30,6 +34,9 @@ public abstract class RectangularDataReader extends VSOPDataReader {
   protected double xCoord;
   protected double yCoord;
   protected double zCoord;
+  private boolean xComputed;
+  private boolean yComputed;
+  private boolean zComputed;
 
   /**
    * Create an instance of a data reader using the specified julian date to compute the series sum.
@@ -37,10 +44,18 @@ public abstract class RectangularDataReader extends VSOPDataReader {
    * @param t The specified julian date to compute the series sum.
    */
   public RectangularDataReader(double t) {
-    super(t);
-    xCoord = computeX();
-    yCoord = computeY();
-    zCoord = computeZ();
+    this(t, Accuracy.FULL);
+  }
+
+  /**
+   * Create an instance of a data reader using the specified julian date to compute the series sum,
+   * leaving out as many of the small terms as the passed accuracy allows.
+   *
+   * @param t The specified julian date to compute the series sum.
+   * @param accuracy The accuracy the series sums must have.
+   */
+  public RectangularDataReader(double t, Accuracy accuracy) {
+    super(t, accuracy);
   }
 
   /**
@@ -49,6 +64,10 @@ public abstract class RectangularDataReader extends VSOPDataReader {
    * @return The X component of the coordinate triple.
    */
   public double getX() {
+    if (!xComputed) {
+      xCoord = computeX();
+      xComputed = true;
+    }
     return xCoord;
   }
 
@@ -58,6 +77,10 @@ public abstract class RectangularDataReader extends VSOPDataReader {
    * @return The Y component of the coordinate triple.
    */
   public double getY() {
+    if (!yComputed) {
+      yCoord = computeY();
+      yComputed = true;
+    }
     return yCoord;
   }
 
@@ -67,29 +90,113 @@ public abstract class RectangularDataReader extends VSOPDataReader {
    * @return The Z component of the coordinate triple.
    */
   public double getZ() {
+    if (!zComputed) {
+      zCoord = computeZ();
+      zComputed = true;
+    }
     return zCoord;
   }
 
+  /**
+   * Return a bound on the error of the coordinate triple caused by leaving out terms for the
+   * accuracy of this reader, in AU. It is the largest of the bounds of the three components, and
+   * is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the coordinate triple.
+   */
+  public double getErrorBound() {
+    return Math.max(computeErrorBound("x", false),
+        Math.max(computeErrorBound("y", false), computeErrorBound("z", false)));
+  }
+
+  /**
+   * Computes the X, Y, and Z coordinates for many julian day numbers in one pass over the series,
+   * without creating a reader per time. Any of the output arrays may be null, and the series of
+   * that coordinate are then not summed at all.
+   *
+   * @param readerClass The reader of the body, for example VenusRectangularDataReader.class.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param julianDays The julian day numbers (TT) to compute the coordinates for.
+   * @param outX An array of at least julianDays.length elements for the X coordinates in AU.
+   * @param outY An array of at least julianDays.length elements for the Y coordinates in AU.
+   * @param outZ An array of at least julianDays.length elements for the Z coordinates in AU.
+   */
+  public static void evaluate(Class<? extends RectangularDataReader> readerClass,
+      Accuracy accuracy, double[] julianDays, double[] outX, double[] outY, double[] outZ) {
+    double[] t = toMillennia(julianDays);
+    if (outX != null) {
+      computeCoordinates(readerClass, "x", false, accuracy, t, outX);
+    }
+    if (outY != null) {
+      computeCoordinates(readerClass, "y", false, accuracy, t, outY);
+    }
+    if (outZ != null) {
+      computeCoordinates(readerClass, "z", false, accuracy, t, outZ);
+    }
+  }
+
+  /**
+   * Computes the X, Y, and Z coordinates at evenly spaced julian day numbers, advancing the terms
+   * of the series from one date to the next with the angle addition formulas instead of
+   * evaluating every cosine. The terms are computed exactly again every reseedInterval steps to
+   * bound the rounding error; see VSOPTermTable.evaluate(double, double, double[], int). Any of
+   * the output arrays may be null, and the series of that coordinate are then not summed at all.
+   *
+   * @param readerClass The reader of the body, for example VenusRectangularDataReader.class.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param startJulianDay The first julian day number (TT).
+   * @param stepDays The step between dates in days.
+   * @param count The number of dates.
+   * @param reseedInterval The number of steps between exact evaluations of the terms.
+   * @param outX An array of at least count elements for the X coordinates in AU.
+   * @param outY An array of at least count elements for the Y coordinates in AU.
+   * @param outZ An array of at least count elements for the Z coordinates in AU.
+   */
+  public static void evaluate(Class<? extends RectangularDataReader> readerClass,
+      Accuracy accuracy, double startJulianDay, double stepDays, int count, int reseedInterval,
+      double[] outX, double[] outY, double[] outZ) {
+    double t0 = (startJulianDay - 2451545.0) / 365250.0;
+    double h = stepDays / 365250.0;
+    if (outX != null) {
+      computeCoordinates(readerClass, "x", false, accuracy, t0, h, count, reseedInterval, outX);
+    }
+    if (outY != null) {
+      computeCoordinates(readerClass, "y", false, accuracy, t0, h, count, reseedInterval, outY);
+    }
+    if (outZ != null) {
+      computeCoordinates(readerClass, "z", false, accuracy, t0, h, count, reseedInterval, outZ);
+    }
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
   /**
    * Compute the X component of the coordinate triple.
    *
    * @return The X component of the coordinate triple.
    */
-  protected abstract double computeX();
+  protected double computeX() {
+    return computeCoordinate("x", false);
+  }
 
   /**
    * Compute the Y component of the coordinate triple.
    *
    * @return The Y component of the coordinate triple.
    */
-  protected abstract double computeY();
+  protected double computeY() {
+    return computeCoordinate("y", false);
+  }
 
   /**
    * Compute the Z component of the coordinate triple.
    *
    * @return The Z component of the coordinate triple.
    */
-  protected abstract double computeZ();
-
+  protected double computeZ() {
+    return computeCoordinate("z", false);
+  }
 
 }
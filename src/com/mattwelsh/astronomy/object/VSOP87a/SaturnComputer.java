@@ -13,6 +13,8 @@
 
 package com.mattwelsh.astronomy.object.VSOP87a;
 
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
 import com.mattwelsh.astronomy.object.VSOP87a.saturn.SaturnRectangularDataReader;
 import com.mattwelsh.astronomy.time.JulianDate;
 
@@ -30,14 +32,7 @@ import com.mattwelsh.astronomy.time.JulianDate;
  * @version 1.0
  * @since 1.0
  */
-public class SaturnComputer {
-
-  private SaturnRectangularDataReader rectDataReader;
-  private JulianDate julianDate;
-  private double rectX;
-  private double rectY;
-  private double rectZ;
-  private double t;
+public class SaturnComputer extends RectangularComputer {
 
   /**
    * Initializes a computer using the passed JulianDate.
@@ -45,61 +40,17 @@ public class SaturnComputer {
    * @param jd The JulianDate to use to initialize this object.
    */
   public SaturnComputer(JulianDate jd) {
-    setJulianDate(jd);
-  }
-
-  /**
-   * Sets the julian date that the computer uses for calculations. Calling this method will trigger
-   * a recalculation of all of it's fields.
-   *
-   * @param jd The julian date that the computer uses for calculations.
-   */
-  public void setJulianDate(JulianDate jd) {
-    this.julianDate = jd;
-    updateFields();
+    this(jd, Accuracy.FULL);
   }
 
   /**
-   * Returns the value of the X coordinate of Saturn's position in AU.
+   * Initializes a computer using the passed JulianDate, leaving out as many of the small terms of
+   * the series as the passed accuracy allows.
    *
-   * @return The value of the X coordinate of Saturn's position in AU.
-   */
-  public double getRectX() {
-    return this.rectX;
-  }
-
-  /**
-   * Returns the value of the Y coordinate of Saturn's position in AU.
-   *
-   * @return The value of the Y coordinate of Saturn's position in AU.
-   */
-  public double getRectY() {
-    return this.rectY;
-  }
-
-  /**
-   * Returns the value of the Z coordinate of Saturn's position in AU.
-   *
-   * @return The value of the Z coordinate of Saturn's position in AU.
+   * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
    */
-  public double getRectZ() {
-    return this.rectZ;
+  public SaturnComputer(JulianDate jd, Accuracy accuracy) {
+    super(VSOP87.Body.SATURN, jd, accuracy);
   }
-
-  // -----------------------------------------------------------------------------------------------
-  // Protected, package local, & and private methods
-  // -----------------------------------------------------------------------------------------------
-
-  private void updateFields() {
-    this.t = computeT(julianDate.getJulianDayNumber());
-    rectDataReader = new SaturnRectangularDataReader(t);
-    this.rectX = rectDataReader.getX();
-    this.rectY = rectDataReader.getY();
-    this.rectZ = rectDataReader.getZ();
-  }
-
-  private double computeT(double jDN) {
-    return (jDN - 2451545.0) / 365250.0;
-  }
-
 }
@@ -13,6 +13,7 @@
 
 package com.mattwelsh.astronomy.object.VSOP87a.jupiter;
 
+import com.mattwelsh.astronomy.object.Accuracy;
 import com.mattwelsh.astronomy.object.VSOP87a.RectangularDataReader;
 
 /**
@@ -25,71 +26,23 @@ import com.mattwelsh.astronomy.object.VSOP87a.RectangularDataReader;
  */
 public class JupiterRectangularDataReader extends RectangularDataReader {
 
-  public JupiterRectangularDataReader(double t) {
-    super(t);
-  }
-
-  /**
-   * Return the X component of the coordinate triple.
-   *
-   * @return The X component of the coordinate triple.
-   */
-  @Override
-  public double getX() {
-    return xCoord;
-  }
-
   /**
-   * Return the Y component of the coordinate triple.
+   * Create an instance of a data reader using the specified julian date to compute the series sum.
    *
-   * @return The Y component of the coordinate triple.
+   * @param t The specified julian date to compute the series sum.
    */
-  @Override
-  public double getY() {
-    return yCoord;
+  public JupiterRectangularDataReader(double t) {
+    super(t);
   }
 
   /**
-   * Return the Z component of the coordinate triple.
+   * Create an instance of a data reader using the specified julian date to compute the series sum,
+   * leaving out as many of the small terms as the passed accuracy allows.
    *
-   * @return The Z component of the coordinate triple.
+   * @param t The specified julian date to compute the series sum.
+   * @param accuracy The accuracy the series sums must have.
    */
-  @Override
-  public double getZ() {
-    return zCoord;
-  }
-
-  // -----------------------------------------------------------------------------------------------
-  // Protected, package local, & and private methods
-  // -----------------------------------------------------------------------------------------------
-
-  protected double computeX() {
-    double x0 = computeSeries(getClass().getResourceAsStream("x0.data"));
-    double x1 = computeSeries(getClass().getResourceAsStream("x1.data"));
-    double x2 = computeSeries(getClass().getResourceAsStream("x2.data"));
-    double x3 = computeSeries(getClass().getResourceAsStream("x3.data"));
-    double x4 = computeSeries(getClass().getResourceAsStream("x4.data"));
-    double x5 = computeSeries(getClass().getResourceAsStream("x5.data"));
-    return x0 + (x1 * t) + (x2 * t2) + (x3 * t3) + (x4 * t4) + (x5 * t5);
-  }
-
-  protected double computeY() {
-    double y0 = computeSeries(getClass().getResourceAsStream("y0.data"));
-    double y1 = computeSeries(getClass().getResourceAsStream("y1.data"));
-    double y2 = computeSeries(getClass().getResourceAsStream("y2.data"));
-    double y3 = computeSeries(getClass().getResourceAsStream("y3.data"));
-    double y4 = computeSeries(getClass().getResourceAsStream("y4.data"));
-    double y5 = computeSeries(getClass().getResourceAsStream("y5.data"));
-    return y0 + (y1 * t) + (y2 * t2) + (y3 * t3) + (y4 * t4) + (y5 * t5);
-  }
-
-  protected double computeZ() {
-    double z0 = computeSeries(getClass().getResourceAsStream("z0.data"));
-    double z1 = computeSeries(getClass().getResourceAsStream("z1.data"));
-    double z2 = computeSeries(getClass().getResourceAsStream("z2.data"));
-    double z3 = computeSeries(getClass().getResourceAsStream("z3.data"));
-    double z4 = computeSeries(getClass().getResourceAsStream("z4.data"));
-    double z5 = computeSeries(getClass().getResourceAsStream("z5.data"));
-    return z0 + (z1 * t) + (z2 * t2) + (z3 * t3) + (z4 * t4) + (z5 * t5);
+  public JupiterRectangularDataReader(double t, Accuracy accuracy) {
+    super(t, accuracy);
   }
 }
@@ -13,7 +13,8 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b;
 
-import com.mattwelsh.astronomy.object.VSOP87b.earth.EarthLbrDataReader;
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
 import com.mattwelsh.astronomy.time.JulianDate;
 
 /**
@@ -38,14 +39,17 @@ public class EarthComputer extends PlanetaryComputer {
    * @param jd The JulianDate to use to initialize this object.
    */
   public EarthComputer(JulianDate jd) {
-    super(jd);
+    this(jd, Accuracy.FULL);
   }
 
   /**
-   * Intitalizes the data reader for this class.
+   * Initializes a computer using the passed JulianDate, leaving out as many of the small terms of
+   * the series as the passed accuracy allows.
+   *
+   * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
    */
-  @Override
-  protected void initializeDataReader() {
-    this.dataReader = new EarthLbrDataReader(this.t);
+  public EarthComputer(JulianDate jd, Accuracy accuracy) {
+    super(VSOP87.Body.EARTH, jd, accuracy);
   }
 }
@@ -13,7 +13,8 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b;
 
-import com.mattwelsh.astronomy.object.VSOP87b.jupiter.JupiterLbrDataReader;
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
 import com.mattwelsh.astronomy.time.JulianDate;
 
 /**
@@ -38,14 +39,17 @@ public class JupiterComputer extends PlanetaryComputer {
    * @param jd The JulianDate to use to initialize this object.
    */
   public JupiterComputer(JulianDate jd) {
-    super(jd);
+    this(jd, Accuracy.FULL);
   }
 
   /**
-   * Intitalizes the data reader for this class.
+   * Initializes a computer using the passed JulianDate, leaving out as many of the small terms of
+   * the series as the passed accuracy allows.
+   *
+   * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
    */
-  @Override
-  protected void initializeDataReader() {
-    this.dataReader = new JupiterLbrDataReader(this.t);
+  public JupiterComputer(JulianDate jd, Accuracy accuracy) {
+    super(VSOP87.Body.JUPITER, jd, accuracy);
   }
 }
@@ -13,12 +13,16 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b;
 
+import com.mattwelsh.astronomy.object.Accuracy;
 import com.mattwelsh.astronomy.object.VSOPDataReader;
 
 /**
  * This class is used to read the VSOP data files and are subclassed for the planets Mercury to
- * Uranus. It also contains a method to compute the series sum for the data, common to all of the
- * planets and subclasses compute the heliocentric longitude, latitude, and radius vector.
+ * Uranus. It computes the heliocentric longitude, latitude, and radius vector from the series in
+ * the longitudeN.data, latitudeN.data and radiusN.data files found next to the subclass.
+ *
+ * <p>Each coordinate is only computed the first time it is asked for, and then kept, so a reader
+ * used for the longitude alone sums the six longitude series and none of the other twelve.</p>
  *
  * @author Matt Welsh (mitya.welsh@gmail.com)
  * @version 1.0
@@ -29,6 +33,9 @@ public abstract class LbrDataReader extends VSOPDataReader {
   protected double heliocentricLongitude;
   protected double heliocentricLatitude;
   protected double radiusVector;
+  private boolean longitudeComputed;
+  private boolean latitudeComputed;
+  private boolean radiusVectorComputed;
 
   /**
    * Create an instance of a data reader using the specified julian date to compute the series sum.
@@ -36,10 +43,18 @@ public abstract class LbrDataReader extends VSOPDataReader {
    * @param t The specified julian date to compute the series sum.
    */
   public LbrDataReader(double t) {
-    super(t);
-    this.heliocentricLongitude = computeHeliocentricLongitude();
-    this.heliocentricLatitude = computeHeliocentricLatitude();
-    this.radiusVector = computeRadiusVector();
+    this(t, Accuracy.FULL);
+  }
+
+  /**
+   * Create an instance of a data reader using the specified julian date to compute the series sum,
+   * leaving out as many of the small terms as the passed accuracy allows.
+   *
+   * @param t The specified julian date to compute the series sum.
+   * @param accuracy The accuracy the series sums must have.
+   */
+  public LbrDataReader(double t, Accuracy accuracy) {
+    super(t, accuracy);
   }
 
   /**
@@ -48,6 +63,10 @@ public abstract class LbrDataReader extends VSOPDataReader {
    * @return The heliocentric longitude.
    */
   public double getHeliocentricLongitude() {
+    if (!longitudeComputed) {
+      heliocentricLongitude = computeHeliocentricLongitude();
+      longitudeComputed = true;
+    }
     return heliocentricLongitude;
   }
 
@@ -57,6 +76,10 @@ public abstract class LbrDataReader extends VSOPDataReader {
    * @return The heliocentric latitude.
    */
   public double getHeliocentricLatitude() {
+    if (!latitudeComputed) {
+      heliocentricLatitude = computeHeliocentricLatitude();
+      latitudeComputed = true;
+    }
     return heliocentricLatitude;
   }
 
@@ -66,28 +89,136 @@ public abstract class LbrDataReader extends VSOPDataReader {
    * @return The heliocentric radius vector.
    */
   public double getRadiusVector() {
+    if (!radiusVectorComputed) {
+      radiusVector = computeRadiusVector();
+      radiusVectorComputed = true;
+    }
     return radiusVector;
   }
 
+  /**
+   * Return a bound on the error of the heliocentric longitude caused by leaving out terms for the
+   * accuracy of this reader, in radians. It is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the heliocentric longitude.
+   */
+  public double getLongitudeErrorBound() {
+    return computeErrorBound("longitude", true);
+  }
+
+  /**
+   * Return a bound on the error of the heliocentric latitude caused by leaving out terms for the
+   * accuracy of this reader, in radians. It is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the heliocentric latitude.
+   */
+  public double getLatitudeErrorBound() {
+    return computeErrorBound("latitude", true);
+  }
+
+  /**
+   * Return a bound on the error of the radius vector caused by leaving out terms for the accuracy
+   * of this reader, in AU. It is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the radius vector.
+   */
+  public double getRadiusVectorErrorBound() {
+    return computeErrorBound("radius", false);
+  }
+
+  /**
+   * Computes the heliocentric longitude, latitude, and radius vector for many julian day numbers
+   * in one pass over the series, without creating a reader per time. The longitude is not reduced
+   * to [0, 2PI), exactly as getHeliocentricLongitude() returns it. Any of the output arrays may be
+   * null, and the series of that coordinate are then not summed at all.
+   *
+   * @param readerClass The reader of the planet, for example VenusLbrDataReader.class.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param julianDays The julian day numbers (TT) to compute the coordinates for.
+   * @param outL An array of at least julianDays.length elements for the longitudes in radians.
+   * @param outB An array of at least julianDays.length elements for the latitudes in radians.
+   * @param outR An array of at least julianDays.length elements for the radius vectors in AU.
+   */
+  public static void evaluate(Class<? extends LbrDataReader> readerClass, Accuracy accuracy,
+      double[] julianDays, double[] outL, double[] outB, double[] outR) {
+    double[] t = toMillennia(julianDays);
+    if (outL != null) {
+      computeCoordinates(readerClass, "longitude", true, accuracy, t, outL);
+    }
+    if (outB != null) {
+      computeCoordinates(readerClass, "latitude", true, accuracy, t, outB);
+    }
+    if (outR != null) {
+      computeCoordinates(readerClass, "radius", false, accuracy, t, outR);
+    }
+  }
+
+  /**
+   * Computes the heliocentric longitude, latitude, and radius vector at evenly spaced julian day
+   * numbers, advancing the terms of the series from one date to the next with the angle addition
+   * formulas instead of evaluating every cosine. The terms are computed exactly again every
+   * reseedInterval steps to bound the rounding error; see VSOPTermTable.evaluate(double, double,
+   * double[], int). The longitude is not reduced to [0, 2PI). Any of the output arrays may be
+   * null, and the series of that coordinate are then not summed at all.
+   *
+   * @param readerClass The reader of the planet, for example VenusLbrDataReader.class.
+   * @param accuracy The accuracy the coordinates must have.
+   * @param startJulianDay The first julian day number (TT).
+   * @param stepDays The step between dates in days.
+   * @param count The number of dates.
+   * @param reseedInterval The number of steps between exact evaluations of the terms.
+   * @param outL An array of at least count elements for the longitudes in radians.
+   * @param outB An array of at least count elements for the latitudes in radians.
+   * @param outR An array of at least count elements for the radius vectors in AU.
+   */
+  public static void evaluate(Class<? extends LbrDataReader> readerClass, Accuracy accuracy,
+      double startJulianDay, double stepDays, int count, int reseedInterval, double[] outL,
+      double[] outB, double[] outR) {
+    double t0 = (startJulianDay - 2451545.0) / 365250.0;
+    double h = stepDays / 365250.0;
+    if (outL != null) {
+      computeCoordinates(readerClass, "longitude", true, accuracy, t0, h, count, reseedInterval,
+          outL);
+    }
+    if (outB != null) {
+      computeCoordinates(readerClass, "latitude", true, accuracy, t0, h, count, reseedInterval,
+          outB);
+    }
+    if (outR != null) {
+      computeCoordinates(readerClass, "radius", false, accuracy, t0, h, count, reseedInterval,
+          outR);
+    }
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
   /**
    * Compute the heliocentric longitude.
    *
    * @return The heliocentric longitude.
    */
-  protected abstract double computeHeliocentricLongitude();
+  protected double computeHeliocentricLongitude() {
+    return computeCoordinate("longitude", true);
+  }
 
   /**
    * Compute the heliocentric latitude.
    *
    * @return The heliocentric latitude.
    */
-  protected abstract double computeHeliocentricLatitude();
+  protected double computeHeliocentricLatitude() {
+    return computeCoordinate("latitude", true);
+  }
 
   /**
    * Compute the heliocentric radius vector.
    *
    * @return The heliocentric radius vector.
    */
-  protected abstract double computeRadiusVector();
+  protected double computeRadiusVector() {
+    return computeCoordinate("radius", false);
+  }
 
 }
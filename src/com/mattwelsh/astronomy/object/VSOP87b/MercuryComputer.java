@@ -12,7 +12,8 @@
  */
 
 package com.mattwelsh.astronomy.object.VSOP87b;
-import com.mattwelsh.astronomy.object.VSOP87b.mercury.MercuryLbrDataReader;
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
 import com.mattwelsh.astronomy.time.JulianDate;
 
 /**
@@ -37,14 +38,17 @@ public class MercuryComputer extends PlanetaryComputer {
    * @param jd The JulianDate to use to initialize this object.
    */
   public MercuryComputer(JulianDate jd) {
-    super(jd);
+    this(jd, Accuracy.FULL);
   }
 
   /**
-   * Intitalizes the data reader for this class.
+   * Initializes a computer using the passed JulianDate, leaving out as many of the small terms of
+   * the series as the passed accuracy allows.
+   *
+   * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
    */
-  @Override
-  protected void initializeDataReader() {
-    this.dataReader = new MercuryLbrDataReader(this.t);
+  public MercuryComputer(JulianDate jd, Accuracy accuracy) {
+    super(VSOP87.Body.MERCURY, jd, accuracy);
   }
 }
@@ -13,38 +13,88 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b;
 
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import com.mattwelsh.astronomy.object.VSOPTermTable;
 import com.mattwelsh.astronomy.time.JulianDate;
 import com.mattwelsh.astronomy.utilities.Utilities;
 
+/**
+ * This class is the base of the VSOP87b computers. It computes the heliocentric longitude,
+ * latitude, and radius vector of one planet with the VSOP87 engine; the subclasses only name the
+ * planet.
+ *
+ * <p>Each coordinate is only computed the first time it is asked for after the julian date is
+ * set, so a computer used for the longitude alone sums the six longitude series and none of the
+ * other twelve.</p>
+ *
+ * <p>Subclasses written against the earlier form of this class, which pass only the julian date
+ * and create a data reader in initializeDataReader(), still work; their coordinates are read from
+ * that reader at full accuracy.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
 public abstract class PlanetaryComputer {
 
   /**
-   * Initializes a computer using the passed JulianDate.
+   * Initializes a computer for the passed planet using the passed JulianDate, leaving out as many
+   * of the small terms of the series as the passed accuracy allows.
    *
+   * @param body The planet to compute.
    * @param jd The JulianDate to use to initialize this object.
+   * @param accuracy The accuracy the computed coordinates must have.
    */
-  public PlanetaryComputer(JulianDate jd) {
+  protected PlanetaryComputer(VSOP87.Body body, JulianDate jd, Accuracy accuracy) {
+    this.body = body;
+    this.accuracy = accuracy;
     setJulianDate(jd);
   }
 
+  /**
+   * Initializes a computer using the passed JulianDate, reading its coordinates from the data
+   * reader created by initializeDataReader(). Such a computer has no body, computes at full
+   * accuracy, and cannot compute rates of change.
+   *
+   * @param jd The JulianDate to use to initialize this object.
+   * @deprecated Use PlanetaryComputer(VSOP87.Body, JulianDate, Accuracy) instead.
+   */
+  @Deprecated
+  public PlanetaryComputer(JulianDate jd) {
+    this(null, jd, Accuracy.FULL);
+  }
+
+  /**
+   * The data reader of a computer made with PlanetaryComputer(JulianDate), or null.
+   *
+   * @deprecated Computers made for a body compute their coordinates without a data reader.
+   */
+  @Deprecated
   protected LbrDataReader dataReader;
+  protected final VSOP87.Body body;
+  protected final Accuracy accuracy;
   protected JulianDate julianDate;
   protected double t;
   protected double heliocentricLongitude;
   protected double heliocentricLatitude;
   protected double radiusVector;
+  private boolean longitudeComputed;
+  private boolean latitudeComputed;
+  private boolean radiusVectorComputed;
 
   /**
-   * Sets the julian date that the computer uses for calculations. Calling this method will trigger
-   * a recalculation of all of it's fields.
+   * Sets the julian date that the computer uses for calculations. Calling this method will cause
+   * each of its fields to be recalculated the next time it is asked for.
    *
    * @param jd The julian date that the computer uses for calculations.
    */
   public void setJulianDate(JulianDate jd) {
     this.julianDate = jd;
-    this.t = computeT(julianDate.getJulianDayNumber());
-    initializeDataReader();
     updateFields();
+    if (this.body == null) {
+      initializeDataReader();
+    }
   }
 
   /**
@@ -53,6 +103,12 @@ public abstract class PlanetaryComputer {
    * @return The heliocentric longitude expressed in radians.
    */
   public double getHeliocentricLongitude() {
+    if (!this.longitudeComputed) {
+      this.heliocentricLongitude = Utilities.reduceTo2pi(body == null
+          ? dataReader.getHeliocentricLongitude()
+          : VSOP87.compute(body, VSOP87.Variant.B, accuracy, t, 0));
+      this.longitudeComputed = true;
+    }
     return this.heliocentricLongitude;
   }
 
@@ -62,6 +118,12 @@ public abstract class PlanetaryComputer {
    * @return The heliocentric latitude expressed in radians.
    */
   public double getHeliocentricLatitude() {
+    if (!this.latitudeComputed) {
+      this.heliocentricLatitude = Utilities.reduceToRangePIOver2(body == null
+          ? dataReader.getHeliocentricLatitude()
+          : VSOP87.compute(body, VSOP87.Variant.B, accuracy, t, 1));
+      this.latitudeComputed = true;
+    }
     return this.heliocentricLatitude;
   }
 
@@ -71,24 +133,176 @@ public abstract class PlanetaryComputer {
    * @return The radius vector.
    */
   public double getRadiusVector() {
+    if (!this.radiusVectorComputed) {
+      this.radiusVector = body == null
+          ? dataReader.getRadiusVector()
+          : VSOP87.compute(body, VSOP87.Variant.B, accuracy, t, 2);
+      this.radiusVectorComputed = true;
+    }
     return this.radiusVector;
   }
 
+  /**
+   * Returns the accuracy this computer computes its coordinates to.
+   *
+   * @return The accuracy this computer computes its coordinates to.
+   */
+  public Accuracy getAccuracy() {
+    return this.accuracy;
+  }
+
+  /**
+   * Returns the planet this computer computes, or null for a computer made with
+   * PlanetaryComputer(JulianDate).
+   *
+   * @return The planet this computer computes.
+   */
+  public VSOP87.Body getBody() {
+    return this.body;
+  }
+
+  /**
+   * Returns a bound on the error of the heliocentric longitude caused by leaving out terms for the
+   * accuracy of this computer, in radians. It is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the heliocentric longitude.
+   */
+  public double getLongitudeErrorBound() {
+    return body == null ? dataReader.getLongitudeErrorBound()
+        : VSOP87.computeErrorBound(body, VSOP87.Variant.B, accuracy, t, 0);
+  }
+
+  /**
+   * Returns a bound on the error of the heliocentric latitude caused by leaving out terms for the
+   * accuracy of this computer, in radians. It is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the heliocentric latitude.
+   */
+  public double getLatitudeErrorBound() {
+    return body == null ? dataReader.getLatitudeErrorBound()
+        : VSOP87.computeErrorBound(body, VSOP87.Variant.B, accuracy, t, 1);
+  }
+
+  /**
+   * Returns a bound on the error of the radius vector caused by leaving out terms for the accuracy
+   * of this computer, in AU. It is zero at full accuracy.
+   *
+   * @return The bound on the truncation error of the radius vector.
+   */
+  public double getRadiusVectorErrorBound() {
+    return body == null ? dataReader.getRadiusVectorErrorBound()
+        : VSOP87.computeErrorBound(body, VSOP87.Variant.B, accuracy, t, 2);
+  }
+
+  /**
+   * Computes the heliocentric longitude, latitude, and radius vector of this computer's planet at
+   * its julian date together with their rates of change, summing the derivative of each series in
+   * the same pass over its terms as the series itself.
+   *
+   * @param lbr An array of at least three elements that receives the longitude and latitude in
+   *     radians, reduced like getHeliocentricLongitude() and getHeliocentricLatitude(), and the
+   *     radius vector in AU.
+   * @param rates An array of at least three elements that receives the rates of change of the
+   *     longitude and latitude in radians per day and of the radius vector in AU per day.
+   * @throws IllegalStateException If this computer was made with PlanetaryComputer(JulianDate).
+   */
+  public void computeState(double[] lbr, double[] rates) {
+    if (body == null) {
+      throw new IllegalStateException("Rates of change need a computer made for a planet");
+    }
+    VSOP87.computeState(body, VSOP87.Variant.B, accuracy, t, lbr, rates);
+    lbr[0] = Utilities.reduceTo2pi(lbr[0]);
+    lbr[1] = Utilities.reduceToRangePIOver2(lbr[1]);
+  }
+
+  /**
+   * Computes the heliocentric longitude, latitude, and radius vector of this computer's planet for
+   * many julian day numbers at once, at the accuracy of this computer. This is much faster than
+   * creating a computer per date, and is meant for generating ephemerides. Any of the output
+   * arrays may be null, and that coordinate is then not computed. The julian date of this
+   * computer is not changed.
+   *
+   * @param julianDays The julian day numbers (TT) to compute the coordinates for.
+   * @param outL An array of at least julianDays.length elements for the longitudes in radians.
+   * @param outB An array of at least julianDays.length elements for the latitudes in radians.
+   * @param outR An array of at least julianDays.length elements for the radius vectors in AU.
+   */
+  public void evaluate(double[] julianDays, double[] outL, double[] outB, double[] outR) {
+    if (body == null) {
+      LbrDataReader.evaluate(dataReader.getClass(), accuracy, julianDays, outL, outB, outR);
+    } else {
+      VSOP87.compute(body, VSOP87.Variant.B, accuracy, julianDays, outL, outB, outR);
+    }
+    reduce(outL, outB, julianDays.length);
+  }
+
+  /**
+   * Computes the heliocentric longitude, latitude, and radius vector of this computer's planet at
+   * evenly spaced julian day numbers, at the accuracy of this computer. The terms of the series
+   * are stepped from one date to the next with the angle addition formulas, and computed exactly
+   * again every VSOPTermTable.DEFAULT_RESEED_INTERVAL steps, which keeps the results within about
+   * 1e-12 of evaluating each date on its own. Any of the output arrays may be null, and that
+   * coordinate is then not computed. The julian date of this computer is not changed.
+   *
+   * @param startJulianDay The first julian day number (TT).
+   * @param stepDays The step between dates in days.
+   * @param count The number of dates.
+   * @param outL An array of at least count elements for the longitudes in radians.
+   * @param outB An array of at least count elements for the latitudes in radians.
+   * @param outR An array of at least count elements for the radius vectors in AU.
+   */
+  public void evaluate(double startJulianDay, double stepDays, int count, double[] outL,
+      double[] outB, double[] outR) {
+    if (body == null) {
+      LbrDataReader.evaluate(dataReader.getClass(), accuracy, startJulianDay, stepDays, count,
+          VSOPTermTable.DEFAULT_RESEED_INTERVAL, outL, outB, outR);
+    } else {
+      VSOP87.compute(body, VSOP87.Variant.B, accuracy, startJulianDay, stepDays, count,
+          VSOPTermTable.DEFAULT_RESEED_INTERVAL, outL, outB, outR);
+    }
+    reduce(outL, outB, count);
+  }
+
   protected double computeT(double jDN) {
     return (jDN - 2451545.0) / 365250.0;
   }
 
-  protected abstract void initializeDataReader();
-
   // -----------------------------------------------------------------------------------------------
   // Protected, package local, & and private methods
   // -----------------------------------------------------------------------------------------------
 
+  /**
+   * Reduces the first count longitudes to [0, 2PI) and latitudes to [-PI/2, PI/2], skipping
+   * either array when it is null.
+   */
+  private static void reduce(double[] outL, double[] outB, int count) {
+    if (outL != null) {
+      for (int k = 0; k < count; k++) {
+        outL[k] = Utilities.reduceTo2pi(outL[k]);
+      }
+    }
+    if (outB != null) {
+      for (int k = 0; k < count; k++) {
+        outB[k] = Utilities.reduceToRangePIOver2(outB[k]);
+      }
+    }
+  }
+
   protected void updateFields() {
     this.t = computeT(julianDate.getJulianDayNumber());
-    this.heliocentricLongitude = Utilities.reduceTo2pi(dataReader.getHeliocentricLongitude());
-    this.heliocentricLatitude = Utilities.reduceToRangePIOver2(dataReader.getHeliocentricLatitude());
-    this.radiusVector = dataReader.getRadiusVector();
+    this.longitudeComputed = false;
+    this.latitudeComputed = false;
+    this.radiusVectorComputed = false;
+  }
+
+  /**
+   * Creates the data reader of a computer made with PlanetaryComputer(JulianDate) for the current
+   * value of t. It is called each time the julian date is set, and does nothing by default.
+   *
+   * @deprecated Computers made for a body compute their coordinates without a data reader.
+   */
+  @Deprecated
+  protected void initializeDataReader() {
   }
 
 }
@@ -13,6 +13,7 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b.neptune;
 
+import com.mattwelsh.astronomy.object.Accuracy;
 import com.mattwelsh.astronomy.object.VSOP87b.LbrDataReader;
 
 /**
@@ -25,59 +26,23 @@ import com.mattwelsh.astronomy.object.VSOP87b.LbrDataReader;
  */
 public class NeptuneLbrDataReader extends LbrDataReader {
 
-  public NeptuneLbrDataReader(double t) {
-    super(t);
-  }
-
-  // -----------------------------------------------------------------------------------------------
-  // Protected, package local, & and private methods
-  // -----------------------------------------------------------------------------------------------
-
-  /**
-   * Compute the heliocentric longitude.
-   *
-   * @return The heliocentric longitude.
-   */
-  @Override
-  protected double computeHeliocentricLongitude() {
-    double x0 = computeSeries(getClass().getResourceAsStream("longitude0.data"));
-    double x1 = computeSeries(getClass().getResourceAsStream("longitude1.data"));
-    double x2 = computeSeries(getClass().getResourceAsStream("longitude2.data"));
-    double x3 = computeSeries(getClass().getResourceAsStream("longitude3.data"));
-    double x4 = computeSeries(getClass().getResourceAsStream("longitude4.data"));
-    double x5 = computeSeries(getClass().getResourceAsStream("longitude5.data"));
-    return x0 + (x1 * t) + (x2 * t2) + (x3 * t3) + (x4 * t4) + (x5 * t5);
-  }
-
   /**
-   * Compute the heliocentric latitude.
+   * Create an instance of a data reader using the specified julian date to compute the series sum.
    *
-   * @return The heliocentric latitude.
+   * @param t The specified julian date to compute the series sum.
    */
-  @Override
-  protected double computeHeliocentricLatitude() {
-    double y0 = computeSeries(getClass().getResourceAsStream("latitude0.data"));
-    double y1 = computeSeries(getClass().getResourceAsStream("latitude1.data"));
-    double y2 = computeSeries(getClass().getResourceAsStream("latitude2.data"));
-    double y3 = computeSeries(getClass().getResourceAsStream("latitude3.data"));
-    double y4 = computeSeries(getClass().getResourceAsStream("latitude4.data"));
-    double y5 = computeSeries(getClass().getResourceAsStream("latitude5.data"));
-    return y0 + (y1 * t) + (y2 * t2) + (y3 * t3) + (y4 * t4) + (y5 * t5);
+  public NeptuneLbrDataReader(double t) {
+    super(t);
   }
 
   /**
-   * Compute the heliocentric radius vector.
+   * Create an instance of a data reader using the specified julian date to compute the series sum,
+   * leaving out as many of the small terms as the passed accuracy allows.
    *
-   * @return The heliocentric radius vector.
+   * @param t The specified julian date to compute the series sum.
+   * @param accuracy The accuracy the series sums must have.
    */
-  @Override
-  protected double computeRadiusVector() {
-    double z0 = computeSeries(getClass().getResourceAsStream("radius0.data"));
-    double z1 = computeSeries(getClass().getResourceAsStream("radius1.data"));
-    double z2 = computeSeries(getClass().getResourceAsStream("radius2.data"));
-    double z3 = computeSeries(getClass().getResourceAsStream("radius3.data"));
-    double z4 = computeSeries(getClass().getResourceAsStream("radius4.data"));
-    double z5 = computeSeries(getClass().getResourceAsStream("radius5.data"));
-    return z0 + (z1 * t) + (z2 * t2) + (z3 * t3) + (z4 * t4) + (z5 * t5);
+  public NeptuneLbrDataReader(double t, Accuracy accuracy) {
+    super(t, accuracy);
   }
-}
\ No newline at end of file
+}
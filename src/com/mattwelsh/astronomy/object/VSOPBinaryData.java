@@ -0,0 +1,322 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class reads and writes the compact binary form of the VSOP87 data files. Every series of
+ * every planet is packed into a single little-endian blob so that all of the term tables can be
+ * loaded with one bulk read, or one memory mapping, instead of parsing tens of thousands of lines
+ * of text.
+ *
+ * <p>The layout of the blob is:</p>
+ *
+ * <pre>
+ *   int    magic ("VSOP")
+ *   int    version
+ *   int    number of series
+ *   for each series:
+ *     short  length of the name in bytes
+ *     byte[] name (UTF-8), e.g. com/mattwelsh/astronomy/object/VSOP87b/earth/longitude0.data
+ *     int    number of terms n
+ *     int    offset of the term data from the start of the blob
+ *   for each series, at its offset:
+ *     double[n] amplitudes, double[n] phases, double[n] frequencies
+ * </pre>
+ *
+ * <p>No blob is shipped with the library, so by default the tables are parsed from the text files
+ * and none of this is used. The faster start only happens once a blob has been generated by
+ * running the main method of this class over the source tree:</p>
+ *
+ * <pre>
+ * java com.mattwelsh.astronomy.object.VSOPBinaryData src vsop87.bin
+ * </pre>
+ *
+ * <p>and installed, either on the class path as {@value #RESOURCE_NAME} next to this class, or as
+ * a file named by the system property {@value #DATA_FILE_PROPERTY}. VSOPTermTable then takes its
+ * tables from the blob instead of parsing the text files. Only when neither is present are the
+ * text files used; a blob that is installed but can not be read is an error.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class VSOPBinaryData {
+
+  /** The name of the class path resource holding the blob, relative to this class. */
+  public static final String RESOURCE_NAME = "vsop87.bin";
+
+  /** The system property that can name a blob on the file system to memory map. */
+  public static final String DATA_FILE_PROPERTY = "urania.vsop87.data";
+
+  private static final int MAGIC = 0x504F5356;
+  private static final int VERSION = 1;
+
+  private static volatile Map<String, VSOPTermTable> installed;
+
+  private VSOPBinaryData() {
+  }
+
+  /**
+   * Converts every .data file below a source directory into a single blob. The first argument is
+   * the source root (the directory holding the com directory), the second is the file to write.
+   *
+   * @param args The source root and the output file.
+   * @throws IOException If a data file can not be read or the blob can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: VSOPBinaryData <source root> <output file>");
+      System.exit(1);
+    }
+    Path root = Paths.get(args[0]);
+    Map<String, VSOPTermTable> tables = readTextTables(root);
+    try (OutputStream out = Files.newOutputStream(Paths.get(args[1]))) {
+      write(tables.values(), out);
+    }
+    System.out.println("Wrote " + tables.size() + " series to " + args[1]);
+  }
+
+  /**
+   * Parses every .data file below the passed directory. Each table is named by its path relative
+   * to the directory, using '/' as the separator, which is the name VSOPTermTable uses for it.
+   *
+   * @param root The directory to search.
+   * @return The tables keyed and ordered by name.
+   * @throws IOException If a file can not be read.
+   */
+  public static Map<String, VSOPTermTable> readTextTables(Path root) throws IOException {
+    List<Path> files;
+    try (Stream<Path> paths = Files.walk(root)) {
+      files = paths.filter(p -> p.getFileName().toString().endsWith(".data"))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+    Map<String, VSOPTermTable> tables = new LinkedHashMap<>();
+    for (Path file : files) {
+      String name = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(),
+          "/");
+      tables.put(name, VSOPTermTable.parse(name, Files.newInputStream(file)));
+    }
+    return tables;
+  }
+
+  /**
+   * Writes the passed tables to the stream in the binary format.
+   *
+   * @param tables The tables to write.
+   * @param outputStream The stream to write to. It is not closed.
+   * @throws IOException If the stream can not be written.
+   */
+  public static void write(Iterable<VSOPTermTable> tables, OutputStream outputStream)
+      throws IOException {
+    List<VSOPTermTable> list = new ArrayList<>();
+    tables.forEach(list::add);
+
+    int headerSize = 12;
+    List<byte[]> names = new ArrayList<>();
+    for (VSOPTermTable table : list) {
+      byte[] name = table.getName().getBytes(StandardCharsets.UTF_8);
+      names.add(name);
+      headerSize += 2 + name.length + 8;
+    }
+    int dataStart = (headerSize + 7) & ~7;
+    int size = dataStart;
+    for (VSOPTermTable table : list) {
+      size += table.size() * 24;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(list.size());
+    int offset = dataStart;
+    for (int i = 0; i < list.size(); i++) {
+      byte[] name = names.get(i);
+      buffer.putShort((short) name.length).put(name);
+      buffer.putInt(list.get(i).size()).putInt(offset);
+      offset += list.get(i).size() * 24;
+    }
+    buffer.position(dataStart);
+    for (VSOPTermTable table : list) {
+      for (int i = 0; i < table.size(); i++) {
+        buffer.putDouble(table.getAmplitude(i));
+      }
+      for (int i = 0; i < table.size(); i++) {
+        buffer.putDouble(table.getPhase(i));
+      }
+      for (int i = 0; i < table.size(); i++) {
+        buffer.putDouble(table.getFrequency(i));
+      }
+    }
+    outputStream.write(buffer.array());
+  }
+
+  /**
+   * Reads every table from a blob with a single bulk read of the passed stream.
+   *
+   * @param inputStream The stream holding the blob, which is closed before this method returns.
+   * @return The tables keyed by name.
+   * @throws IOException If the stream can not be read or does not hold a valid blob.
+   */
+  public static Map<String, VSOPTermTable> load(InputStream inputStream) throws IOException {
+    byte[] bytes;
+    try (InputStream in = inputStream) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 8192));
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      bytes = out.toByteArray();
+    }
+    return read(ByteBuffer.wrap(bytes));
+  }
+
+  /**
+   * Memory maps the blob in the passed file and reads every table from it.
+   *
+   * @param file The file holding the blob.
+   * @return The tables keyed by name.
+   * @throws IOException If the file can not be mapped or does not hold a valid blob.
+   */
+  public static Map<String, VSOPTermTable> map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads every table from the blob in the passed buffer. The terms of each series are copied out
+   * of the buffer with one bulk transfer per array.
+   *
+   * @param blob The buffer holding the blob, starting at position zero.
+   * @return The tables keyed by name.
+   * @throws IOException If the buffer does not hold a valid blob.
+   */
+  public static Map<String, VSOPTermTable> read(ByteBuffer blob) throws IOException {
+    ByteBuffer buffer = blob.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a VSOP87 binary data file");
+      }
+      int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported VSOP87 binary data version " + version);
+      }
+      int count = buffer.getInt();
+      if (count < 0) {
+        throw new IOException("Corrupt VSOP87 binary data: " + count + " series");
+      }
+      Map<String, VSOPTermTable> tables = new LinkedHashMap<>(count * 2);
+      for (int i = 0; i < count; i++) {
+        short length = buffer.getShort();
+        if (length < 0) {
+          throw new IOException("Corrupt VSOP87 binary data: series name of length " + length);
+        }
+        byte[] nameBytes = new byte[length];
+        buffer.get(nameBytes);
+        String name = new String(nameBytes, StandardCharsets.UTF_8);
+        int terms = buffer.getInt();
+        int offset = buffer.getInt();
+        if (terms < 0 || offset < 0) {
+          throw new IOException("Corrupt VSOP87 binary data: series " + name + " has " + terms
+              + " terms at offset " + offset);
+        }
+
+        double[] a = new double[terms];
+        double[] b = new double[terms];
+        double[] c = new double[terms];
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        data.position(offset);
+        data.asDoubleBuffer().get(a).get(b).get(c);
+        tables.put(name, new VSOPTermTable(name, a, b, c));
+      }
+      return Collections.unmodifiableMap(tables);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Truncated VSOP87 binary data", e);
+    }
+  }
+
+  /**
+   * Returns the tables from the blob installed for this process, either the file named by the
+   * {@value #DATA_FILE_PROPERTY} system property or the {@value #RESOURCE_NAME} class path
+   * resource. The blob is only read once. If neither is present the map is empty and
+   * VSOPTermTable falls back to the text files.
+   *
+   * @return The installed tables keyed by name, possibly empty.
+   * @throws IllegalStateException If a blob is installed but can not be read.
+   */
+  static Map<String, VSOPTermTable> installed() {
+    Map<String, VSOPTermTable> tables = installed;
+    if (tables == null) {
+      synchronized (VSOPBinaryData.class) {
+        tables = installed;
+        if (tables == null) {
+          tables = loadInstalled();
+          installed = tables;
+        }
+      }
+    }
+    return tables;
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  /**
+   * Reads the installed blob. A blob that was asked for but can not be read is reported rather
+   * than passed over, since the text files would then be used without anyone knowing why.
+   */
+  static Map<String, VSOPTermTable> loadInstalled() {
+    String file = System.getProperty(DATA_FILE_PROPERTY);
+    if (file != null) {
+      try {
+        return map(Paths.get(file));
+      } catch (IOException | RuntimeException e) {
+        throw new IllegalStateException("Unable to read the VSOP87 binary data file " + file
+            + " named by " + DATA_FILE_PROPERTY, e);
+      }
+    }
+    InputStream in = VSOPBinaryData.class.getResourceAsStream(RESOURCE_NAME);
+    if (in != null) {
+      try {
+        return load(in);
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to read the VSOP87 binary data resource "
+            + RESOURCE_NAME, e);
+      }
+    }
+    return Collections.emptyMap();
+  }
+}
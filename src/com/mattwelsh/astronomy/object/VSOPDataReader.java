@@ -13,8 +13,9 @@
 
 package com.mattwelsh.astronomy.object;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.Scanner;
+import java.io.UncheckedIOException;
 
 /**
  * This class is used to read the VSOP data files and are subclassed for the planets Mercury to
@@ -32,6 +33,7 @@ public class VSOPDataReader {
   protected double t3;
   protected double t4;
   protected double t5;
+  protected final Accuracy accuracy;
 
   /**
    * Create an instance of a data reader using the specified julian date to compute the series sum.
@@ -39,6 +41,18 @@ public class VSOPDataReader {
    * @param t The specified julian date to compute the series sum.
    */
   public VSOPDataReader(double t) {
+    this(t, Accuracy.FULL);
+  }
+
+  /**
+   * Create an instance of a data reader using the specified julian date to compute the series sum,
+   * leaving out as many of the small terms as the passed accuracy allows.
+   *
+   * @param t The specified julian date to compute the series sum.
+   * @param accuracy The accuracy the series sums must have.
+   */
+  public VSOPDataReader(double t, Accuracy accuracy) {
+    this.accuracy = accuracy;
     this.t = t;
     this.t2 = t * t;
     this.t3 = t2 * t;
@@ -46,6 +60,100 @@ public class VSOPDataReader {
     this.t5 = t4 * t;
   }
 
+  /**
+   * Returns the accuracy this reader computes its series to.
+   *
+   * @return The accuracy this reader computes its series to.
+   */
+  public Accuracy getAccuracy() {
+    return this.accuracy;
+  }
+
+  /**
+   * Evaluates the series in the data file with the passed name. The file is located relative to
+   * the class of this reader, and is only parsed the first time any reader asks for it. After that
+   * the terms are shared in memory by every reader.
+   *
+   * @param resourceName The name of the data file, for example "longitude0.data".
+   * @return The series evaluated.
+   */
+  protected double computeSeries(String resourceName) {
+    return VSOPTermTable.forResource(getClass(), resourceName).evaluate(t);
+  }
+
+  /**
+   * Computes one coordinate from its six series, named prefix0.data to prefix5.data, as
+   * x0 + x1 * t + x2 * t^2 + x3 * t^3 + x4 * t^4 + x5 * t^5. The series are truncated as allowed
+   * by the accuracy of this reader. The sum is done by the VSOP87 engine.
+   *
+   * @param prefix The common prefix of the names of the six data files, for example "longitude".
+   * @param angular True if the coordinate is an angle, false if it is a distance.
+   * @return The value of the coordinate.
+   */
+  protected double computeCoordinate(String prefix, boolean angular) {
+    return VSOP87.computeCoordinate(VSOP87.tables(getClass(), prefix), 0, angular, accuracy, t);
+  }
+
+  /**
+   * Returns a strict bound on the difference between the coordinate computed by
+   * computeCoordinate() and the one the complete series would give. It is zero at full accuracy.
+   *
+   * @param prefix The common prefix of the names of the six data files, for example "longitude".
+   * @param angular True if the coordinate is an angle, false if it is a distance.
+   * @return The bound, in radians for an angle or in AU for a distance.
+   */
+  protected double computeErrorBound(String prefix, boolean angular) {
+    return VSOP87.computeErrorBound(VSOP87.tables(getClass(), prefix), 0, angular, accuracy, t);
+  }
+
+  /**
+   * Computes one coordinate for many times at once, the batch form of computeCoordinate(). At full
+   * accuracy the results are identical to those of computeCoordinate(). Otherwise the series are
+   * truncated for the time furthest from J2000, which meets the accuracy at every time.
+   *
+   * @param anchor The class the data files are located relative to, normally a reader subclass.
+   * @param prefix The common prefix of the names of the six data files, for example "longitude".
+   * @param angular True if the coordinate is an angle, false if it is a distance.
+   * @param accuracy The accuracy the coordinate must have.
+   * @param t The times in julian millennia from J2000.0.
+   * @param out An array of at least t.length elements that receives the coordinate.
+   */
+  protected static void computeCoordinates(Class<?> anchor, String prefix, boolean angular,
+      Accuracy accuracy, double[] t, double[] out) {
+    VSOP87.computeCoordinates(VSOP87.tables(anchor, prefix), 0, angular, accuracy, t, out);
+  }
+
+  /**
+   * Computes one coordinate at evenly spaced times, the stepping form of computeCoordinates().
+   * The series are advanced from one time to the next with the recurrence described in
+   * VSOPTermTable.evaluate(double, double, double[], int).
+   *
+   * @param anchor The class the data files are located relative to, normally a reader subclass.
+   * @param prefix The common prefix of the names of the six data files, for example "longitude".
+   * @param angular True if the coordinate is an angle, false if it is a distance.
+   * @param accuracy The accuracy the coordinate must have.
+   * @param t0 The first time in julian millennia from J2000.0.
+   * @param h The step in julian millennia.
+   * @param count The number of times.
+   * @param reseedInterval The number of steps between exact evaluations of the terms.
+   * @param out An array of at least count elements that receives the coordinate.
+   */
+  protected static void computeCoordinates(Class<?> anchor, String prefix, boolean angular,
+      Accuracy accuracy, double t0, double h, int count, int reseedInterval, double[] out) {
+    VSOP87.computeCoordinates(VSOP87.tables(anchor, prefix), 0, angular, accuracy, t0, h, count,
+        reseedInterval, out);
+  }
+
+  /**
+   * Converts julian day numbers to the times in julian millennia from J2000.0 the series use.
+   *
+   * @param julianDays The julian day numbers (TT).
+   * @return The times in julian millennia from J2000.0.
+   */
+  protected static double[] toMillennia(double[] julianDays) {
+    return VSOP87.toMillennia(julianDays);
+  }
+
   /**
    * Processes the data in the data files
    *
@@ -53,19 +161,10 @@ public class VSOPDataReader {
    * @return The series evaluated.
    */
   protected double computeSeries(InputStream inputStream) {
-    double[] data = new double[3];
-    double seriesVal = 0.0;
-
-    Scanner sc = new Scanner(inputStream);
-    while (sc.hasNext()) {
-      for (int i = 0; i < data.length; i++) {
-        data[i] = sc.nextDouble();
-      }
-      double coefficient = data[0];
-      double argument = data[1] + data[2] * t;
-      seriesVal = seriesVal + (coefficient * Math.cos(argument));
+    try {
+      return VSOPTermTable.parse("stream", inputStream).evaluate(t);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    sc.close();
-    return seriesVal;
   }
 }
@@ -0,0 +1,492 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class holds the terms of a single VSOP87 series (one of the files such as longitude0.data
+ * or x3.data) in memory. Each term is of the form A * cos(B + C * t) and the amplitudes, phases,
+ * and frequencies are kept in three parallel arrays so evaluating the series is pure arithmetic.
+ *
+ * <p>Tables are loaded the first time they are requested and then kept in a registry shared by
+ * all of the VSOP87a and VSOP87b data readers. Instances are immutable, so a table can be used by
+ * any number of threads at the same time.</p>
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class VSOPTermTable {
+
+  /** The number of times evaluated together by the batch evaluate, small enough to stay in L1. */
+  private static final int BLOCK_SIZE = 256;
+
+  /** The number of recurrence steps between exact evaluations used by default by the stepper. */
+  public static final int DEFAULT_RESEED_INTERVAL = 64;
+
+  private static final ConcurrentHashMap<String, VSOPTermTable> REGISTRY =
+      new ConcurrentHashMap<>();
+
+  private final String name;
+  private final double[] a;
+  private final double[] b;
+  private final double[] c;
+  private final double droppedAmplitude;
+  private final double maxAmplitude;
+  private final ConcurrentHashMap<Double, VSOPTermTable> truncations = new ConcurrentHashMap<>();
+  private volatile Truncation lastTruncation;
+
+  /**
+   * Create a table from the passed term arrays. The arrays are not copied, so callers must not
+   * modify them afterwards.
+   *
+   * @param name The name of the series, normally the path of the resource it was read from.
+   * @param a The amplitudes of the terms.
+   * @param b The phases of the terms in radians.
+   * @param c The frequencies of the terms in radians per julian millennium.
+   */
+  VSOPTermTable(String name, double[] a, double[] b, double[] c) {
+    this(name, a, b, c, 0.0);
+  }
+
+  private VSOPTermTable(String name, double[] a, double[] b, double[] c,
+      double droppedAmplitude) {
+    if (a.length != b.length || a.length != c.length) {
+      throw new IllegalArgumentException("Term arrays for " + name + " differ in length");
+    }
+    this.name = name;
+    this.a = a;
+    this.b = b;
+    this.c = c;
+    this.droppedAmplitude = droppedAmplitude;
+    double max = 0.0;
+    for (double amplitude : a) {
+      max = Math.max(max, Math.abs(amplitude));
+    }
+    this.maxAmplitude = max;
+  }
+
+  /**
+   * Returns the table for the data file with the passed name, located relative to the passed
+   * class in the same way as Class.getResourceAsStream(). The file is only read the first time it
+   * is requested, and is taken from the binary form of the data when that has been installed (see
+   * VSOPBinaryData).
+   *
+   * @param anchor The class the resource name is relative to, normally a data reader.
+   * @param resourceName The name of the data file, for example "longitude0.data".
+   * @return The shared table for the data file.
+   */
+  public static VSOPTermTable forResource(Class<?> anchor, String resourceName) {
+    String key = anchor.getPackage().getName().replace('.', '/') + '/' + resourceName;
+    VSOPTermTable table = REGISTRY.get(key);
+    if (table == null) {
+      table = REGISTRY.computeIfAbsent(key, k -> load(anchor, resourceName, k));
+    }
+    return table;
+  }
+
+  /**
+   * Returns the table for the data file with the passed class path, for example
+   * "com/mattwelsh/astronomy/object/VSOP87b/earth/longitude0.data". This is the same table
+   * forResource() returns for that file.
+   *
+   * @param path The path of the data file on the class path, without a leading slash.
+   * @return The shared table for the data file.
+   */
+  public static VSOPTermTable forPath(String path) {
+    VSOPTermTable table = REGISTRY.get(path);
+    if (table == null) {
+      table = REGISTRY.computeIfAbsent(path, k -> load(VSOPTermTable.class, '/' + path, k));
+    }
+    return table;
+  }
+
+  /**
+   * Parses the terms from the passed stream. The stream is expected to contain whitespace
+   * separated triples of amplitude, phase and frequency, which is the format of the data files.
+   * The numbers are parsed independently of the default locale.
+   *
+   * @param name The name to give the table.
+   * @param inputStream The stream to read, which is closed before this method returns.
+   * @return A table holding the terms in the stream.
+   * @throws IOException If the stream can not be read.
+   */
+  public static VSOPTermTable parse(String name, InputStream inputStream) throws IOException {
+    byte[] bytes;
+    try (InputStream in = inputStream) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 8192));
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      bytes = out.toByteArray();
+    }
+
+    double[] values = new double[Math.max(3, bytes.length / 16)];
+    int count = 0;
+    int pos = 0;
+    while (pos < bytes.length) {
+      while (pos < bytes.length && bytes[pos] <= ' ') {
+        pos++;
+      }
+      int start = pos;
+      while (pos < bytes.length && bytes[pos] > ' ') {
+        pos++;
+      }
+      if (pos > start) {
+        if (count == values.length) {
+          double[] grown = new double[values.length * 2];
+          System.arraycopy(values, 0, grown, 0, count);
+          values = grown;
+        }
+        values[count++] =
+            Double.parseDouble(new String(bytes, start, pos - start, StandardCharsets.US_ASCII));
+      }
+    }
+
+    if (count % 3 != 0) {
+      throw new IOException("Incomplete term in VSOP data " + name);
+    }
+    int terms = count / 3;
+    double[] a = new double[terms];
+    double[] b = new double[terms];
+    double[] c = new double[terms];
+    for (int i = 0; i < terms; i++) {
+      a[i] = values[3 * i];
+      b[i] = values[3 * i + 1];
+      c[i] = values[3 * i + 2];
+    }
+    return new VSOPTermTable(name, a, b, c);
+  }
+
+  /**
+   * Returns the name of the series, normally the path of the resource it was read from.
+   *
+   * @return The name of the series.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the number of terms in the series.
+   *
+   * @return The number of terms in the series.
+   */
+  public int size() {
+    return this.a.length;
+  }
+
+  /**
+   * Returns the amplitude of the term at the passed index.
+   *
+   * @param index The index of the term.
+   * @return The amplitude of the term.
+   */
+  public double getAmplitude(int index) {
+    return this.a[index];
+  }
+
+  /**
+   * Returns the phase in radians of the term at the passed index.
+   *
+   * @param index The index of the term.
+   * @return The phase of the term.
+   */
+  public double getPhase(int index) {
+    return this.b[index];
+  }
+
+  /**
+   * Returns the frequency in radians per julian millennium of the term at the passed index.
+   *
+   * @param index The index of the term.
+   * @return The frequency of the term.
+   */
+  public double getFrequency(int index) {
+    return this.c[index];
+  }
+
+  /**
+   * Returns the largest absolute amplitude of the terms in the series. It is found once, when the
+   * table is created.
+   *
+   * @return The largest absolute amplitude, or zero if the series is empty.
+   */
+  public double getMaxAmplitude() {
+    return this.maxAmplitude;
+  }
+
+  /**
+   * Returns the sum of the absolute amplitudes of the terms that were left out when this table was
+   * truncated. Since no term can contribute more than its amplitude, this is a strict bound on the
+   * difference between this table and the complete series. It is zero for a complete series.
+   *
+   * @return The sum of the absolute amplitudes of the terms that were left out.
+   */
+  public double getTruncationError() {
+    return this.droppedAmplitude;
+  }
+
+  /**
+   * Returns a table holding the largest terms of this series. The smallest terms are left out for
+   * as long as the sum of their absolute amplitudes stays within the passed limit, so the error of
+   * the returned table is never more than maxError. Truncated tables are cached, so asking again
+   * for the same limit returns the same instance.
+   *
+   * @param maxError The largest error allowed, in the units of the series.
+   * @return A table holding the retained terms in their original order, or this table if no term
+   *     can be left out.
+   */
+  public VSOPTermTable truncate(double maxError) {
+    if (maxError <= 0.0 || this.a.length == 0) {
+      return this;
+    }
+    // The limit asked for is nearly always the one asked for last, and checking that first saves
+    // boxing the key for the map.
+    Truncation last = this.lastTruncation;
+    if (last != null && last.maxError == maxError) {
+      return last.table;
+    }
+    VSOPTermTable table = this.truncations.get(maxError);
+    if (table == null) {
+      table = this.truncations.computeIfAbsent(maxError, this::createTruncation);
+    }
+    this.lastTruncation = new Truncation(maxError, table);
+    return table;
+  }
+
+  /**
+   * Evaluates the series for the passed time with the default SeriesKernel.
+   *
+   * @param t The time in julian millennia from J2000.0.
+   * @return The sum of A * cos(B + C * t) over all of the terms.
+   */
+  public double evaluate(double t) {
+    return evaluate(t, SeriesKernel.getDefault());
+  }
+
+  /**
+   * Evaluates the series for the passed time with the passed kernel.
+   *
+   * @param t The time in julian millennia from J2000.0.
+   * @param kernel The kernel to sum the series with.
+   * @return The sum of A * cos(B + C * t) over all of the terms.
+   */
+  public double evaluate(double t, SeriesKernel kernel) {
+    return kernel.sum(this.a, this.b, this.c, t);
+  }
+
+  /**
+   * Evaluates the series and its rate of change for the passed time with the default
+   * SeriesKernel, in the same pass over the terms.
+   *
+   * @param t The time in julian millennia from J2000.0.
+   * @param out An array of at least two elements that receives the sum of A * cos(B + C * t), the
+   *     same value evaluate(t) returns, and its derivative with respect to t, the sum of
+   *     -A * C * sin(B + C * t), per julian millennium.
+   */
+  public void evaluateWithDerivative(double t, double[] out) {
+    evaluateWithDerivative(t, out, SeriesKernel.getDefault());
+  }
+
+  /**
+   * Evaluates the series and its rate of change for the passed time with the passed kernel, in
+   * the same pass over the terms.
+   *
+   * @param t The time in julian millennia from J2000.0.
+   * @param out An array of at least two elements that receives the sum and its derivative.
+   * @param kernel The kernel to sum the series with.
+   */
+  public void evaluateWithDerivative(double t, double[] out, SeriesKernel kernel) {
+    kernel.sumWithDerivative(this.a, this.b, this.c, t, out);
+  }
+
+  /**
+   * Evaluates the series for each of the passed times with the default SeriesKernel.
+   *
+   * @param t The times in julian millennia from J2000.0.
+   * @param out An array of at least t.length elements that receives the sums.
+   */
+  public void evaluate(double[] t, double[] out) {
+    evaluate(t, out, SeriesKernel.getDefault());
+  }
+
+  /**
+   * Evaluates the series for each of the passed times with the passed kernel. The terms are the
+   * outer loop and the times the inner one, so each term is loaded once per block of times and the
+   * inner loop is a plain array loop the JIT compiler can unroll. Each sum adds the terms in the
+   * same order as evaluate(double, SeriesKernel), so the results are identical to calling it once
+   * per time.
+   *
+   * @param t The times in julian millennia from J2000.0.
+   * @param out An array of at least t.length elements that receives the sums.
+   * @param kernel The kernel to sum the series with.
+   */
+  public void evaluate(double[] t, double[] out, SeriesKernel kernel) {
+    if (out.length < t.length) {
+      throw new IllegalArgumentException("Output array is shorter than the time array");
+    }
+    double[] a = this.a;
+    double[] b = this.b;
+    double[] c = this.c;
+    for (int start = 0; start < t.length; start += BLOCK_SIZE) {
+      int end = Math.min(start + BLOCK_SIZE, t.length);
+      Arrays.fill(out, start, end, 0.0);
+      for (int i = 0; i < a.length; i++) {
+        kernel.accumulate(a[i], b[i], c[i], t, out, start, end);
+      }
+    }
+  }
+
+  /**
+   * Evaluates the series at the evenly spaced times t0, t0 + h, t0 + 2h, and so on. Rather than
+   * calling Math.cos for every term at every time, each term is advanced from one time to the next
+   * with the angle addition formulas
+   *
+   * <pre>
+   *   cos(x + C h) = cos(x) cos(C h) - sin(x) sin(C h)
+   *   sin(x + C h) = sin(x) cos(C h) + cos(x) sin(C h)
+   * </pre>
+   *
+   * <p>using cos(C h) and sin(C h) computed once per term, which costs four multiplies and two
+   * adds. Each step rounds the rotation by a few units in the last place, so the error of a term
+   * grows linearly with the number of steps since it was last computed exactly. To bound it every
+   * term is computed exactly again every reseedInterval steps, which keeps the error of a term
+   * below about 2.5 * reseedInterval * 2^-53 of its amplitude; for the default interval of 64 that
+   * is 2e-14 of the sum of the amplitudes of the series. That is less than the rounding of the
+   * argument B + C * t itself, which for the largest terms is a few 1e-13 radians once t is a
+   * julian millennium or more from J2000, and affects evaluate(double) just the same.</p>
+   *
+   * @param t0 The first time in julian millennia from J2000.0.
+   * @param h The step in julian millennia.
+   * @param out The array that receives the sums, one per time. Its length is the number of times.
+   * @param reseedInterval The number of steps between exact evaluations of the terms.
+   */
+  public void evaluate(double t0, double h, double[] out, int reseedInterval) {
+    if (reseedInterval < 1) {
+      throw new IllegalArgumentException("Reseed interval must be positive: " + reseedInterval);
+    }
+    double[] a = this.a;
+    double[] b = this.b;
+    double[] c = this.c;
+    double[] cosStep = new double[a.length];
+    double[] sinStep = new double[a.length];
+    for (int i = 0; i < a.length; i++) {
+      cosStep[i] = Math.cos(c[i] * h);
+      sinStep[i] = Math.sin(c[i] * h);
+    }
+    // The times are the outer loop here, one reseed interval at a time, so that the part of out
+    // being summed into stays in the L1 cache while every term is stepped through it.
+    for (int start = 0; start < out.length; start += reseedInterval) {
+      int end = Math.min(start + reseedInterval, out.length);
+      double tStart = t0 + start * h;
+      Arrays.fill(out, start, end, 0.0);
+      for (int i = 0; i < a.length; i++) {
+        double ai = a[i];
+        double cosStepI = cosStep[i];
+        double sinStepI = sinStep[i];
+        double angle = b[i] + c[i] * tStart;
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        for (int k = start; k < end; k++) {
+          out[k] += ai * cos;
+          double nextCos = cos * cosStepI - sin * sinStepI;
+          sin = sin * cosStepI + cos * sinStepI;
+          cos = nextCos;
+        }
+      }
+    }
+  }
+
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private VSOPTermTable createTruncation(double maxError) {
+    Integer[] order = new Integer[this.a.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(i -> Math.abs(this.a[i])));
+
+    boolean[] dropped = new boolean[this.a.length];
+    double sum = 0.0;
+    int count = 0;
+    for (int i : order) {
+      double amplitude = Math.abs(this.a[i]);
+      if (sum + amplitude > maxError) {
+        break;
+      }
+      sum += amplitude;
+      dropped[i] = true;
+      count++;
+    }
+    if (count == 0) {
+      return this;
+    }
+
+    int kept = this.a.length - count;
+    double[] ta = new double[kept];
+    double[] tb = new double[kept];
+    double[] tc = new double[kept];
+    for (int i = 0, j = 0; i < this.a.length; i++) {
+      if (!dropped[i]) {
+        ta[j] = this.a[i];
+        tb[j] = this.b[i];
+        tc[j] = this.c[i];
+        j++;
+      }
+    }
+    return new VSOPTermTable(this.name, ta, tb, tc, sum);
+  }
+
+  private static VSOPTermTable load(Class<?> anchor, String resourceName, String key) {
+    VSOPTermTable packed = VSOPBinaryData.installed().get(key);
+    if (packed != null) {
+      return packed;
+    }
+    InputStream in = anchor.getResourceAsStream(resourceName);
+    if (in == null) {
+      throw new IllegalArgumentException("VSOP data file not found: " + key);
+    }
+    try {
+      return parse(key, in);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read VSOP data file " + key, e);
+    }
+  }
+
+  /** A truncated table and the limit it was made for. */
+  private static final class Truncation {
+
+    private final double maxError;
+    private final VSOPTermTable table;
+
+    Truncation(double maxError, VSOPTermTable table) {
+      this.maxError = maxError;
+      this.table = table;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.time;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This class holds a value computed from a JulianDate, and computes it again only when it is
+ * asked for after the date has changed. When the date is a MutableJulianDate a change only marks
+ * the value stale, so a date that changes many times between reads, such as one driven by a time
+ * slider, costs one computation per read rather than one per change.
+ *
+ * <p>The value is computed from an immutable copy of the date, and is handed out together with
+ * the version of the date it was computed for, so a reader always gets a value computed for one
+ * date. The value should be immutable for readers on other threads to see it consistently. Two
+ * threads reading a stale value at the same time may both compute it.</p>
+ *
+ * @param <T> The type of the value.
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class DateBoundValue<T> {
+
+  private final JulianDate julianDate;
+  private final Function<JulianDate, T> function;
+  private final AtomicLong version = new AtomicLong();
+  private volatile Snapshot<T> snapshot;
+
+  /**
+   * Create a value bound to the passed date. Nothing is computed until the value is asked for.
+   *
+   * @param julianDate The date, which is listened to if it is a MutableJulianDate.
+   * @param function The function computing the value for a date.
+   */
+  public DateBoundValue(JulianDate julianDate, Function<JulianDate, T> function) {
+    this.julianDate = julianDate;
+    this.function = function;
+    if (julianDate instanceof MutableJulianDate) {
+      ((MutableJulianDate) julianDate).addDateChangedListener(evt -> invalidate());
+    }
+  }
+
+  /**
+   * Returns the value for the current date, computing it if the date has changed since it was
+   * last computed.
+   *
+   * @return The value for the current date.
+   */
+  public T get() {
+    Snapshot<T> current = this.snapshot;
+    long currentVersion = this.version.get();
+    if (current != null && current.version == currentVersion) {
+      return current.value;
+    }
+    // The version is read before the date, so a change made while computing leaves the new
+    // snapshot stale rather than passing it off as current.
+    T value = this.function.apply(new JulianDate(this.julianDate.getJulianDayNumber()));
+    this.snapshot = new Snapshot<>(currentVersion, value);
+    return value;
+  }
+
+  /**
+   * Returns true if the value will be computed on the next call to get().
+   *
+   * @return True if the value is stale.
+   */
+  public boolean isStale() {
+    Snapshot<T> current = this.snapshot;
+    return current == null || current.version != this.version.get();
+  }
+
+  /**
+   * Marks the value stale, so it is computed again on the next call to get(). This is called
+   * whenever a MutableJulianDate the value is bound to changes.
+   */
+  public void invalidate() {
+    this.version.incrementAndGet();
+  }
+
+  /**
+   * Returns the date the value is bound to.
+   *
+   * @return The date the value is bound to.
+   */
+  public JulianDate getJulianDate() {
+    return this.julianDate;
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private static final class Snapshot<T> {
+
+    private final long version;
+    private final T value;
+
+    Snapshot(long version, T value) {
+      this.version = version;
+      this.value = value;
+    }
+  }
+}
@@ -94,17 +94,29 @@ public class GreenwichSiderealTime {
     return this.meanSiderealTimeSecond;
   }
 
+  /**
+   * Computes the mean sidereal time at Greenwich for the passed julian day number (UT) without
+   * creating any objects, for callers that need it at many instants.
+   *
+   * @param julianDayNumber The julian day number (UT).
+   * @return The mean sidereal time in decimal degrees, in [0, 360).
+   */
+  public static double computeMeanSiderealTime(double julianDayNumber) {
+    double t = (julianDayNumber - 2451545.0) / 36525;
+    double mst = 280.46061837 +
+        (360.98564736629 * (julianDayNumber - 2451545.0)) +
+        (0.000387933 * t * t) -
+        (t * t * t /38710000.0);
+    return mst - 360.0 * Math.floor(mst / 360.0);
+  }
+
   // -----------------------------------------------------------------------------------------------
   // Protected and private methods
   // -----------------------------------------------------------------------------------------------
 
   private void computeFields() {
-    double t = (this.julianDate.getJulianDayNumber() - 2451545.0) / 36525;
-    double tempMST = 280.46061837 +
-        (360.98564736629 * (this.julianDate.getJulianDayNumber() - 2451545.0)) +
-        (0.000387933 * t * t) -
-        (t * t * t /38710000.0);
-    this.meanSiderealTime = reduceToRange(tempMST);
+    this.meanSiderealTime =
+        reduceToRange(computeMeanSiderealTime(this.julianDate.getJulianDayNumber()));
 
     this.meanSiderealTimeHour = (int)(this.meanSiderealTime / 15.0);
 
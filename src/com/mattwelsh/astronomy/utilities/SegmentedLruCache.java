@@ -0,0 +1,265 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * This class is a bounded least recently used cache that computes its missing values itself, for
+ * the caches of the library that memoize expensive results such as series sums and polynomial
+ * fits.
+ *
+ * <p>At most maxEntries values are kept; when a new one is added the least recently used one is
+ * dropped. The values are split by key over up to 16 access-ordered segments, each with its own
+ * lock and its share of maxEntries, so a lookup only locks one segment and an eviction takes
+ * constant time. A cache of fewer than 128 entries has a single segment and drops values in exact
+ * least recently used order; a larger one does so within each segment. A value the expiry test
+ * accepts is dropped the next time it is asked for, and computed again.</p>
+ *
+ * <p>The cache is safe to use from many threads. When several threads ask for the same missing
+ * key only one of them computes its value while the others wait for the result, and a key is
+ * computed once however the lookups of the threads interleave.</p>
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SegmentedLruCache<K, V> {
+
+  /** The largest number of segments the values are split over. */
+  private static final int SEGMENTS = 16;
+
+  /** The smallest number of values a segment is given. */
+  private static final int SEGMENT_MIN_ENTRIES = 64;
+
+  private final Function<? super K, ? extends V> loader;
+  private final Predicate<? super V> expired;
+  private final Segment<K, V>[] segments;
+  private final ConcurrentHashMap<K, FutureTask<V>> fills = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Create a cache whose values never expire.
+   *
+   * @param maxEntries The largest number of values to keep.
+   * @param loader The function computing the value of a missing key, never null.
+   */
+  public SegmentedLruCache(int maxEntries, Function<? super K, ? extends V> loader) {
+    this(maxEntries, loader, value -> false);
+  }
+
+  /**
+   * Create a cache whose values are dropped once the passed test accepts them.
+   *
+   * @param maxEntries The largest number of values to keep.
+   * @param loader The function computing the value of a missing key, never null.
+   * @param expired The test of whether a cached value is too old to be returned.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public SegmentedLruCache(int maxEntries, Function<? super K, ? extends V> loader,
+      Predicate<? super V> expired) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("Invalid cache size");
+    }
+    this.loader = loader;
+    this.expired = expired;
+    int count = Math.max(1, Math.min(SEGMENTS, maxEntries / SEGMENT_MIN_ENTRIES));
+    this.segments = new Segment[count];
+    for (int i = 0; i < count; i++) {
+      // The capacities add up to exactly maxEntries.
+      this.segments[i] = new Segment<>(maxEntries / count + (i < maxEntries % count ? 1 : 0),
+          this.evictions);
+    }
+  }
+
+  /**
+   * Returns the value of a key, computing it with the loader if it isn't cached or has expired.
+   * A RuntimeException thrown by the loader is thrown to every thread waiting for the value, and
+   * nothing is cached.
+   *
+   * @param key The key to look up.
+   * @return The value of the key.
+   */
+  public V get(K key) {
+    V value = lookup(key);
+    if (value != null) {
+      this.hits.increment();
+      return value;
+    }
+    this.misses.increment();
+    return fill(key);
+  }
+
+  /**
+   * Returns the number of values currently cached.
+   *
+   * @return The number of values currently cached.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : this.segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of lookups answered from a cached value.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups that had to compute a value, or wait for another thread to
+   * compute it.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the number of values dropped to stay within the size limit or because they expired.
+   *
+   * @return The number of evictions.
+   */
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  /** Drops every cached value. */
+  public void clear() {
+    for (Segment<K, V> segment : this.segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  // -----------------------------------------------------------------------------------------------
+  // Protected, package local, & and private methods
+  // -----------------------------------------------------------------------------------------------
+
+  private Segment<K, V> segment(K key) {
+    int hash = key.hashCode();
+    hash ^= hash >>> 16;
+    return this.segments[(hash & Integer.MAX_VALUE) % this.segments.length];
+  }
+
+  /**
+   * Returns the value of a key, marking it as the most recently used one of its segment, or null
+   * if there is none or it has expired, in which case it is dropped.
+   */
+  private V lookup(K key) {
+    Segment<K, V> segment = segment(key);
+    synchronized (segment) {
+      V value = segment.get(key);
+      if (value != null && this.expired.test(value)) {
+        segment.remove(key);
+        this.evictions.increment();
+        value = null;
+      }
+      return value;
+    }
+  }
+
+  private V fill(K key) {
+    FutureTask<V> task = new FutureTask<>(() -> {
+      // Another thread may have filled the key after our lookup missed it.
+      V value = lookup(key);
+      return value != null ? value : this.loader.apply(key);
+    });
+    FutureTask<V> running = this.fills.putIfAbsent(key, task);
+    if (running == null) {
+      running = task;
+      try {
+        task.run();
+        V value = task.get();
+        Segment<K, V> segment = segment(key);
+        synchronized (segment) {
+          segment.put(key, value);
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        // Reported below, by the same get() every waiting thread makes.
+      } finally {
+        this.fills.remove(key);
+      }
+    }
+
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return running.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw new IllegalStateException(cause);
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * This class holds the values of one segment in least recently used order, and drops the eldest
+   * when a put takes it over its capacity. It is guarded by its own monitor.
+   */
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+    private final transient LongAdder evictions;
+
+    Segment(int capacity, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      if (size() > this.capacity) {
+        this.evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+}
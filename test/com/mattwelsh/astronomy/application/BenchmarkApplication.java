@@ -0,0 +1,394 @@
+/*
+ *
+ */
+package com.mattwelsh.astronomy.application;
+
+import com.mattwelsh.astronomy.ephemeris.ChebyshevEphemerisCache;
+import com.mattwelsh.astronomy.ephemeris.EphemerisSource;
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.LunarPhaseFinder;
+import com.mattwelsh.astronomy.object.LunarRiseSetFinder;
+import com.mattwelsh.astronomy.object.LunarState;
+import com.mattwelsh.astronomy.object.MeeusLunarTheory;
+import com.mattwelsh.astronomy.object.Moon;
+import com.mattwelsh.astronomy.object.PlanetaryPositionService;
+import com.mattwelsh.astronomy.object.SeriesKernel;
+import com.mattwelsh.astronomy.object.SolarSystemSnapshot;
+import com.mattwelsh.astronomy.object.TopocentricLunarComputer;
+import com.mattwelsh.astronomy.object.VSOP87;
+import com.mattwelsh.astronomy.object.VSOPTermTable;
+import com.mattwelsh.astronomy.object.VSOP87a.GeocentricComputer;
+import com.mattwelsh.astronomy.object.VSOP87b.EarthComputer;
+import com.mattwelsh.astronomy.object.VSOP87b.VenusComputer;
+import com.mattwelsh.astronomy.object.VSOP87b.earth.EarthLbrDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.venus.VenusLbrDataReader;
+import com.mattwelsh.astronomy.observer.Site;
+import com.mattwelsh.astronomy.time.JulianDate;
+import com.mattwelsh.astronomy.time.MutableJulianDate;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements a small benchmark application that times some of the more expensive
+ * computations in the Urania library. Like TestApplication it isn't rigorous; each case is warmed
+ * up and then timed with System.nanoTime(), which is enough to compare the options the library
+ * offers against each other on one machine.
+ *
+ * @author Matt Welsh (mitya.welsh@gmail.com)
+ * @version 1.0
+ * @since 1.0
+ */
+public class BenchmarkApplication {
+
+  private static final int WARMUP = 2000;
+  private static final int ITERATIONS = 5000;
+
+  private double sink;
+
+  public static void main(String[] args) {
+    BenchmarkApplication benchmarkApp = new BenchmarkApplication();
+  }
+
+  public BenchmarkApplication() {
+    benchmarkAccuracy();
+    benchmarkChebyshevCache();
+    benchmarkBatch();
+    benchmarkKernels();
+    benchmarkParallel();
+    benchmarkSnapshot();
+    benchmarkApparentPositions();
+    benchmarkState();
+    benchmarkGeocentric();
+    benchmarkMoon();
+    benchmarkLunarPhases();
+    benchmarkMoonrise();
+    benchmarkTopocentric();
+    System.out.println("\n(ignore) " + sink);
+  }
+
+  private void benchmarkAccuracy() {
+    System.out.println("VSOP87b Venus + Earth by accuracy");
+    double fullTime = 0.0;
+    for (Accuracy accuracy : Accuracy.values()) {
+      double nanos = time(i -> {
+        JulianDate jd = new JulianDate(2451545.0 + i * 0.37);
+        VenusComputer venus = new VenusComputer(jd, accuracy);
+        EarthComputer earth = new EarthComputer(jd, accuracy);
+        sink += venus.getHeliocentricLongitude() + earth.getHeliocentricLongitude();
+      });
+      if (accuracy == Accuracy.FULL) {
+        fullTime = nanos;
+      }
+      VenusComputer venus = new VenusComputer(new JulianDate(2451545.0), accuracy);
+      System.out.printf("  %-10s %10.0f ns/eval  speedup %5.1fx  Venus L bound %.3e rad%n",
+          accuracy, nanos, fullTime / nanos, venus.getLongitudeErrorBound());
+    }
+  }
+
+  private void benchmarkChebyshevCache() {
+    System.out.println("VSOP87b Venus, direct vs. Chebyshev cache (16 day granules)");
+    EphemerisSource source = EphemerisSource.fromLbr(VenusLbrDataReader::new);
+    ChebyshevEphemerisCache cache = new ChebyshevEphemerisCache(source, 16.0, 12, 1e-9, 4096);
+    double[] xyz = new double[3];
+    double direct = time(i -> {
+      source.computePosition(2451545.0 + i * 0.37, xyz);
+      sink += xyz[0];
+    });
+    // The warm up fills the cache, so this times the steady state of repeated queries in one era.
+    double cached = time(i -> {
+      cache.computePosition(2451545.0 + (i % WARMUP) * 0.37, xyz);
+      sink += xyz[0];
+    });
+    System.out.printf("  direct %10.0f ns/eval%n  cached %10.0f ns/eval  speedup %5.1fx%n",
+        direct, cached, direct / cached);
+  }
+
+  private void benchmarkBatch() {
+    System.out.println("VSOP87b Venus, 100 year daily ephemeris");
+    double[] days = new double[36525];
+    for (int k = 0; k < days.length; k++) {
+      days[k] = 2451545.0 + k;
+    }
+    double[] l = new double[days.length];
+    double[] b = new double[days.length];
+    double[] r = new double[days.length];
+    VenusComputer venus = new VenusComputer(new JulianDate(days[0]));
+    venus.evaluate(days, l, b, r);
+    long start = System.nanoTime();
+    venus.evaluate(days, l, b, r);
+    double batch = (System.nanoTime() - start) / (double) days.length;
+    start = System.nanoTime();
+    for (double day : days) {
+      venus.setJulianDate(new JulianDate(day));
+      sink += venus.getHeliocentricLongitude();
+    }
+    double single = (System.nanoTime() - start) / (double) days.length;
+    venus.evaluate(days[0], 1.0, days.length, l, b, r);
+    start = System.nanoTime();
+    venus.evaluate(days[0], 1.0, days.length, l, b, r);
+    double stepped = (System.nanoTime() - start) / (double) days.length;
+    sink += l[days.length - 1];
+    System.out.printf("  one at a time %10.0f ns/date%n  batch         %10.0f ns/date"
+        + "  speedup %5.1fx%n  stepped       %10.0f ns/date  speedup %5.1fx%n", single, batch,
+        single / batch, stepped, single / stepped);
+  }
+
+  private void benchmarkKernels() {
+    VSOPTermTable table = VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data");
+    System.out.println("VSOP87b Earth longitude0 (" + table.size() + " terms) by series kernel");
+    double[] t = new double[1024];
+    for (int k = 0; k < t.length; k++) {
+      t[k] = k / 1024.0;
+    }
+    double[] out = new double[t.length];
+    double scalarTime = 0.0;
+    for (SeriesKernel kernel : SeriesKernel.values()) {
+      double single = time(i -> sink += table.evaluate(i / 5000.0, kernel));
+      long start = System.nanoTime();
+      for (int i = 0; i < 20; i++) {
+        table.evaluate(t, out, kernel);
+      }
+      double batch = (System.nanoTime() - start) / (20.0 * t.length);
+      sink += out[t.length - 1];
+      if (kernel == SeriesKernel.SCALAR) {
+        scalarTime = single;
+      }
+      System.out.printf("  %-10s %10.0f ns/eval  batch %10.0f ns/eval  speedup %5.1fx%n",
+          kernel, single, batch, scalarTime / single);
+    }
+  }
+
+  private void benchmarkParallel() {
+    System.out.println("VSOP87b Earth, one instant, on "
+        + ForkJoinPool.commonPool().getParallelism() + " pool threads");
+    double[] lbr = new double[3];
+    double sequential = time(i -> {
+      VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4, lbr);
+      sink += lbr[0];
+    });
+    double parallel = time(i -> {
+      VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4, lbr,
+          ForkJoinPool.commonPool());
+      sink += lbr[0];
+    });
+    System.out.printf("  sequential %10.0f ns/eval%n  fork/join  %10.0f ns/eval  speedup %5.1fx%n",
+        sequential, parallel, sequential / parallel);
+  }
+
+  private void benchmarkSnapshot() {
+    System.out.println("Solar system snapshot, all nine VSOP87a bodies");
+    for (Accuracy accuracy : new Accuracy[] {Accuracy.FULL, Accuracy.ARCSEC_10}) {
+      double nanos = time(i -> sink += SolarSystemSnapshot.at(new JulianDate(2451545.0 + i * 0.37),
+          accuracy).getGeocentricLongitude(VSOP87.Body.MARS));
+      System.out.printf("  %-10s %10.0f ns/frame%n", accuracy, nanos);
+    }
+  }
+
+  private void benchmarkApparentPositions() {
+    System.out.println("Apparent RA/Dec of the Sun and the seven other planets, ARCSEC_10");
+    VSOP87.Body[] bodies = {VSOP87.Body.SUN, VSOP87.Body.MERCURY, VSOP87.Body.VENUS,
+        VSOP87.Body.MARS, VSOP87.Body.JUPITER, VSOP87.Body.SATURN, VSOP87.Body.URANUS,
+        VSOP87.Body.NEPTUNE};
+    double separate = time(i -> {
+      JulianDate jd = new JulianDate(2451545.0 + i * 0.37);
+      for (VSOP87.Body body : bodies) {
+        sink += new PlanetaryPositionService(Accuracy.ARCSEC_10).getApparentPosition(body, jd)
+            .getRightAscension().getDecimalDegrees();
+      }
+    });
+    PlanetaryPositionService service = new PlanetaryPositionService(Accuracy.ARCSEC_10);
+    double shared = time(i -> sink += service.getApparentPositions(
+        new JulianDate(2451545.0 + i * 0.37), bodies)[0].getRightAscension().getDecimalDegrees());
+    System.out.printf("  per body   %10.0f ns/frame%n", separate);
+    System.out.printf("  shared     %10.0f ns/frame  speedup %5.1fx%n", shared, separate / shared);
+  }
+
+  private void benchmarkState() {
+    System.out.println("VSOP87b Earth state vector, full accuracy");
+    double[] lbr = new double[3];
+    double[] rates = new double[3];
+    double position = time(i -> {
+      VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4, lbr);
+      sink += lbr[0];
+    });
+    double state = time(i -> {
+      VSOP87.computeState(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4, lbr,
+          rates);
+      sink += rates[0];
+    });
+    double[] before = new double[3];
+    double[] after = new double[3];
+    double differenced = time(i -> {
+      VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4, lbr);
+      VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4 - 1e-7, before);
+      VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.B, Accuracy.FULL, i * 1e-4 + 1e-7, after);
+      sink += after[0] - before[0];
+    });
+    System.out.printf("  position           %10.0f ns/eval%n", position);
+    System.out.printf("  analytic state     %10.0f ns/eval  %5.2fx position%n", state,
+        state / position);
+    System.out.printf("  finite difference  %10.0f ns/eval  %5.2fx position%n", differenced,
+        differenced / position);
+  }
+
+  private void benchmarkGeocentric() {
+    System.out.println("VSOP87a geocentric positions of the seven other planets, ARCSEC_10");
+    VSOP87.Body[] bodies = {VSOP87.Body.MERCURY, VSOP87.Body.VENUS, VSOP87.Body.MARS,
+        VSOP87.Body.JUPITER, VSOP87.Body.SATURN, VSOP87.Body.URANUS, VSOP87.Body.NEPTUNE};
+    double[] earth = new double[3];
+    double[] planet = new double[3];
+    Case separate = i -> {
+      double t = i * 1e-5;
+      for (VSOP87.Body body : bodies) {
+        VSOP87.compute(VSOP87.Body.EARTH, VSOP87.Variant.A, Accuracy.ARCSEC_10, t, earth);
+        VSOP87.compute(body, VSOP87.Variant.A, Accuracy.ARCSEC_10, t, planet);
+        sink += planet[0] - earth[0];
+      }
+    };
+    GeocentricComputer computer = new GeocentricComputer(new JulianDate(2451545.0),
+        Accuracy.ARCSEC_10);
+    double[] xyz = new double[3 * bodies.length];
+    Case shared = i -> {
+      computer.setJulianDayNumber(2451545.0 + i * 3.6525);
+      computer.computePositions(bodies, xyz);
+      sink += xyz[0];
+    };
+    double separateNanos = time(separate);
+    double sharedNanos = time(shared);
+    System.out.printf("  Earth per body %10.0f ns/frame %8.0f bytes/frame%n", separateNanos,
+        allocatedPerRun(separate));
+    System.out.printf("  shared Earth   %10.0f ns/frame %8.0f bytes/frame  speedup %5.1fx%n",
+        sharedNanos, allocatedPerRun(shared), separateNanos / sharedNanos);
+  }
+
+  private void benchmarkMoon() {
+    System.out.println("Meeus lunar position, one minute apart");
+    Case moon = i -> sink += new Moon(new JulianDate(2451545.0 + i / 1440.0)).getDistance();
+    double nanos = time(moon);
+    System.out.printf("  new Moon   %10.0f ns/eval %8.0f bytes/eval%n", nanos,
+        allocatedPerRun(moon));
+    Case state = i -> sink += MeeusLunarTheory.compute(2451545.0 + i / 1440.0).getDistance();
+    nanos = time(state);
+    System.out.printf("  state      %10.0f ns/eval %8.0f bytes/eval%n", nanos,
+        allocatedPerRun(state));
+    MutableJulianDate slider = new MutableJulianDate(2451545.0);
+    Moon bound = new Moon(slider);
+    nanos = time(i -> {
+      for (int j = 0; j < 100; j++) {
+        slider.setJulianDayNumber(2451545.0 + i + j / 1440.0);
+      }
+      sink += bound.getDistance();
+    });
+    System.out.printf("  100 changes, one read %10.0f ns%n", nanos);
+    double[] week = new double[7 * 1440];
+    for (int i = 0; i < week.length; i++) {
+      week[i] = 2451545.0 + i / 1440.0;
+    }
+    Case batch = i -> sink += MeeusLunarTheory.compute(week, Accuracy.FULL).getDistances()[i];
+    for (int i = 0; i < 20; i++) {
+      batch.run(i);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < 50; i++) {
+      batch.run(i);
+    }
+    System.out.printf("  batch      %10.0f ns/eval%n", (System.nanoTime() - start) / 50.0
+        / week.length);
+    for (Accuracy accuracy : Accuracy.values()) {
+      double error = 0.0;
+      for (int i = 0; i < 1000; i++) {
+        double jd = 2451545.0 + i * 7.3;
+        error = Math.max(error, Math.abs(MeeusLunarTheory.compute(jd, accuracy).getLongitude()
+            - MeeusLunarTheory.compute(jd).getLongitude()));
+      }
+      nanos = time(i -> sink += MeeusLunarTheory.compute(2451545.0 + i / 1440.0, accuracy)
+          .getDistance());
+      System.out.printf("  %-10s %10.0f ns/eval  longitude error %6.2f\"%n", accuracy, nanos,
+          error * 3600.0);
+    }
+  }
+
+  private void benchmarkLunarPhases() {
+    System.out.println("Lunar phases over a century");
+    for (Accuracy accuracy : Accuracy.values()) {
+      LunarPhaseFinder finder = new LunarPhaseFinder(accuracy);
+      finder.find(2451545.0, 2451545.0 + 10 * 365.25);
+      long start = System.nanoTime();
+      int count = finder.find(2451545.0, 2451545.0 + 100 * 365.25).size();
+      double millis = (System.nanoTime() - start) / 1e6;
+      System.out.printf("  %-10s %10.0f ms  %5d phases %8.1f us/phase%n", accuracy, millis, count,
+          1000.0 * millis / count);
+    }
+  }
+
+  private void benchmarkMoonrise() {
+    System.out.println("Moonrise, transit, and moonset for a year");
+    LunarRiseSetFinder finder = new LunarRiseSetFinder();
+    Site[] sites = new Site[100];
+    for (int i = 0; i < sites.length; i++) {
+      sites[i] = new Site("Site " + i, -60.0 + 1.2 * i, -180.0 + 3.6 * i, 0.0);
+    }
+    JulianDate first = new JulianDate(2460310.5);
+    for (int i = 0; i < 20; i++) {
+      finder.compute(sites, first, 365);
+    }
+    long start = System.nanoTime();
+    finder.compute(sites[0], first, 365);
+    double single = (System.nanoTime() - start) / 1e6;
+    start = System.nanoTime();
+    finder.compute(sites, first, 365);
+    double all = (System.nanoTime() - start) / 1e6;
+    System.out.printf("  one site   %10.2f ms%n  %d sites  %10.2f ms  %8.3f ms/site%n", single,
+        sites.length, all, all / sites.length);
+  }
+
+  private void benchmarkTopocentric() {
+    System.out.println("Topocentric lunar positions for 1000 sites at one instant");
+    Site[] sites = new Site[1000];
+    for (int i = 0; i < sites.length; i++) {
+      sites[i] = new Site("Site " + i, -60.0 + 0.12 * i, -180.0 + 0.36 * i, 0.0);
+    }
+    TopocentricLunarComputer computer = new TopocentricLunarComputer(sites);
+    LunarState moon = MeeusLunarTheory.compute(2460000.5);
+    double[] ra = new double[sites.length];
+    double[] dec = new double[sites.length];
+    double nanos = time(i -> {
+      computer.computeSites(moon, ra, dec);
+      sink += dec[i % sites.length];
+    });
+    System.out.printf("  batch      %10.0f ns/site%n", nanos / sites.length);
+    nanos = time(i -> sink += computer.getRaDec(i % sites.length, moon).getDeclination()
+        .getDecimalDegrees());
+    System.out.printf("  one site   %10.0f ns/site%n", nanos);
+  }
+
+  /** Returns the bytes allocated by one run of a case, or NaN if the JVM can't tell. */
+  private double allocatedPerRun(Case benchmarkCase) {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      return Double.NaN;
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long id = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(id);
+    for (int i = 0; i < ITERATIONS; i++) {
+      benchmarkCase.run(i);
+    }
+    return (threads.getThreadAllocatedBytes(id) - before) / (double) ITERATIONS;
+  }
+
+  private double time(Case benchmarkCase) {
+    for (int i = 0; i < WARMUP; i++) {
+      benchmarkCase.run(i);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      benchmarkCase.run(i);
+    }
+    return (System.nanoTime() - start) / (double) ITERATIONS;
+  }
+
+  private interface Case {
+    void run(int i);
+  }
+}
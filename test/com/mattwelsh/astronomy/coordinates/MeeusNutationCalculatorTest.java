@@ -29,4 +29,46 @@ public class MeeusNutationCalculatorTest {
     Assert.assertEquals(meeus.getNutation().getNutationInObliquity(), 9.443, 0.001);
     Assert.assertEquals(meeus.getNutation().getTrueObliquityOfEcliptic(), 23.44357, 0.00001);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testAgreesWithDirectEvaluation() {
+    // Julian day, nutation in longitude, and nutation in obliquity computed by summing each
+    // periodic term with Math.sin() and Math.cos().
+    double[][] expected = {
+      {2448724.50, 16.594545224571420, 1.2229496981802590},
+      {2451545.00, -13.923152677481202, -5.7739096541535910},
+      {2415020.00, 17.339017967811880, -2.2953141531916820},
+      {2460000.25, -9.2612649243433140, 7.7444199963220700},
+      {2469807.50, 15.166060401084327, -5.3319811282319650}
+    };
+    for (double[] row : expected) {
+      Nutation nutation =
+          NutationCalculatorFactory.MEEUS.getCalculator(new JulianDate(row[0])).getNutation();
+      Assert.assertEquals(nutation.getNutationInLongitude(), row[1], 1e-10);
+      Assert.assertEquals(nutation.getNutationInObliquity(), row[2], 1e-10);
+    }
+  }
+
+  @Test
+  public void testBlockMatchesCalculator() {
+    double[] julianDays = new double[300];
+    for (int i = 0; i < julianDays.length; i++) {
+      julianDays[i] = 2415020.0 + i * 123.4;
+    }
+    MeeusNutationBlock block = new MeeusNutationBlock(128);
+    for (int from = 0; from < julianDays.length; from += block.size()) {
+      int count = Math.min(block.size(), julianDays.length - from);
+      block.compute(julianDays, from, count);
+      for (int j = 0; j < count; j++) {
+        Nutation nutation = NutationCalculatorFactory.MEEUS
+            .getCalculator(new JulianDate(julianDays[from + j])).getNutation();
+        Assert.assertEquals(block.getNutationsInLongitude()[j],
+            nutation.getNutationInLongitude(), 0.0);
+        Assert.assertEquals(block.getNutationsInObliquity()[j],
+            nutation.getNutationInObliquity(), 0.0);
+        Assert.assertEquals(block.getTrueObliquitiesOfEcliptic()[j],
+            nutation.getTrueObliquityOfEcliptic(), 0.0);
+      }
+    }
+  }
+}
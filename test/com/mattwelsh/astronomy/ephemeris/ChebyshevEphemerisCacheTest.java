@@ -0,0 +1,62 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import com.mattwelsh.astronomy.object.VSOP87a.earth.EarthRectangularDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.venus.VenusLbrDataReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChebyshevEphemerisCacheTest {
+
+  @Test
+  public void testMatchesSource() {
+    EphemerisSource source = EphemerisSource.fromLbr(VenusLbrDataReader::new);
+    ChebyshevEphemerisCache cache = new ChebyshevEphemerisCache(source, 16.0, 12, 1e-9, 64);
+    double[] expected = new double[3];
+    double[] actual = new double[3];
+    for (double jd = 2451000.0; jd < 2452000.0; jd += 3.7) {
+      source.computePosition(jd, expected);
+      cache.computePosition(jd, actual);
+      for (int axis = 0; axis < 3; axis++) {
+        Assert.assertEquals(actual[axis], expected[axis], 1e-9);
+      }
+    }
+    Assert.assertTrue(cache.getHitCount() > cache.getMissCount());
+  }
+
+  @Test
+  public void testVelocity() {
+    EphemerisSource source = EphemerisSource.fromRectangular(EarthRectangularDataReader::new);
+    ChebyshevEphemerisCache cache = new ChebyshevEphemerisCache(source, 16.0, 12, 1e-9, 8);
+    double jd = 2458849.5;
+    double h = 0.01;
+    double[] before = new double[3];
+    double[] after = new double[3];
+    double[] velocity = new double[3];
+    source.computePosition(jd - h, before);
+    source.computePosition(jd + h, after);
+    cache.computeVelocity(jd, velocity);
+    for (int axis = 0; axis < 3; axis++) {
+      Assert.assertEquals(velocity[axis], (after[axis] - before[axis]) / (2.0 * h), 1e-8);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testToleranceTooTight() {
+    EphemerisSource source = EphemerisSource.fromLbr(VenusLbrDataReader::new);
+    new ChebyshevEphemerisCache(source, 4000.0, 4, 1e-12, 4).computePosition(2451545.0,
+        new double[3]);
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.ephemeris;
+
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EphemerisFileTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMatchesSource() throws IOException {
+    EphemerisFile file = EphemerisFile.open(write());
+    Assert.assertEquals(file.getTolerance(), 1e-9, 0.0);
+    Assert.assertEquals(file.getStartJulianDay(), 2451545.0, 0.0);
+    Assert.assertEquals(file.getEndJulianDay(), 2451745.0, 0.0);
+    Assert.assertEquals(file.getGranuleDays(VSOP87.Body.MERCURY), 8.0, 0.0);
+    Assert.assertTrue(file.hasBody(VSOP87.Body.SUN));
+    Assert.assertFalse(file.hasBody(VSOP87.Body.VENUS));
+
+    double[] expected = new double[3];
+    double[] actual = new double[3];
+    for (VSOP87.Body body : new VSOP87.Body[] {VSOP87.Body.MERCURY, VSOP87.Body.EARTH,
+        VSOP87.Body.SUN}) {
+      EphemerisSource source = EphemerisSource.fromVSOP87(body, VSOP87.Variant.A, Accuracy.FULL);
+      for (double jd = 2451545.0; jd <= 2451745.0; jd += 1.3) {
+        source.computePosition(jd, expected);
+        file.computePosition(body, jd, actual);
+        Assert.assertArrayEquals(actual, expected, 1e-9);
+      }
+      source.computePosition(2451745.0, expected);
+      file.getSource(body).computePosition(2451745.0, actual);
+      Assert.assertArrayEquals(actual, expected, 1e-9);
+    }
+
+    double[] before = new double[3];
+    double[] after = new double[3];
+    double[] velocity = new double[3];
+    file.computePosition(VSOP87.Body.EARTH, 2451600.0 - 0.01, before);
+    file.computePosition(VSOP87.Body.EARTH, 2451600.0 + 0.01, after);
+    file.computeVelocity(VSOP87.Body.EARTH, 2451600.0, velocity);
+    for (int axis = 0; axis < 3; axis++) {
+      Assert.assertEquals(velocity[axis], (after[axis] - before[axis]) / 0.02, 1e-8);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutsideSpan() throws IOException {
+    EphemerisFile.open(write()).computePosition(VSOP87.Body.EARTH, 2451745.5, new double[3]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingBody() throws IOException {
+    EphemerisFile.open(write()).computePosition(VSOP87.Body.VENUS, 2451600.0, new double[3]);
+  }
+
+  @Test(expected = IOException.class)
+  public void testChecksum() throws IOException {
+    Path path = write();
+    try (RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw")) {
+      // The low byte of the tolerance.
+      raf.seek(39);
+      raf.write(raf.read() ^ 1);
+    }
+    EphemerisFile.open(path);
+  }
+
+  private Path write() throws IOException {
+    EphemerisFileWriter writer = new EphemerisFileWriter(2451545.0, 2451745.0, 1e-9,
+        Accuracy.FULL);
+    writer.addBody(VSOP87.Body.MERCURY);
+    writer.addBody(VSOP87.Body.EARTH);
+    writer.addBody(VSOP87.Body.SUN);
+    Path path = folder.newFile("test.eph").toPath();
+    writer.write(path);
+    return path;
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ELPLunarTheoryTest {
+
+  private static final double[] DATES = {2415020.0, 2451545.0, 2460000.25, 2469807.5};
+
+  @Test
+  public void testMainProblem() throws IOException {
+    // The largest terms of Meeus tables 47.A and 47.B, which are those of the main problem of
+    // ELP2000-82B, in seconds of arc and kilometers.
+    Map<Integer, String[]> files = new HashMap<>();
+    files.put(1, new String[] {
+        main(0, 0, 1, 0, 22639.5864), main(2, 0, -1, 0, 4586.4972),
+        main(2, 0, 0, 0, 2369.9304), main(0, 0, 2, 0, 769.0248),
+        main(0, 1, 0, 0, -666.4176), main(0, 0, 0, 2, -411.5952)});
+    files.put(2, new String[] {
+        main(0, 0, 0, 1, 18461.2392), main(0, 0, 1, 1, 1010.1672),
+        main(0, 0, 1, -1, 999.6948)});
+    files.put(3, new String[] {
+        main(0, 0, 0, 0, 385000.56), main(0, 0, 1, 0, -20905.335),
+        main(2, 0, -1, 0, -3699.111), main(2, 0, 0, 0, -2955.968)});
+    ELPLunarTheory theory = theory(files);
+
+    for (double jd : DATES) {
+      // The arguments of Meeus, which are fitted anew to DE-series ephemerides. His mean longitude
+      // includes 0.7 seconds of light-time, and differs from that of the theory by about another
+      // second of arc in T^2 by 1900.
+      double t = (jd - 2451545.0) / 36525.0;
+      double lPrime = 218.3164477 + 481267.88123421 * t - 0.0015786 * t * t;
+      double d = Math.toRadians(297.8501921 + 445267.1114034 * t - 0.0018819 * t * t);
+      double m = Math.toRadians(357.5291092 + 35999.0502909 * t - 0.0001536 * t * t);
+      double mPrime = Math.toRadians(134.9633964 + 477198.8675055 * t + 0.0087414 * t * t);
+      double f = Math.toRadians(93.2720950 + 483202.0175233 * t - 0.0036539 * t * t);
+      double longitude = lPrime + (22639.5864 * Math.sin(mPrime)
+          + 4586.4972 * Math.sin(2 * d - mPrime) + 2369.9304 * Math.sin(2 * d)
+          + 769.0248 * Math.sin(2 * mPrime) - 666.4176 * Math.sin(m)
+          - 411.5952 * Math.sin(2 * f)) / 3600.0;
+      double latitude = (18461.2392 * Math.sin(f) + 1010.1672 * Math.sin(mPrime + f)
+          + 999.6948 * Math.sin(mPrime - f)) / 3600.0;
+      double distance = 385000.56 - 20905.335 * Math.cos(mPrime)
+          - 3699.111 * Math.cos(2 * d - mPrime) - 2955.968 * Math.cos(2 * d);
+
+      LunarState state = theory.compute(jd);
+      Assert.assertEquals(Math.IEEEremainder(state.getLongitude() - longitude, 360.0), 0.0,
+          2.0 / 3600.0);
+      Assert.assertEquals(state.getLatitude(), latitude, 0.1 / 3600.0);
+      Assert.assertEquals(state.getDistance(), distance, 0.1);
+      Assert.assertEquals(state.getJulianDayNumber(), jd, 0.0);
+    }
+  }
+
+  @Test
+  public void testPerturbations() throws IOException {
+    Map<Integer, String[]> files = new HashMap<>();
+    // Venus, in the first table of planetary perturbations of the longitude.
+    files.put(10, new String[] {planetary(0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 100.0)});
+    // Jupiter and l', in the second table, as a cosine of the distance.
+    files.put(18, new String[] {planetary(0, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 90.0, 2.0)});
+    // zeta, among the perturbations due to the figure of the Earth, as a cosine of the latitude.
+    files.put(5, new String[] {figure(1, 0, 0, 0, 0, 90.0, 50.0)});
+    // D times T, and F times T^2, in the longitude.
+    files.put(7, new String[] {figure(0, 1, 0, 0, 0, 30.0, 40.0)});
+    files.put(34, new String[] {figure(0, 0, 0, 0, 1, 0.0, 300.0)});
+    ELPLunarTheory theory = theory(files);
+
+    for (double jd : DATES) {
+      double t = (jd - 2451545.0) / 36525.0;
+      double venus = Math.toRadians(181.979801 + 58517.8156760 * t);
+      double jupiter = Math.toRadians(34.351484 + 3034.9056746 * t);
+      double m = Math.toRadians(357.5291092 + 35999.0502909 * t);
+      double zeta = Math.toRadians(218.3164477 + 481267.88123421 * t);
+      double d = Math.toRadians(297.8501921 + 445267.1114034 * t);
+      double f = Math.toRadians(93.2720950 + 483202.0175233 * t);
+      // W1, taken to the equinox of the date with the precession of Laskar.
+      double w1 = 0.0;
+      for (int k = ELPLunarTheory.W1.length - 1; k >= 0; k--) {
+        w1 = w1 * t + ELPLunarTheory.W1[k];
+      }
+      w1 += ((((-0.00002353 * t) + 0.000077) * t + 1.1120) * t + 5029.0966) * t;
+      double longitude = (w1 + 100.0 * Math.sin(venus)
+          + 40.0 * t * Math.sin(d + Math.toRadians(30.0)) + 300.0 * t * t * Math.sin(f)) / 3600.0;
+
+      LunarState state = theory.compute(jd);
+      Assert.assertEquals(Math.IEEEremainder(state.getLongitude() - longitude, 360.0), 0.0,
+          0.01 / 3600.0);
+      Assert.assertEquals(state.getLatitude(), 50.0 * Math.cos(zeta) / 3600.0, 0.01 / 3600.0);
+      Assert.assertEquals(state.getDistance(), 2.0 * Math.cos(jupiter + m), 1e-4);
+    }
+  }
+
+  @Test
+  public void testAccuracy() throws IOException {
+    List<String> terms = new ArrayList<>();
+    terms.add(main(0, 0, 1, 0, 22639.5864));
+    for (int i = 1; i <= 40; i++) {
+      terms.add(main(i % 5, 0, i % 3, 1 - i % 2, 0.5));
+    }
+    Map<Integer, String[]> files = new HashMap<>();
+    files.put(1, terms.toArray(new String[0]));
+    ELPLunarTheory theory = theory(files);
+
+    for (double jd : DATES) {
+      double full = theory.compute(jd).getLongitude();
+      double truncated = theory.compute(jd, Accuracy.ARCSEC_10).getLongitude();
+      Assert.assertNotEquals(truncated, full, 0.0);
+      // A third of the ten seconds of arc is left to each power of T.
+      Assert.assertEquals(Math.IEEEremainder(truncated - full, 360.0), 0.0, 10.0 / 3 / 3600.0);
+      Assert.assertEquals(theory.compute(jd, Accuracy.FULL).getLongitude(), full, 0.0);
+    }
+  }
+
+  @Test
+  public void testBlobRoundTrip() throws IOException {
+    Map<Integer, String[]> files = new HashMap<>();
+    files.put(1, new String[] {main(0, 0, 1, 0, 22639.5864)});
+    files.put(3, new String[] {main(0, 0, 0, 0, 385000.56)});
+    files.put(16, new String[] {planetary(1, -10, 0, 0, 0, 0, 0, 2, -1, 1, 0, 12.5, 0.25)});
+    Path directory = writeFiles(files);
+    try {
+      Map<String, VSOPTermTable> tables = ELPBinaryData.readTextTables(directory);
+      Assert.assertEquals(tables.size(), 12);
+      Assert.assertEquals(tables.get("elp2000-82b/longitude0").size(), 2);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      VSOPBinaryData.write(tables.values(), out);
+      ELPLunarTheory loaded = new ELPLunarTheory(
+          VSOPBinaryData.load(new ByteArrayInputStream(out.toByteArray())));
+      ELPLunarTheory parsed = new ELPLunarTheory(tables);
+      for (double jd : DATES) {
+        Assert.assertEquals(loaded.compute(jd).getRightAscension(),
+            parsed.compute(jd).getRightAscension(), 0.0);
+      }
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testMalformedTerm() throws IOException {
+    Map<Integer, String[]> files = new HashMap<>();
+    files.put(22, new String[] {"  0  1  x  0  0 90.00000   1.00000     1.000"});
+    Path directory = writeFiles(files);
+    try {
+      ELPBinaryData.readTextTables(directory);
+    } finally {
+      delete(directory);
+    }
+  }
+
+  @Test
+  public void testNotInstalled() throws IOException {
+    LunarCircumstanceComputer computer = LunarCircumstances.ELP2000_82B.getCalculator();
+    try {
+      computer.computeCircumstances(new JulianDate(2451545.0));
+      Assert.fail("No tables are installed");
+    } catch (IllegalStateException e) {
+      Assert.assertNull(e.getCause());
+    }
+
+    Path missing = Files.createTempFile("elp2000", ".bin");
+    Files.delete(missing);
+    System.setProperty(ELPBinaryData.DATA_FILE_PROPERTY, missing.toString());
+    try {
+      ELPLunarTheory.getInstalled();
+      Assert.fail("The configured tables don't exist");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    } finally {
+      System.clearProperty(ELPBinaryData.DATA_FILE_PROPERTY);
+    }
+  }
+
+  private static String main(int d, int lPrime, int l, int f, double amplitude) {
+    return String.format(Locale.ROOT, "%3d%3d%3d%3d  %13.5f%12.2f%12.2f%12.2f%12.2f%12.2f%12.2f",
+        d, lPrime, l, f, amplitude, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+  }
+
+  private static String figure(int zeta, int d, int lPrime, int l, int f, double phase,
+      double amplitude) {
+    return String.format(Locale.ROOT, "%3d%3d%3d%3d%3d %9.5f %9.5f %9.3f", zeta, d, lPrime, l,
+        f, phase, amplitude, 0.0);
+  }
+
+  private static String planetary(int a, int b, int c, int d, int e, int f, int g, int h, int i,
+      int j, int k, double phase, double amplitude) {
+    return String.format(Locale.ROOT, "%3d%3d%3d%3d%3d%3d%3d%3d%3d%3d%3d %9.5f %9.5f %9.3f", a,
+        b, c, d, e, f, g, h, i, j, k, phase, amplitude, 0.0);
+  }
+
+  private static ELPLunarTheory theory(Map<Integer, String[]> files) throws IOException {
+    Path directory = writeFiles(files);
+    try {
+      return new ELPLunarTheory(ELPBinaryData.readTextTables(directory));
+    } finally {
+      delete(directory);
+    }
+  }
+
+  private static Path writeFiles(Map<Integer, String[]> files) throws IOException {
+    Path directory = Files.createTempDirectory("elp2000");
+    for (int file = 1; file <= ELPBinaryData.FILES; file++) {
+      List<String> lines = new ArrayList<>();
+      lines.add(" ELP2000-82B FILE " + file);
+      for (String line : files.getOrDefault(file, new String[0])) {
+        lines.add(line);
+      }
+      Files.write(directory.resolve("ELP" + file), lines, StandardCharsets.US_ASCII);
+    }
+    return directory;
+  }
+
+  private static void delete(Path directory) throws IOException {
+    for (int file = 1; file <= ELPBinaryData.FILES; file++) {
+      Files.deleteIfExists(directory.resolve("ELP" + file));
+    }
+    Files.delete(directory);
+  }
+}
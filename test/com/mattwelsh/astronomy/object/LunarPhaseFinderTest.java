@@ -0,0 +1,95 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LunarPhaseFinderTest {
+
+  /** One minute, in days. */
+  private static final double MINUTE = 1.0 / 1440.0;
+
+  @Test
+  public void testMeeusExamples() {
+    LunarPhaseFinder finder = new LunarPhaseFinder();
+
+    // Example 49.a: the new moon of 1977 February 18, 3h37m42s TD.
+    LunarPhaseEvent newMoon = finder.find(-283, LunarPhase.NEW_MOON);
+    Assert.assertEquals(newMoon.getJulianDayNumber(), 2443192.65118, MINUTE);
+    Assert.assertEquals(Math.IEEEremainder(finder.getElongation(newMoon.getJulianDayNumber()),
+        360.0), 0.0, 1e-6);
+
+    // Example 49.b: the last quarter of 2044 January 21, 23h47m51s TD.
+    LunarPhaseEvent lastQuarter = finder.find(544, LunarPhase.LAST_QUARTER);
+    Assert.assertEquals(lastQuarter.getJulianDayNumber(), 2467636.49186, MINUTE);
+    Assert.assertEquals(finder.getElongation(lastQuarter.getJulianDayNumber()), 270.0, 1e-6);
+
+    // The mean phase of the same examples.
+    Assert.assertEquals(LunarPhaseFinder.meanPhase(-283), 2443192.94102, 1e-5);
+    Assert.assertEquals(LunarPhaseFinder.meanPhase(544.75), 2467636.88597, 1e-5);
+  }
+
+  @Test
+  public void testRange() {
+    LunarPhaseFinder finder = new LunarPhaseFinder(Accuracy.ARCSEC_1);
+    double start = 2451544.5;
+    double end = start + 10 * 365.25;
+    List<LunarPhaseEvent> events = finder.find(start, end);
+
+    // Ten years hold 123 or 124 lunations, and every phase follows the one before it.
+    Assert.assertTrue(events.size() >= 4 * 123 && events.size() <= 4 * 124 + 3);
+    LunarPhaseEvent previous = null;
+    for (LunarPhaseEvent event : events) {
+      Assert.assertTrue(event.getJulianDayNumber() >= start && event.getJulianDayNumber() < end);
+      if (previous != null) {
+        int quarter = 4 * event.getLunation() + event.getPhase().ordinal();
+        int previousQuarter = 4 * previous.getLunation() + previous.getPhase().ordinal();
+        Assert.assertEquals(quarter, previousQuarter + 1);
+        double gap = event.getJulianDayNumber() - previous.getJulianDayNumber();
+        Assert.assertTrue(gap > 6.0 && gap < 8.9);
+      }
+      Assert.assertEquals(finder.find(event.getLunation(), event.getPhase()).getJulianDayNumber(),
+          event.getJulianDayNumber(), 0.0);
+      previous = event;
+    }
+    // The new moon of 2000 January 6, 18h14m UT.
+    Assert.assertEquals(events.get(0).getPhase(), LunarPhase.NEW_MOON);
+    Assert.assertEquals(events.get(0).getLunation(), 0);
+  }
+
+  @Test
+  public void testPoolIndependent() {
+    LunarPhaseFinder finder = new LunarPhaseFinder(Accuracy.ARCSEC_10);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      List<LunarPhaseEvent> first = finder.find(2415020.5, 2415020.5 + 3 * 365.25, pool);
+      List<LunarPhaseEvent> second = finder.find(2415020.5, 2415020.5 + 3 * 365.25);
+      Assert.assertEquals(first.size(), second.size());
+      for (int i = 0; i < first.size(); i++) {
+        Assert.assertEquals(first.get(i).getJulianDayNumber(),
+            second.get(i).getJulianDayNumber(), 0.0);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRange() {
+    new LunarPhaseFinder().find(2451545.0, 2451544.0);
+  }
+}
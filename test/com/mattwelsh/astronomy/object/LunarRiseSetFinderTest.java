@@ -0,0 +1,151 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.observer.Site;
+import com.mattwelsh.astronomy.time.DeltaTCalculator;
+import com.mattwelsh.astronomy.time.DynamicalTime;
+import com.mattwelsh.astronomy.time.GreenwichSiderealTime;
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LunarRiseSetFinderTest {
+
+  private static final DeltaTCalculator DELTA_T = DynamicalTime.DEFAULT.getCalculator();
+
+  private static final Site BOSTON = new Site("Boston", 42.3333, -71.0833, 0.0);
+  private static final Site SYDNEY = new Site("Sydney", -33.87, 151.2, 0.0);
+
+  @Test
+  public void testAgreesWithSampling() {
+    double start = 2460310.5;
+    int days = 30;
+    for (Site site : new Site[] {BOSTON, SYDNEY}) {
+      LunarRiseSetTable table = new LunarRiseSetFinder().compute(site, new JulianDate(start),
+          days);
+      Assert.assertEquals(table.size(), days);
+      Assert.assertEquals(table.getJulianDays()[0], start, 0.0);
+
+      // Every crossing of the standard altitude found minute by minute is in the table, within
+      // half a minute, and the other way around.
+      List<Double> rises = new ArrayList<>();
+      List<Double> sets = new ArrayList<>();
+      double step = 1.0 / 1440.0;
+      double previous = altitude(site, start);
+      for (int i = 1; i < days * 1440; i++) {
+        double current = altitude(site, start + i * step);
+        if (previous < 0.0 && current >= 0.0) {
+          rises.add(start + i * step);
+        } else if (previous >= 0.0 && current < 0.0) {
+          sets.add(start + i * step);
+        }
+        previous = current;
+      }
+      assertSame(rises, table.getRises());
+      assertSame(sets, table.getSets());
+
+      // The moon also skips about one transit a month.
+      int transits = 0;
+      for (double transit : table.getTransits()) {
+        if (Double.isNaN(transit)) {
+          continue;
+        }
+        transits++;
+        LunarState moon = MeeusLunarTheory.compute(transit + deltaT(transit));
+        Assert.assertEquals(Math.IEEEremainder(siderealTime(transit) + site.getLongitude()
+            - moon.getRightAscension(), 360.0), 0.0, 0.05);
+      }
+      Assert.assertTrue(transits >= days - 2);
+    }
+  }
+
+  @Test
+  public void testSitesAndPoolIndependent() {
+    Site[] sites = {BOSTON, SYDNEY, new Site("Tromso", 69.65, 18.96, 0.0)};
+    JulianDate first = new JulianDate(2451545.3);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      LunarRiseSetTable[] tables = new LunarRiseSetFinder().compute(sites, first, 400, pool);
+      Assert.assertEquals(tables.length, sites.length);
+      for (int s = 0; s < sites.length; s++) {
+        LunarRiseSetTable single = new LunarRiseSetFinder().compute(sites[s], first, 400);
+        Assert.assertSame(tables[s].getSite(), sites[s]);
+        Assert.assertEquals(tables[s].getJulianDays()[0], 2451544.5, 0.0);
+        Assert.assertArrayEquals(tables[s].getRises(), single.getRises(), 0.0);
+        Assert.assertArrayEquals(tables[s].getTransits(), single.getTransits(), 0.0);
+        Assert.assertArrayEquals(tables[s].getSets(), single.getSets(), 0.0);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testDaysWithoutEvents() {
+    LunarRiseSetTable table = new LunarRiseSetFinder().compute(BOSTON,
+        new JulianDate(2460310.5), 60);
+    int rises = 0;
+    int missing = 0;
+    for (int i = 0; i < table.size(); i++) {
+      double rise = table.getRises()[i];
+      if (Double.isNaN(rise)) {
+        missing++;
+      } else {
+        rises++;
+        Assert.assertTrue(rise >= table.getJulianDays()[i] && rise < table.getJulianDays()[i] + 1);
+      }
+    }
+    // The moon skips about one rise a month.
+    Assert.assertTrue(missing >= 1 && missing <= 3);
+    Assert.assertEquals(rises + missing, 60);
+  }
+
+  private static void assertSame(List<Double> sampled, double[] computed) {
+    List<Double> found = new ArrayList<>();
+    for (double event : computed) {
+      if (!Double.isNaN(event)) {
+        found.add(event);
+      }
+    }
+    Assert.assertEquals(sampled.size(), found.size());
+    for (int i = 0; i < found.size(); i++) {
+      Assert.assertEquals(sampled.get(i), found.get(i), 1.5 / 1440.0);
+    }
+  }
+
+  /** Returns the geocentric altitude of the moon above the altitude it rises and sets at. */
+  private static double altitude(Site site, double julianDayNumber) {
+    LunarState moon = MeeusLunarTheory.compute(julianDayNumber + deltaT(julianDayNumber));
+    double hourAngle = Math.toRadians(siderealTime(julianDayNumber) + site.getLongitude()
+        - moon.getRightAscension());
+    double latitude = Math.toRadians(site.getGeographicalLatitude());
+    double declination = Math.toRadians(moon.getDeclination());
+    double altitude = Math.toDegrees(Math.asin(Math.sin(latitude) * Math.sin(declination)
+        + Math.cos(latitude) * Math.cos(declination) * Math.cos(hourAngle)));
+    double parallax = Math.toDegrees(Math.asin(6378.14 / moon.getDistance()));
+    return altitude - (0.7275 * parallax - 34.0 / 60.0);
+  }
+
+  private static double siderealTime(double julianDayNumber) {
+    return new GreenwichSiderealTime(new JulianDate(julianDayNumber)).getMeanSiderealTime();
+  }
+
+  private static double deltaT(double julianDayNumber) {
+    return DELTA_T.getDeltaT(new JulianDate(julianDayNumber)) / 86400.0;
+  }
+}
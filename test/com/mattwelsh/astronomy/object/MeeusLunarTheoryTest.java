@@ -0,0 +1,131 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MeeusLunarTheoryTest {
+
+  @Test
+  public void testMeeusExample() {
+    // Meeus example 47.a, 1992 April 12 at 0h TD.
+    LunarState state = MeeusLunarTheory.compute(2448724.5);
+    Assert.assertEquals(2448724.5, state.getJulianDayNumber(), 0.0);
+    Assert.assertEquals(134.290182, state.getMeanLongitude(), 0.000001);
+    Assert.assertEquals(113.842304, state.getMeanElongation(), 0.000001);
+    Assert.assertEquals(97.643514, state.getSunsMeanAnomaly(), 0.000001);
+    Assert.assertEquals(5.150833, state.getMeanAnomaly(), 0.000001);
+    Assert.assertEquals(219.889721, state.getArgumentOfLatitude(), 0.000001);
+    Assert.assertEquals(133.162655, state.getLongitude(), 0.000001);
+    Assert.assertEquals(-3.229126, state.getLatitude(), 0.000001);
+    Assert.assertEquals(368409.7, state.getDistance(), 0.1);
+    Assert.assertEquals(134.688470, state.getRightAscension(), 0.000005);
+    Assert.assertEquals(13.768368, state.getDeclination(), 0.000005);
+    Assert.assertEquals(134.688470, state.getRaDec().getRightAscension().getDecimalDegrees(),
+        0.000005);
+  }
+
+  @Test
+  public void testComputerReusedForAnotherDate() {
+    LunarCircumstanceComputer computer = LunarCircumstances.MEEUS.getCalculator();
+    computer.computeCircumstances(new JulianDate(2451545.0));
+    computer.computeCircumstances(new JulianDate(2448724.5));
+    Moon moon = new Moon(new JulianDate(2448724.5));
+    Assert.assertEquals(moon.getDistance(), computer.getDistance(), 0.0);
+    Assert.assertEquals(moon.getComputer().getApparentLongitude(),
+        computer.getApparentLongitude(), 0.0);
+    Assert.assertEquals(moon.getRaDec().getDeclination().getDecimalDegrees(),
+        computer.getRaDec().getDeclination().getDecimalDegrees(), 0.0);
+    Assert.assertEquals(2448724.5, moon.getState().getJulianDayNumber(), 0.0);
+  }
+
+  @Test
+  public void testConcurrentCalls() throws Exception {
+    double[] expected = new double[200];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = MeeusLunarTheory.compute(2451545.0 + i * 0.31).getLongitude();
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<double[]>> results = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        results.add(executor.submit(() -> {
+          double[] longitudes = new double[expected.length];
+          for (int i = 0; i < longitudes.length; i++) {
+            longitudes[i] = MeeusLunarTheory.compute(2451545.0 + i * 0.31).getLongitude();
+          }
+          return longitudes;
+        }));
+      }
+      for (Future<double[]> result : results) {
+        Assert.assertArrayEquals(expected, result.get(), 0.0);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testTruncation() {
+    for (Accuracy accuracy : Accuracy.values()) {
+      double degrees = Math.toDegrees(accuracy.getPrecision());
+      double kilometers = accuracy.getPrecision() * 385000.56;
+      for (double jd = 2415020.0; jd < 2488070.0; jd += 1234.5) {
+        LunarState full = MeeusLunarTheory.compute(jd);
+        LunarState truncated = MeeusLunarTheory.compute(jd, accuracy);
+        // The terms in M are scaled by E, which differs from 1 by up to 0.5% this far from J2000.
+        Assert.assertEquals(full.getLongitude(), truncated.getLongitude(), 1.01 * degrees);
+        Assert.assertEquals(full.getLatitude(), truncated.getLatitude(), 1.01 * degrees);
+        Assert.assertEquals(full.getDistance(), truncated.getDistance(), 1.01 * kilometers);
+      }
+    }
+    Assert.assertNotEquals(MeeusLunarTheory.compute(2451545.0).getLongitude(),
+        MeeusLunarTheory.compute(2451545.0, Accuracy.ARCMIN_1).getLongitude(), 0.0);
+    Moon moon = new Moon(new JulianDate(2448724.5), Accuracy.ARCSEC_10);
+    Assert.assertEquals(133.162655, moon.getState().getLongitude(), 10.0 / 3600.0);
+  }
+
+  @Test
+  public void testBatchMatchesSingleInstants() {
+    double[] julianDays = new double[600];
+    for (int i = 0; i < julianDays.length; i++) {
+      julianDays[i] = 2451545.0 + i * 0.713;
+    }
+    for (Accuracy accuracy : new Accuracy[] {Accuracy.FULL, Accuracy.ARCSEC_10}) {
+      LunarEphemeris ephemeris = MeeusLunarTheory.compute(julianDays, accuracy);
+      Assert.assertEquals(julianDays.length, ephemeris.size());
+      for (int i = 0; i < julianDays.length; i++) {
+        LunarState state = MeeusLunarTheory.compute(julianDays[i], accuracy);
+        Assert.assertEquals(state.getRightAscension(), ephemeris.getRightAscensions()[i], 0.0);
+        Assert.assertTrue(state.getRightAscension() >= 0.0 && state.getRightAscension() < 360.0);
+        Assert.assertEquals(state.getDeclination(), ephemeris.getDeclinations()[i], 0.0);
+        Assert.assertEquals(state.getDistance(), ephemeris.getDistances()[i], 0.0);
+        Assert.assertEquals(state.getApparentLongitude(), ephemeris.getApparentLongitudes()[i],
+            0.0);
+        Assert.assertEquals(state.getLatitude(), ephemeris.getLatitudes()[i], 0.0);
+        Assert.assertEquals(state.getTrueAscendingNode(), ephemeris.getTrueAscendingNodes()[i],
+            0.0);
+        Assert.assertEquals(state.getMeanPerigee(), ephemeris.getMeanPerigees()[i], 0.0);
+      }
+    }
+    Assert.assertEquals(0, MeeusLunarTheory.compute(new double[0], Accuracy.FULL).size());
+  }
+}
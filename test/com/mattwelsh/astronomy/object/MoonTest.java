@@ -15,6 +15,11 @@ package com.mattwelsh.astronomy.object;
 
 import com.mattwelsh.astronomy.coordinates.RaDec;
 import com.mattwelsh.astronomy.time.JulianDate;
+import com.mattwelsh.astronomy.time.MutableJulianDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.junit.Assert;
 
@@ -51,4 +56,151 @@ public class MoonTest {
     Assert.assertEquals(moon.getComputer().getMeanAscendingNode(), 274.4, 0.1);
     Assert.assertEquals(moon.getComputer().getMeanPerigee(), 129.1, 0.1);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void recomputesLazily() {
+    MutableJulianDate date = new MutableJulianDate(2451545.0);
+    Moon moon = new Moon(date);
+    LunarState first = moon.getState();
+    Assert.assertSame(moon.getState(), first);
+    for (int i = 1; i <= 100; i++) {
+      date.setJulianDayNumber(2448724.5 + i / 1440.0);
+    }
+    LunarState last = moon.getState();
+    Assert.assertNotSame(last, first);
+    Assert.assertSame(moon.getState(), last);
+    Assert.assertEquals(last.getJulianDayNumber(), 2448724.5 + 100 / 1440.0, 0.0);
+    Assert.assertEquals(moon.getDistance(),
+        new Moon(new JulianDate(2448724.5 + 100 / 1440.0)).getDistance(), 0.0);
+  }
+
+  @Test
+  public void agreesWithDirectEvaluation() {
+    // Julian day, right ascension in [0, 360), declination, distance, and apparent longitude
+    // computed by summing each periodic term with Math.sin() and Math.cos().
+    double[][] expected = {
+      {2448724.50, 134.68846854862, 13.76836663128, 368409.7047353630, 133.16726428105},
+      {2451545.00, 222.44369520244, -10.89751559283, 402444.7982541461, 223.31484348490},
+      {2415020.00, 264.89455370930, -22.90682463495, 370492.9788329824, 265.29796654356},
+      {2460000.25, 33.03942267069, 13.24805312272, 380347.2316842471, 35.31498897081},
+      {2469807.50, 15.91115238007, 10.44688593962, 378663.5252822327, 18.66497553708}
+    };
+    for (double[] row : expected) {
+      Moon moon = new Moon(new JulianDate(row[0]));
+      RaDec raDec = moon.getRaDec();
+      Assert.assertEquals(raDec.getRightAscension().getDecimalDegrees(), row[1], 1e-10);
+      Assert.assertEquals(raDec.getDeclination().getDecimalDegrees(), row[2], 1e-10);
+      Assert.assertEquals(moon.getDistance(), row[3], 1e-10);
+      Assert.assertEquals(moon.getComputer().getApparentLongitude(), row[4], 1e-10);
+    }
+  }
+
+  @Test
+  public void defaultStateFromGetters() {
+    // A computer written before getState() existed only implements the getters.
+    LegacyComputer computer = new LegacyComputer();
+    Assert.assertNull(computer.getState());
+    computer.computeCircumstances(new JulianDate(2448724.5));
+    LunarState state = computer.getState();
+    Assert.assertEquals(state.getRightAscension(), 134.68846854862, 1e-10);
+    Assert.assertEquals(state.getDeclination(), 13.76836663128, 1e-10);
+    Assert.assertEquals(state.getDistance(), 368409.7047353630, 1e-10);
+    Assert.assertEquals(state.getLongitude(), state.getApparentLongitude(), 0.0);
+    Assert.assertTrue(Double.isNaN(state.getJulianDayNumber()));
+
+    Moon moon = new Moon(new JulianDate(2451545.0), new LegacyComputer());
+    Assert.assertEquals(moon.getDistance(), 402444.7982541461, 1e-10);
+  }
+
+  @Test
+  public void doesNotLockTheComputer() throws Exception {
+    LegacyComputer computer = new LegacyComputer();
+    Moon moon = new Moon(new JulianDate(2451545.0), computer);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      synchronized (computer) {
+        // Moon locks a monitor of its own, so a caller holding the computer's can't block it.
+        Future<Double> distance = executor.submit(moon::getDistance);
+        Assert.assertEquals(distance.get(10, TimeUnit.SECONDS), 402444.7982541461, 1e-10);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void deprecatedHookRecomputes() {
+    Moon moon = new Moon(new JulianDate(2448724.5)) {
+      {
+        LunarState first = getState();
+        calculateCircumstances();
+        Assert.assertNotSame(getState(), first);
+        Assert.assertEquals(getState().getDistance(), first.getDistance(), 0.0);
+      }
+    };
+    Assert.assertEquals(moon.getState().getJulianDayNumber(), 2448724.5, 0.0);
+  }
+
+  private static final class LegacyComputer implements LunarCircumstanceComputer {
+
+    private final MeeusCircumstanceComputer meeus = new MeeusCircumstanceComputer();
+    private boolean computed;
+
+    @Override
+    public void computeCircumstances(JulianDate jd) {
+      this.meeus.computeCircumstances(jd);
+      this.computed = true;
+    }
+
+    @Override
+    public RaDec getRaDec() {
+      return this.computed ? this.meeus.getRaDec() : null;
+    }
+
+    @Override
+    public double getDistance() {
+      return this.meeus.getDistance();
+    }
+
+    @Override
+    public double getMeanLongitude() {
+      return this.meeus.getMeanLongitude();
+    }
+
+    @Override
+    public double getMeanElongation() {
+      return this.meeus.getMeanElongation();
+    }
+
+    @Override
+    public double getMeanAnomaly() {
+      return this.meeus.getMeanAnomaly();
+    }
+
+    @Override
+    public double getArgumentOfLatitude() {
+      return this.meeus.getArgumentOfLatitude();
+    }
+
+    @Override
+    public double getApparentLongitude() {
+      return this.meeus.getApparentLongitude();
+    }
+
+    @Override
+    public double getMeanAscendingNode() {
+      return this.meeus.getMeanAscendingNode();
+    }
+
+    @Override
+    public double getMeanPerigee() {
+      return this.meeus.getMeanPerigee();
+    }
+
+    @Override
+    public double getTrueAscendingNode() {
+      return this.meeus.getTrueAscendingNode();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.object.VSOP87b.MarsComputer;
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PlanetaryPositionCacheTest {
+
+  @Test
+  public void testQuantization() {
+    double second = 1.0 / 86400.0;
+    PlanetaryPositionCache cache = new PlanetaryPositionCache(Accuracy.FULL, second, 16, 60000);
+    MarsComputer mars = new MarsComputer(new JulianDate(2460000.5));
+    double[] lbr = new double[3];
+    cache.computePosition(VSOP87.Body.MARS, VSOP87.Variant.B, 2460000.5 + 0.2 * second, lbr);
+    Assert.assertEquals(lbr[0], mars.getHeliocentricLongitude(), 0.0);
+    Assert.assertEquals(lbr[1], mars.getHeliocentricLatitude(), 0.0);
+    Assert.assertEquals(lbr[2], mars.getRadiusVector(), 0.0);
+
+    cache.computePosition(VSOP87.Body.MARS, VSOP87.Variant.B, 2460000.5 - 0.3 * second, lbr);
+    Assert.assertEquals(lbr[0], mars.getHeliocentricLongitude(), 0.0);
+    cache.computePosition(VSOP87.Body.MARS, VSOP87.Variant.A, 2460000.5, lbr);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    Assert.assertEquals(cache.getMissCount(), 2);
+    Assert.assertEquals(cache.size(), 2);
+  }
+
+  @Test
+  public void testAge() {
+    AtomicLong now = new AtomicLong();
+    PlanetaryPositionCache cache = new PlanetaryPositionCache(Accuracy.ARCSEC_10, 0.0, 16, 1000,
+        now::get);
+    double[] xyz = new double[3];
+    cache.computePosition(VSOP87.Body.JUPITER, VSOP87.Variant.A, 2451545.0, xyz);
+    now.set(999000000L);
+    cache.computePosition(VSOP87.Body.JUPITER, VSOP87.Variant.A, 2451545.0, xyz);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    now.set(1001000000L);
+    cache.computePosition(VSOP87.Body.JUPITER, VSOP87.Variant.A, 2451545.0, xyz);
+    Assert.assertEquals(cache.getMissCount(), 2);
+    Assert.assertEquals(cache.getEvictionCount(), 1);
+    Assert.assertEquals(cache.size(), 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingVariant() {
+    new PlanetaryPositionCache(Accuracy.FULL, 0.0, 16, 60000)
+        .computePosition(VSOP87.Body.SUN, VSOP87.Variant.B, 2451545.0, new double[3]);
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.time.JulianDate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PlanetaryPositionServiceTest {
+
+  @Test
+  public void testVenus() {
+    // Meeus example 33.a: 1992 December 20, 0h TD.
+    RaDec venus = new PlanetaryPositionService()
+        .getApparentPosition(VSOP87.Body.VENUS, new JulianDate(2448976.5));
+    Assert.assertEquals(venus.getRightAscension().getDecimalDegrees(), 316.172725, 0.0003);
+    Assert.assertEquals(venus.getDeclination().getDecimalDegrees(), -18.888011, 0.0003);
+  }
+
+  @Test
+  public void testSun() {
+    // Meeus example 25.b, to the full VSOP87: 1992 October 13, 0h TD.
+    RaDec sun = new PlanetaryPositionService()
+        .getApparentPosition(VSOP87.Body.SUN, new JulianDate(2448908.5));
+    Assert.assertEquals(sun.getRightAscension().getDecimalDegrees(), 198.378178, 0.0003);
+    Assert.assertEquals(sun.getDeclination().getDecimalDegrees(), -7.783871, 0.0003);
+  }
+
+  @Test
+  public void testSharedInstant() {
+    JulianDate jd = new JulianDate(2460000.5);
+    PlanetaryPositionService service = new PlanetaryPositionService();
+    RaDec[] positions = service.getApparentPositions(jd, VSOP87.Body.MARS, VSOP87.Body.SATURN);
+    RaDec mars = new PlanetaryPositionService().getApparentPosition(VSOP87.Body.MARS, jd);
+    Assert.assertEquals(positions.length, 2);
+    Assert.assertEquals(positions[0].getRightAscension().getDecimalDegrees(),
+        mars.getRightAscension().getDecimalDegrees(), 0.0);
+    Assert.assertEquals(positions[0].getDeclination().getDecimalDegrees(),
+        mars.getDeclination().getDecimalDegrees(), 0.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEarth() {
+    new PlanetaryPositionService().getApparentPosition(VSOP87.Body.EARTH, new JulianDate(2451545));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.object.VSOP87b.earth.EarthLbrDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.mercury.MercuryLbrDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.neptune.NeptuneLbrDataReader;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SeriesKernelTest {
+
+  @Test
+  public void testCos() {
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      double x = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(7));
+      Assert.assertEquals(SeriesKernel.cos(x), Math.cos(x), 1e-15);
+    }
+    Assert.assertEquals(SeriesKernel.cos(0.0), 1.0, 0.0);
+    Assert.assertEquals(SeriesKernel.cos(Math.PI), -1.0, 1e-16);
+  }
+
+  @Test
+  public void testSin() {
+    Random random = new Random(43);
+    for (int i = 0; i < 100000; i++) {
+      double x = (random.nextDouble() - 0.5) * Math.pow(10.0, random.nextInt(7));
+      Assert.assertEquals(SeriesKernel.sin(x), Math.sin(x), 4e-15);
+    }
+    Assert.assertEquals(SeriesKernel.sin(0.0), 0.0, 0.0);
+  }
+
+  @Test
+  public void testDerivativeAgrees() {
+    double[] scalar = new double[2];
+    double[] polynomial = new double[2];
+    for (String prefix : new String[] {"longitude", "radius"}) {
+      for (int power = 0; power <= 5; power++) {
+        VSOPTermTable table = VSOPTermTable.forResource(MercuryLbrDataReader.class,
+            prefix + power + ".data");
+        for (double t = -4.0; t <= 4.0; t += 0.3) {
+          for (SeriesKernel kernel : SeriesKernel.values()) {
+            table.evaluateWithDerivative(t, polynomial, kernel);
+            Assert.assertEquals(polynomial[0], table.evaluate(t, kernel), 0.0);
+          }
+          table.evaluateWithDerivative(t, scalar, SeriesKernel.SCALAR);
+          table.evaluateWithDerivative(t, polynomial, SeriesKernel.POLYNOMIAL);
+          Assert.assertEquals(polynomial[1], scalar[1], 1e-8);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSeriesAgree() {
+    Class<?>[] readers = {MercuryLbrDataReader.class, EarthLbrDataReader.class,
+        NeptuneLbrDataReader.class};
+    String[] prefixes = {"longitude", "latitude", "radius"};
+    double[] t = new double[81];
+    for (int k = 0; k < t.length; k++) {
+      t[k] = -4.0 + k * 0.1;
+    }
+    double[] scalar = new double[t.length];
+    double[] polynomial = new double[t.length];
+    for (Class<?> reader : readers) {
+      for (String prefix : prefixes) {
+        for (int power = 0; power <= 5; power++) {
+          VSOPTermTable table = VSOPTermTable.forResource(reader, prefix + power + ".data");
+          table.evaluate(t, scalar, SeriesKernel.SCALAR);
+          table.evaluate(t, polynomial, SeriesKernel.POLYNOMIAL);
+          for (int k = 0; k < t.length; k++) {
+            Assert.assertEquals(polynomial[k], scalar[k], 1e-12);
+            Assert.assertEquals(table.evaluate(t[k], SeriesKernel.POLYNOMIAL), polynomial[k], 0.0);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDefault() {
+    if (System.getProperty(SeriesKernel.KERNEL_PROPERTY) == null) {
+      Assert.assertEquals(SeriesKernel.getDefault(), SeriesKernel.SCALAR);
+    }
+  }
+}
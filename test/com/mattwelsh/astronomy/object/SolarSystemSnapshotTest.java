@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.object.VSOP87a.MarsComputer;
+import com.mattwelsh.astronomy.object.VSOP87b.EarthComputer;
+import com.mattwelsh.astronomy.time.JulianDate;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SolarSystemSnapshotTest {
+
+  @Test
+  public void testPositions() {
+    JulianDate jd = new JulianDate(2460000.5);
+    SolarSystemSnapshot snapshot = SolarSystemSnapshot.at(jd);
+    Assert.assertEquals(snapshot.getJulianDayNumber(), 2460000.5, 0.0);
+
+    double[] xyz = new double[3];
+    snapshot.getPosition(VSOP87.Body.MARS, xyz);
+    MarsComputer mars = new MarsComputer(jd);
+    Assert.assertEquals(xyz[0], mars.getRectX(), 0.0);
+    Assert.assertEquals(xyz[1], mars.getRectY(), 0.0);
+    Assert.assertEquals(xyz[2], mars.getRectZ(), 0.0);
+
+    snapshot.getGeocentricPosition(VSOP87.Body.EARTH, xyz);
+    Assert.assertArrayEquals(xyz, new double[3], 0.0);
+    Assert.assertEquals(snapshot.getGeocentricDistance(VSOP87.Body.EARTH), 0.0, 0.0);
+
+    // The Sun is seen from Earth opposite to where Earth is seen from the Sun.
+    EarthComputer earth = new EarthComputer(jd);
+    double sunLongitude = Math.IEEEremainder(snapshot.getGeocentricLongitude(VSOP87.Body.SUN)
+        - earth.getHeliocentricLongitude() - Math.PI, 2.0 * Math.PI);
+    Assert.assertEquals(sunLongitude, 0.0, 1e-7);
+    Assert.assertEquals(snapshot.getGeocentricLatitude(VSOP87.Body.SUN),
+        -earth.getHeliocentricLatitude(), 1e-7);
+    Assert.assertEquals(snapshot.getGeocentricDistance(VSOP87.Body.SUN), earth.getRadiusVector(),
+        1e-7);
+  }
+
+  @Test
+  public void testPoolIndependent() {
+    JulianDate jd = new JulianDate(2440000.5);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      SolarSystemSnapshot first = SolarSystemSnapshot.at(jd, Accuracy.ARCSEC_1, pool);
+      SolarSystemSnapshot second = SolarSystemSnapshot.at(jd, Accuracy.ARCSEC_1);
+      double[] a = new double[3];
+      double[] b = new double[3];
+      for (VSOP87.Body body : VSOP87.Body.values()) {
+        first.getGeocentricPosition(body, a);
+        second.getGeocentricPosition(body, b);
+        Assert.assertArrayEquals(a, b, 0.0);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
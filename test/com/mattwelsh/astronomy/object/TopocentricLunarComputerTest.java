@@ -0,0 +1,91 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.coordinates.RaDec;
+import com.mattwelsh.astronomy.observer.Site;
+import com.mattwelsh.astronomy.time.JulianDate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TopocentricLunarComputerTest {
+
+  @Test
+  public void testMeeusExample() {
+    // Example 40.a, Mars from Palomar.
+    double[] raDec = new double[2];
+    TopocentricLunarComputer.correct(339.530208, -15.771083,
+        Math.sin(Math.toRadians(8.794 / 3600.0)) / 0.37276, 288.7958, 0.546861, 0.836339, raDec);
+    Assert.assertEquals(raDec[0], (22.0 + 38.0 / 60.0 + 8.54 / 3600.0) * 15.0, 0.01 / 240.0);
+    Assert.assertEquals(raDec[1], -(15.0 + 46.0 / 60.0 + 30.0 / 3600.0), 0.1 / 3600.0);
+  }
+
+  @Test
+  public void testBatchesAgree() {
+    Site[] sites = new Site[50];
+    for (int s = 0; s < sites.length; s++) {
+      sites[s] = new Site("Site " + s, -80.0 + 3.2 * s, -170.0 + 7.0 * s, 100.0 * s);
+    }
+    TopocentricLunarComputer computer = new TopocentricLunarComputer(sites);
+    Assert.assertEquals(computer.getSiteCount(), sites.length);
+    Assert.assertSame(computer.getSite(7), sites[7]);
+
+    LunarState moon = MeeusLunarTheory.compute(2460000.5);
+    double parallax = moon.getEquatorialHorizontalParallax();
+    Assert.assertEquals(parallax, Math.toDegrees(Math.asin(6378.14 / moon.getDistance())), 0.0);
+    double[] ra = new double[sites.length];
+    double[] dec = new double[sites.length];
+    computer.computeSites(moon, ra, dec);
+    for (int s = 0; s < sites.length; s++) {
+      RaDec raDec = computer.getRaDec(s, moon);
+      Assert.assertEquals(ra[s], raDec.getRightAscension().getDecimalDegrees(), 1e-9);
+      Assert.assertEquals(dec[s], raDec.getDeclination().getDecimalDegrees(), 1e-9);
+
+      // The moon is never displaced by more than its horizontal parallax.
+      double cosSeparation = Math.sin(Math.toRadians(dec[s]))
+          * Math.sin(Math.toRadians(moon.getDeclination()))
+          + Math.cos(Math.toRadians(dec[s])) * Math.cos(Math.toRadians(moon.getDeclination()))
+          * Math.cos(Math.toRadians(ra[s] - moon.getRightAscension()));
+      Assert.assertTrue(Math.toDegrees(Math.acos(Math.min(1.0, cosSeparation))) <= parallax);
+    }
+
+    double[] days = new double[24];
+    for (int i = 0; i < days.length; i++) {
+      days[i] = 2460000.5 + i / 24.0;
+    }
+    LunarEphemeris ephemeris = MeeusLunarTheory.compute(days, Accuracy.FULL);
+    double[] instantRa = new double[days.length];
+    double[] instantDec = new double[days.length];
+    computer.computeInstants(12, ephemeris, instantRa, instantDec);
+    for (int i = 0; i < days.length; i++) {
+      RaDec raDec = computer.getRaDec(12, MeeusLunarTheory.compute(days[i]));
+      Assert.assertEquals(instantRa[i], raDec.getRightAscension().getDecimalDegrees(), 1e-9);
+      Assert.assertEquals(instantDec[i], raDec.getDeclination().getDecimalDegrees(), 1e-9);
+    }
+  }
+
+  @Test
+  public void testMoon() {
+    Site site = new Site("Uccle", 50.79861, 4.35806, 105.0);
+    Moon moon = new Moon(new JulianDate(2460000.5));
+    RaDec topocentric = moon.getTopocentricRaDec(site);
+    RaDec expected = new TopocentricLunarComputer(site).getRaDec(0, moon.getState());
+    Assert.assertEquals(topocentric.getRightAscension().getDecimalDegrees(),
+        expected.getRightAscension().getDecimalDegrees(), 0.0);
+    Assert.assertEquals(topocentric.getDeclination().getDecimalDegrees(),
+        expected.getDeclination().getDecimalDegrees(), 0.0);
+    Assert.assertNotEquals(topocentric.getDeclination().getDecimalDegrees(),
+        moon.getRaDec().getDeclination().getDecimalDegrees(), 0.01);
+  }
+}
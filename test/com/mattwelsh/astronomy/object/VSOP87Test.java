@@ -0,0 +1,147 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.object.VSOP87a.jupiter.JupiterRectangularDataReader;
+import com.mattwelsh.astronomy.object.VSOP87a.sun.SunRectangularDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.mars.MarsLbrDataReader;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VSOP87Test {
+
+  @Test
+  public void testMatchesReaders() {
+    double[] out = new double[3];
+    for (double t = -2.0; t <= 2.0; t += 0.37) {
+      VSOP87.compute(VSOP87.Body.MARS, VSOP87.Variant.B, Accuracy.FULL, t, out);
+      MarsLbrDataReader mars = new MarsLbrDataReader(t);
+      Assert.assertEquals(out[0], mars.getHeliocentricLongitude(), 0.0);
+      Assert.assertEquals(out[1], mars.getHeliocentricLatitude(), 0.0);
+      Assert.assertEquals(out[2], mars.getRadiusVector(), 0.0);
+
+      VSOP87.compute(VSOP87.Body.JUPITER, VSOP87.Variant.A, Accuracy.ARCSEC_10, t, out);
+      JupiterRectangularDataReader jupiter = new JupiterRectangularDataReader(t,
+          Accuracy.ARCSEC_10);
+      Assert.assertEquals(out[0], jupiter.getX(), 0.0);
+      Assert.assertEquals(out[1], jupiter.getY(), 0.0);
+      Assert.assertEquals(out[2], jupiter.getZ(), 0.0);
+      Assert.assertEquals(
+          VSOP87.computeErrorBound(VSOP87.Body.JUPITER, VSOP87.Variant.A, Accuracy.ARCSEC_10, t, 0),
+          jupiter.getErrorBound(), jupiter.getErrorBound());
+
+      VSOP87.compute(VSOP87.Body.SUN, VSOP87.Variant.A, Accuracy.FULL, t, out);
+      Assert.assertEquals(out[2], new SunRectangularDataReader(t).getZ(), 0.0);
+    }
+  }
+
+  @Test
+  public void testVariants() {
+    for (VSOP87.Body body : VSOP87.Body.values()) {
+      Assert.assertTrue(body.hasVariant(VSOP87.Variant.A));
+      Assert.assertEquals(body.hasVariant(VSOP87.Variant.B), body != VSOP87.Body.SUN);
+    }
+    Assert.assertTrue(VSOP87.Variant.B.isSpherical());
+    Assert.assertFalse(VSOP87.Variant.B.isAngular(2));
+    Assert.assertFalse(VSOP87.Variant.A.isSpherical());
+  }
+
+  @Test
+  public void testParallel() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      double[] sequential = new double[3];
+      double[] parallel = new double[3];
+      for (VSOP87.Body body : VSOP87.Body.values()) {
+        for (VSOP87.Variant variant : VSOP87.Variant.values()) {
+          if (!body.hasVariant(variant)) {
+            continue;
+          }
+          for (double t = -1.5; t <= 1.5; t += 0.75) {
+            VSOP87.compute(body, variant, Accuracy.FULL, t, sequential);
+            VSOP87.compute(body, variant, Accuracy.FULL, t, parallel, pool);
+            Assert.assertArrayEquals(parallel, sequential, 0.0);
+            VSOP87.compute(body, variant, Accuracy.ARCSEC_1, t, parallel,
+                ForkJoinPool.commonPool());
+            VSOP87.compute(body, variant, Accuracy.ARCSEC_1, t, sequential);
+            Assert.assertArrayEquals(parallel, sequential, 0.0);
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSingleCoordinate() {
+    double[] out = new double[3];
+    for (VSOP87.Variant variant : VSOP87.Variant.values()) {
+      VSOP87.compute(VSOP87.Body.MARS, variant, Accuracy.ARCSEC_1, 0.3, out);
+      for (int i = 0; i < 3; i++) {
+        Assert.assertEquals(VSOP87.compute(VSOP87.Body.MARS, variant, Accuracy.ARCSEC_1, 0.3, i),
+            out[i], 0.0);
+      }
+    }
+
+    double[] days = {2451545.0, 2451600.0, 2451700.0};
+    double[] x = new double[days.length];
+    double[] z = new double[days.length];
+    VSOP87.compute(VSOP87.Body.MARS, VSOP87.Variant.A, Accuracy.FULL, days, x, null, z);
+    for (int k = 0; k < days.length; k++) {
+      VSOP87.compute(VSOP87.Body.MARS, VSOP87.Variant.A, Accuracy.FULL,
+          (days[k] - 2451545.0) / 365250.0, out);
+      Assert.assertEquals(x[k], out[0], 0.0);
+      Assert.assertEquals(z[k], out[2], 0.0);
+    }
+  }
+
+  @Test
+  public void testState() {
+    double[] position = new double[3];
+    double[] velocity = new double[3];
+    double[] expected = new double[3];
+    double[][] samples = new double[4][3];
+    double dt = 1e-7;
+    double[] offsets = {-2.0 * dt, -dt, dt, 2.0 * dt};
+    for (VSOP87.Body body : VSOP87.Body.values()) {
+      for (VSOP87.Variant variant : VSOP87.Variant.values()) {
+        if (!body.hasVariant(variant)) {
+          continue;
+        }
+        for (double t = -1.2; t <= 1.0; t += 0.65) {
+          VSOP87.computeState(body, variant, Accuracy.FULL, t, position, velocity);
+          VSOP87.compute(body, variant, Accuracy.FULL, t, expected);
+          Assert.assertArrayEquals(position, expected, 0.0);
+
+          // Five point central difference, per day.
+          for (int k = 0; k < offsets.length; k++) {
+            VSOP87.compute(body, variant, Accuracy.FULL, t + offsets[k], samples[k]);
+          }
+          for (int i = 0; i < 3; i++) {
+            double rate = (samples[0][i] - 8.0 * samples[1][i] + 8.0 * samples[2][i]
+                - samples[3][i]) / (12.0 * dt * 365250.0);
+            Assert.assertEquals(velocity[i], rate, 1e-9);
+          }
+        }
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingVariant() {
+    VSOP87.compute(VSOP87.Body.SUN, VSOP87.Variant.B, Accuracy.FULL, 0.0, new double[3]);
+  }
+}
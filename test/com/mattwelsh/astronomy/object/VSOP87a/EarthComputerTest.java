@@ -13,6 +13,8 @@
 
 package com.mattwelsh.astronomy.object.VSOP87a;
 
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87a.earth.EarthRectangularDataReader;
 import com.mattwelsh.astronomy.time.JulianDate;
 import org.junit.Assert;
 import org.junit.Test;
@@ -41,4 +43,53 @@ public class EarthComputerTest {
     Assert.assertEquals(comp.getRectZ(), 0.0004307602, 0.0000000001);
 
   }
-}
\ No newline at end of file
+
+  @Test
+  public void TestTruncatedRectangularCoords() {
+    JulianDate jd = new JulianDate(1799, 12, 30, 12, 0, 0);
+    EarthComputer full = new EarthComputer(jd);
+    Assert.assertEquals(full.getErrorBound(), 0.0, 0.0);
+
+    EarthComputer comp = new EarthComputer(jd, Accuracy.ARCSEC_10);
+    Assert.assertTrue(comp.getErrorBound() > 0.0);
+    Assert.assertTrue(comp.getErrorBound() <= Accuracy.ARCSEC_10.getPrecision() * 1.02);
+    Assert.assertEquals(comp.getRectX(), full.getRectX(), comp.getErrorBound());
+    Assert.assertEquals(comp.getRectY(), full.getRectY(), comp.getErrorBound());
+    Assert.assertEquals(comp.getRectZ(), full.getRectZ(), comp.getErrorBound());
+  }
+
+  @Test
+  public void TestBatchRectangularCoords() {
+    double[] days = {2451545.0, 2415020.0, 2378495.5, 2488070.25, 1721057.5};
+    double[] x = new double[days.length];
+    double[] y = new double[days.length];
+    double[] z = new double[days.length];
+    new EarthComputer(new JulianDate(days[0])).evaluate(days, x, y, z);
+    for (int k = 0; k < days.length; k++) {
+      EarthComputer comp = new EarthComputer(new JulianDate(days[k]));
+      Assert.assertEquals(x[k], comp.getRectX(), 0.0);
+      Assert.assertEquals(y[k], comp.getRectY(), 0.0);
+      Assert.assertEquals(z[k], comp.getRectZ(), 0.0);
+    }
+  }
+
+  @Test
+  public void TestSteppedRectangularCoords() {
+    double start = 2415020.0;
+    double[] x = new double[500];
+    double[] y = new double[x.length];
+    double[] z = new double[x.length];
+    new EarthComputer(new JulianDate(start)).evaluate(start, 1.0 / 24.0, x.length, x, y, z);
+    // Compare at exactly the times stepped through; rounding start + k / 24 to a julian day number
+    // alone would move Earth by several 1e-12 AU. A century from J2000 the arguments of the
+    // largest terms are thousands of radians, so the direct sums are only good to about 1e-12.
+    double t0 = (start - 2451545.0) / 365250.0;
+    double h = 1.0 / 24.0 / 365250.0;
+    for (int k = 0; k < x.length; k += 11) {
+      EarthRectangularDataReader reader = new EarthRectangularDataReader(t0 + k * h);
+      Assert.assertEquals(x[k], reader.getX(), 1e-12);
+      Assert.assertEquals(y[k], reader.getY(), 1e-12);
+      Assert.assertEquals(z[k], reader.getZ(), 1e-12);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object.VSOP87a;
+
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87;
+import com.mattwelsh.astronomy.time.JulianDate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GeocentricComputerTest {
+
+  @Test
+  public void TestPlanetLessEarth() {
+
+    JulianDate jd = new JulianDate(1899, 12, 31, 12, 0, 0);
+    GeocentricComputer comp = new GeocentricComputer(jd);
+    MarsComputer mars = new MarsComputer(jd);
+    EarthComputer earth = new EarthComputer(jd);
+    double[] xyz = new double[3];
+    comp.computePosition(VSOP87.Body.MARS, xyz);
+    Assert.assertEquals(mars.getRectX() - earth.getRectX(), xyz[0], 1e-15);
+    Assert.assertEquals(mars.getRectY() - earth.getRectY(), xyz[1], 1e-15);
+    Assert.assertEquals(mars.getRectZ() - earth.getRectZ(), xyz[2], 1e-15);
+
+    comp.computePosition(VSOP87.Body.SUN, xyz);
+    Assert.assertEquals(-earth.getRectX(), xyz[0], 0.0);
+    Assert.assertEquals(-earth.getRectY(), xyz[1], 0.0);
+    Assert.assertEquals(-earth.getRectZ(), xyz[2], 0.0);
+
+    comp.computePosition(VSOP87.Body.EARTH, xyz);
+    Assert.assertArrayEquals(new double[3], xyz, 0.0);
+  }
+
+  @Test
+  public void TestReusedAcrossDates() {
+
+    GeocentricComputer reused = new GeocentricComputer(new JulianDate(2000, 1, 1, 12, 0, 0),
+        Accuracy.ARCSEC_1);
+    VSOP87.Body[] bodies = {VSOP87.Body.VENUS, VSOP87.Body.JUPITER, VSOP87.Body.SUN};
+    double[] packed = new double[3 * bodies.length];
+    double[] single = new double[3];
+    for (double jdn = 2451545.0; jdn < 2451600.0; jdn += 7.25) {
+      reused.setJulianDayNumber(jdn);
+      reused.computePositions(bodies, packed);
+      GeocentricComputer fresh = new GeocentricComputer(new JulianDate(jdn), Accuracy.ARCSEC_1);
+      for (int i = 0; i < bodies.length; i++) {
+        fresh.computePosition(bodies[i], single);
+        for (int axis = 0; axis < 3; axis++) {
+          Assert.assertEquals(single[axis], packed[3 * i + axis], 0.0);
+        }
+      }
+    }
+  }
+}
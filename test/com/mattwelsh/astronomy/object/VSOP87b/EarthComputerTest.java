@@ -13,6 +13,7 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b;
 
+import com.mattwelsh.astronomy.object.VSOP87b.earth.EarthLbrDataReader;
 import com.mattwelsh.astronomy.time.JulianDate;
 import org.junit.Assert;
 import org.junit.Test;
@@ -41,4 +42,25 @@ public class EarthComputerTest {
     Assert.assertEquals(comp.getRadiusVector(), 0.9832274335, 0.0000000001);
 
   }
-}
\ No newline at end of file
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void TestDataReaderSubclass() {
+    JulianDate jd = new JulianDate(1799, 12, 30, 12, 0, 0);
+    PlanetaryComputer comp = new PlanetaryComputer(jd) {
+      @Override
+      protected void initializeDataReader() {
+        dataReader = new EarthLbrDataReader(t);
+      }
+    };
+    Assert.assertNull(comp.getBody());
+    Assert.assertEquals(comp.getHeliocentricLongitude(), 1.7750058558, 0.0000000001);
+    Assert.assertEquals(comp.getHeliocentricLatitude(), 0.0004381095, 0.0000000001);
+    Assert.assertEquals(comp.getRadiusVector(), 0.9832274335, 0.0000000001);
+
+    jd = new JulianDate(2000, 1, 1, 12, 0, 0);
+    comp.setJulianDate(jd);
+    Assert.assertEquals(comp.getHeliocentricLongitude(), 1.7519238637, 0.0000000001);
+    Assert.assertEquals(comp.getRadiusVectorErrorBound(), 0.0, 0.0);
+  }
+}
@@ -13,6 +13,8 @@
 
 package com.mattwelsh.astronomy.object.VSOP87b;
 
+import com.mattwelsh.astronomy.object.Accuracy;
+import com.mattwelsh.astronomy.object.VSOP87b.venus.VenusLbrDataReader;
 import com.mattwelsh.astronomy.time.JulianDate;
 import org.junit.Assert;
 import org.junit.Test;
@@ -39,4 +41,116 @@ public class VenusComputerTest {
     Assert.assertEquals(comp.getHeliocentricLatitude(), 0.0554510891, 0.0000000001);
     Assert.assertEquals(comp.getRadiusVector(), 0.7185473293, 0.0000000001);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void TestTruncatedLBRCoords() {
+    JulianDate[] dates = {new JulianDate(2000, 1, 1, 12, 0, 0),
+        new JulianDate(1899, 12, 31, 12, 0, 0), new JulianDate(-1500, 6, 1, 0, 0, 0)};
+    for (JulianDate jd : dates) {
+      VenusComputer full = new VenusComputer(jd);
+      Assert.assertEquals(full.getLongitudeErrorBound(), 0.0, 0.0);
+      for (Accuracy accuracy : Accuracy.values()) {
+        VenusComputer comp = new VenusComputer(jd, accuracy);
+        double precision = accuracy.getPrecision();
+        Assert.assertTrue(comp.getLongitudeErrorBound() <= precision);
+        Assert.assertTrue(comp.getLatitudeErrorBound() <= precision);
+        Assert.assertTrue(comp.getRadiusVectorErrorBound() <= precision * 0.73);
+        double longitudeError = Math.IEEEremainder(
+            comp.getHeliocentricLongitude() - full.getHeliocentricLongitude(), 2.0 * Math.PI);
+        Assert.assertEquals(longitudeError, 0.0, comp.getLongitudeErrorBound() + 1e-15);
+        Assert.assertEquals(comp.getHeliocentricLatitude(), full.getHeliocentricLatitude(),
+            comp.getLatitudeErrorBound() + 1e-15);
+        Assert.assertEquals(comp.getRadiusVector(), full.getRadiusVector(),
+            comp.getRadiusVectorErrorBound() + 1e-15);
+      }
+    }
+  }
+
+  @Test
+  public void TestBatchLBRCoords() {
+    double[] days = new double[1000];
+    for (int k = 0; k < days.length; k++) {
+      days[k] = 2415020.0 + k * 36.6;
+    }
+    double[] l = new double[days.length];
+    double[] b = new double[days.length];
+    double[] r = new double[days.length];
+    VenusComputer comp = new VenusComputer(new JulianDate(days[0]));
+    comp.evaluate(days, l, b, r);
+    for (int k = 0; k < days.length; k++) {
+      comp.setJulianDate(new JulianDate(days[k]));
+      Assert.assertEquals(l[k], comp.getHeliocentricLongitude(), 0.0);
+      Assert.assertEquals(b[k], comp.getHeliocentricLatitude(), 0.0);
+      Assert.assertEquals(r[k], comp.getRadiusVector(), 0.0);
+    }
+
+    comp = new VenusComputer(new JulianDate(days[0]), Accuracy.ARCSEC_1);
+    comp.evaluate(days, l, b, r);
+    for (int k = 0; k < days.length; k += 97) {
+      VenusComputer full = new VenusComputer(new JulianDate(days[k]));
+      double longitudeError = Math.IEEEremainder(l[k] - full.getHeliocentricLongitude(),
+          2.0 * Math.PI);
+      Assert.assertEquals(longitudeError, 0.0, Accuracy.ARCSEC_1.getPrecision());
+      Assert.assertEquals(b[k], full.getHeliocentricLatitude(), Accuracy.ARCSEC_1.getPrecision());
+    }
+  }
+
+  @Test
+  public void TestSteppedLBRCoords() {
+    double start = 2451545.0;
+    double[] l = new double[2000];
+    double[] b = new double[l.length];
+    double[] r = new double[l.length];
+    VenusComputer comp = new VenusComputer(new JulianDate(start));
+    comp.evaluate(start, 0.5, l.length, l, b, r);
+    for (int k = 0; k < l.length; k += 7) {
+      comp.setJulianDate(new JulianDate(start + k * 0.5));
+      Assert.assertEquals(Math.IEEEremainder(l[k] - comp.getHeliocentricLongitude(),
+          2.0 * Math.PI), 0.0, 1e-13);
+      Assert.assertEquals(b[k], comp.getHeliocentricLatitude(), 1e-13);
+      Assert.assertEquals(r[k], comp.getRadiusVector(), 1e-13);
+    }
+  }
+
+  @Test
+  public void TestSelectiveLBRCoords() {
+    // A coordinate asked for alone, before or after a change of date, is the one computed with
+    // the others.
+    VenusComputer comp = new VenusComputer(new JulianDate(2451545.0));
+    Assert.assertEquals(comp.getRadiusVector(), 0.7202129248, 0.0000000001);
+    comp.setJulianDate(new JulianDate(2415020.0));
+    VenusComputer other = new VenusComputer(new JulianDate(2415020.0));
+    Assert.assertEquals(comp.getRadiusVector(), other.getRadiusVector(), 0.0);
+    Assert.assertEquals(comp.getHeliocentricLongitude(), other.getHeliocentricLongitude(), 0.0);
+
+    double[] days = {2415020.0, 2451545.0, 2460000.5};
+    double[] l = new double[days.length];
+    double[] all = new double[days.length];
+    LbrDataReader.evaluate(VenusLbrDataReader.class, Accuracy.FULL, days, l, null, null);
+    LbrDataReader.evaluate(VenusLbrDataReader.class, Accuracy.FULL, days, all,
+        new double[days.length], new double[days.length]);
+    Assert.assertArrayEquals(l, all, 0.0);
+  }
+
+  @Test
+  public void TestBatchWithoutSomeCoords() {
+    double[] days = {2415020.0, 2451545.0, 2460000.5};
+    double[] l = new double[days.length];
+    double[] b = new double[days.length];
+    double[] r = new double[days.length];
+    VenusComputer comp = new VenusComputer(new JulianDate(days[0]));
+    comp.evaluate(days, l, b, r);
+
+    double[] radiusOnly = new double[days.length];
+    comp.evaluate(days, null, null, radiusOnly);
+    Assert.assertArrayEquals(radiusOnly, r, 0.0);
+    double[] longitudeOnly = new double[days.length];
+    comp.evaluate(days, longitudeOnly, null, null);
+    Assert.assertArrayEquals(longitudeOnly, l, 0.0);
+
+    double[] latitudeOnly = new double[days.length];
+    comp.evaluate(days[0], 0.5, days.length, null, latitudeOnly, null);
+    comp.evaluate(days[0], 0.5, days.length, l, b, r);
+    Assert.assertArrayEquals(latitudeOnly, b, 0.0);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.object.VSOP87a.neptune.NeptuneRectangularDataReader;
+import com.mattwelsh.astronomy.object.VSOP87b.earth.EarthLbrDataReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VSOPBinaryDataTest {
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    List<VSOPTermTable> tables = Arrays.asList(
+        VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data"),
+        VSOPTermTable.forResource(EarthLbrDataReader.class, "radius5.data"),
+        VSOPTermTable.forResource(NeptuneRectangularDataReader.class, "x5.data"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    VSOPBinaryData.write(tables, out);
+    Map<String, VSOPTermTable> loaded =
+        VSOPBinaryData.load(new ByteArrayInputStream(out.toByteArray()));
+    assertSameTables(tables, loaded);
+
+    Path file = Files.createTempFile("vsop87", ".bin");
+    try {
+      try (OutputStream fileOut = Files.newOutputStream(file)) {
+        VSOPBinaryData.write(tables, fileOut);
+      }
+      assertSameTables(tables, VSOPBinaryData.map(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testBadMagic() throws IOException {
+    VSOPBinaryData.load(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 1, 2}));
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncated() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    VSOPBinaryData.write(Arrays.asList(
+        VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude1.data")), out);
+    byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() / 2);
+    VSOPBinaryData.load(new ByteArrayInputStream(bytes));
+  }
+
+  @Test(expected = IOException.class)
+  public void testNegativeNameLength() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(0x504F5356).putInt(1).putInt(1).putShort((short) -2);
+    VSOPBinaryData.read(buffer);
+  }
+
+  @Test
+  public void testUnreadableConfiguredFile() throws IOException {
+    Assert.assertTrue(VSOPBinaryData.loadInstalled().isEmpty());
+
+    Path missing = Files.createTempFile("vsop87", ".bin");
+    Files.delete(missing);
+    System.setProperty(VSOPBinaryData.DATA_FILE_PROPERTY, missing.toString());
+    try {
+      VSOPBinaryData.loadInstalled();
+      Assert.fail("The configured file doesn't exist");
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(e.getCause() instanceof IOException);
+    } finally {
+      System.clearProperty(VSOPBinaryData.DATA_FILE_PROPERTY);
+    }
+  }
+
+  private void assertSameTables(List<VSOPTermTable> expected, Map<String, VSOPTermTable> actual) {
+    Assert.assertEquals(actual.size(), expected.size());
+    for (VSOPTermTable table : expected) {
+      VSOPTermTable copy = actual.get(table.getName());
+      Assert.assertNotNull(copy);
+      Assert.assertEquals(copy.size(), table.size());
+      for (int i = 0; i < table.size(); i++) {
+        Assert.assertEquals(copy.getAmplitude(i), table.getAmplitude(i), 0.0);
+        Assert.assertEquals(copy.getPhase(i), table.getPhase(i), 0.0);
+        Assert.assertEquals(copy.getFrequency(i), table.getFrequency(i), 0.0);
+      }
+      Assert.assertEquals(copy.evaluate(0.25), table.evaluate(0.25), 0.0);
+    }
+  }
+}
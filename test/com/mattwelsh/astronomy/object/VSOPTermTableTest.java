@@ -0,0 +1,113 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.object;
+
+import com.mattwelsh.astronomy.object.VSOP87b.earth.EarthLbrDataReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VSOPTermTableTest {
+
+  @Test
+  public void testSharedTables() {
+    VSOPTermTable first = VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data");
+    VSOPTermTable second = VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data");
+    Assert.assertSame(first, second);
+    Assert.assertEquals(first.getAmplitude(0), 1.75347045673, 0.0);
+    Assert.assertEquals(first.getPhase(1), 4.66925680415, 0.0);
+    Assert.assertEquals(first.getFrequency(1), 6283.0758499914, 0.0);
+  }
+
+  @Test
+  public void testParse() throws IOException {
+    Locale defaultLocale = Locale.getDefault();
+    try {
+      Locale.setDefault(Locale.GERMANY);
+      String data = "1.5 0.0 0.0\n0.25 1.0 2.0\r\n\n0.125\t3.0 4.0";
+      VSOPTermTable table = VSOPTermTable.parse("test",
+          new ByteArrayInputStream(data.getBytes(StandardCharsets.US_ASCII)));
+      Assert.assertEquals(table.size(), 3);
+      double t = 0.3;
+      double expected = 1.5 + 0.25 * Math.cos(1.0 + 2.0 * t) + 0.125 * Math.cos(3.0 + 4.0 * t);
+      Assert.assertEquals(table.evaluate(t), expected, 1e-15);
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  @Test
+  public void testTruncate() {
+    VSOPTermTable table = VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data");
+    Assert.assertSame(table.truncate(0.0), table);
+    Assert.assertEquals(table.getTruncationError(), 0.0, 0.0);
+
+    VSOPTermTable truncated = table.truncate(1e-5);
+    Assert.assertSame(table.truncate(1e-5), truncated);
+    Assert.assertTrue(truncated.size() < table.size());
+    Assert.assertTrue(truncated.getTruncationError() <= 1e-5);
+    Assert.assertEquals(truncated.getAmplitude(0), table.getAmplitude(0), 0.0);
+    for (double t = -2.0; t <= 2.0; t += 0.125) {
+      Assert.assertEquals(truncated.evaluate(t), table.evaluate(t),
+          truncated.getTruncationError());
+    }
+  }
+
+  @Test
+  public void testBatchEvaluate() {
+    VSOPTermTable table = VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data");
+    double[] t = new double[600];
+    for (int k = 0; k < t.length; k++) {
+      t[k] = -1.0 + k / 300.0;
+    }
+    double[] out = new double[t.length];
+    table.evaluate(t, out);
+    for (int k = 0; k < t.length; k++) {
+      Assert.assertEquals(out[k], table.evaluate(t[k]), 0.0);
+    }
+  }
+
+  @Test
+  public void testSteppedEvaluate() {
+    VSOPTermTable table = VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude0.data");
+    double amplitudes = 0.0;
+    for (int i = 0; i < table.size(); i++) {
+      amplitudes += Math.abs(table.getAmplitude(i));
+    }
+    double t0 = -0.25;
+    double h = 1.0 / 365250.0;
+    double[] out = new double[1000];
+    for (int reseedInterval : new int[] {1, 16, VSOPTermTable.DEFAULT_RESEED_INTERVAL, 1000}) {
+      table.evaluate(t0, h, out, reseedInterval);
+      double bound = 2.5 * reseedInterval * Math.ulp(1.0) / 2.0 * amplitudes + 1e-14;
+      for (int k = 0; k < out.length; k++) {
+        Assert.assertEquals(out[k], table.evaluate(t0 + k * h), bound);
+      }
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testIncompleteTerm() throws IOException {
+    VSOPTermTable.parse("test",
+        new ByteArrayInputStream("1.0 2.0".getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingResource() {
+    VSOPTermTable.forResource(EarthLbrDataReader.class, "longitude9.data");
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.time;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateBoundValueTest {
+
+  @Test
+  public void testLazy() {
+    MutableJulianDate date = new MutableJulianDate(2451545.0);
+    AtomicInteger computations = new AtomicInteger();
+    DateBoundValue<Double> value = new DateBoundValue<>(date, jd -> {
+      computations.incrementAndGet();
+      return jd.getJulianDayNumber();
+    });
+    Assert.assertSame(value.getJulianDate(), date);
+    Assert.assertTrue(value.isStale());
+    Assert.assertEquals(computations.get(), 0);
+
+    Assert.assertEquals(value.get(), 2451545.0, 0.0);
+    Assert.assertEquals(value.get(), 2451545.0, 0.0);
+    Assert.assertFalse(value.isStale());
+    Assert.assertEquals(computations.get(), 1);
+
+    // Changes that nobody reads cost nothing.
+    for (int i = 1; i <= 1000; i++) {
+      date.setJulianDayNumber(2451545.0 + i);
+    }
+    Assert.assertTrue(value.isStale());
+    Assert.assertEquals(computations.get(), 1);
+    Assert.assertEquals(value.get(), 2452545.0, 0.0);
+    Assert.assertEquals(computations.get(), 2);
+
+    value.invalidate();
+    Assert.assertEquals(value.get(), 2452545.0, 0.0);
+    Assert.assertEquals(computations.get(), 3);
+  }
+
+  @Test
+  public void testImmutableDate() {
+    AtomicInteger computations = new AtomicInteger();
+    DateBoundValue<Double> value = new DateBoundValue<>(new JulianDate(2451545.0), jd -> {
+      computations.incrementAndGet();
+      return jd.getJulianDayNumber();
+    });
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(value.get(), 2451545.0, 0.0);
+    }
+    Assert.assertEquals(computations.get(), 1);
+  }
+
+  @Test
+  public void testConcurrentReaders() throws InterruptedException {
+    MutableJulianDate date = new MutableJulianDate(2451545.0);
+    // Each value records the date twice, so a torn value would show two different dates.
+    DateBoundValue<double[]> value = new DateBoundValue<>(date,
+        jd -> new double[] {jd.getJulianDayNumber(), jd.getJulianDayNumber()});
+    AtomicInteger torn = new AtomicInteger();
+    Thread[] readers = new Thread[4];
+    for (int t = 0; t < readers.length; t++) {
+      readers[t] = new Thread(() -> {
+        for (int i = 0; i < 20000; i++) {
+          double[] pair = value.get();
+          if (pair[0] != pair[1]) {
+            torn.incrementAndGet();
+          }
+        }
+      });
+      readers[t].start();
+    }
+    for (int i = 0; i < 20000; i++) {
+      date.setJulianDayNumber(2451545.0 + i);
+    }
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    Assert.assertEquals(torn.get(), 0);
+    Assert.assertEquals(value.get()[0], 2451545.0 + 19999, 0.0);
+  }
+}
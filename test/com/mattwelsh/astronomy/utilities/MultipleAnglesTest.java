@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.utilities;
+
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MultipleAnglesTest {
+
+  @Test
+  public void testCombinations() {
+    int[][] multiples = new int[3][729];
+    int term = 0;
+    for (int a = -4; a <= 4; a++) {
+      for (int b = -4; b <= 4; b++) {
+        for (int c = -4; c <= 4; c++) {
+          multiples[0][term] = a;
+          multiples[1][term] = b;
+          multiples[2][term] = c;
+          term++;
+        }
+      }
+    }
+    Assert.assertEquals(4, MultipleAngles.getMaxMultiple(multiples));
+
+    MultipleAngles angles = new MultipleAngles(3, 4);
+    double[] cosSin = new double[2];
+    Random random = new Random(7);
+    for (int trial = 0; trial < 20; trial++) {
+      double[] x = new double[3];
+      for (int angle = 0; angle < 3; angle++) {
+        x[angle] = 2.0 * Math.PI * random.nextDouble();
+        angles.setAngle(angle, x[angle]);
+      }
+      for (int i = 0; i < multiples[0].length; i++) {
+        double argument = multiples[0][i] * x[0] + multiples[1][i] * x[1] + multiples[2][i] * x[2];
+        angles.combine(multiples, i, cosSin);
+        Assert.assertEquals(Math.cos(argument), cosSin[0], 1e-13);
+        Assert.assertEquals(Math.sin(argument), cosSin[1], 1e-13);
+      }
+    }
+  }
+
+  @Test
+  public void testBatchMatchesSingleInstants() {
+    int[][] multiples = {{0, 2, -1, 4, 1}, {1, 0, -2, 1, 0}, {-3, 1, 0, 2, 1}};
+    int count = 7;
+    MultipleAngles batch = new MultipleAngles(3, 4, count);
+    MultipleAngles single = new MultipleAngles(3, 4);
+    Assert.assertEquals(count, batch.getInstantCount());
+    Random random = new Random(11);
+    double[][] x = new double[count][3];
+    for (int j = 0; j < count; j++) {
+      for (int angle = 0; angle < 3; angle++) {
+        x[j][angle] = 2.0 * Math.PI * random.nextDouble();
+        batch.setAngle(angle, j, x[j][angle]);
+      }
+    }
+    double[] cos = new double[count];
+    double[] sin = new double[count];
+    double[] cosSin = new double[2];
+    for (int term = 0; term < multiples[0].length; term++) {
+      batch.combine(multiples, term, count, cos, sin);
+      for (int j = 0; j < count; j++) {
+        for (int angle = 0; angle < 3; angle++) {
+          single.setAngle(angle, x[j][angle]);
+        }
+        single.combine(multiples, term, cosSin);
+        Assert.assertEquals(cosSin[0], cos[j], 0.0);
+        Assert.assertEquals(cosSin[1], sin[j], 0.0);
+      }
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ *  Copyright (C) 2019-2025 by Matt Welsh
+ *  This library is free software; you can redistribute it and/or modify it under the terms of the
+ *  GNU Lesser General Public License as published by the Free Software Foundation; either version
+ *  2.1 of the License, or any later version.
+ *
+ *  This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ *  without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU General Public License for more details. You should have received a copy of the GNU
+ *  Lesser General Public License along with this library; if not, write to the Free Software
+ *  Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mattwelsh.astronomy.utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SegmentedLruCacheTest {
+
+  @Test
+  public void testEviction() {
+    AtomicInteger loads = new AtomicInteger();
+    SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<>(4, key -> {
+      loads.incrementAndGet();
+      return "value " + key;
+    });
+    Assert.assertEquals(cache.get(0), "value 0");
+    for (int i = 1; i <= 10; i++) {
+      Assert.assertEquals(cache.get(i), "value " + i);
+      // Keep the first key in use so it is never the least recently used one.
+      Assert.assertEquals(cache.get(0), "value 0");
+      Assert.assertTrue(cache.size() <= 4);
+    }
+    Assert.assertEquals(cache.getEvictionCount(), 7);
+    Assert.assertEquals(cache.getMissCount(), 11);
+    Assert.assertEquals(cache.getHitCount(), 10);
+    Assert.assertEquals(loads.get(), 11);
+
+    // Only the three most recently used keys besides the first one are left.
+    cache.get(8);
+    cache.get(9);
+    cache.get(10);
+    Assert.assertEquals(cache.getMissCount(), 11);
+    cache.get(7);
+    Assert.assertEquals(cache.getMissCount(), 12);
+  }
+
+  @Test
+  public void testSegmentedEviction() {
+    SegmentedLruCache<Long, Long> cache = new SegmentedLruCache<>(1000, key -> -key);
+    for (long i = 0; i < 3000; i++) {
+      Assert.assertEquals(cache.get(i).longValue(), -i);
+      Assert.assertTrue(cache.size() <= 1000);
+    }
+
+    // The segments share the capacity out exactly, so the cache ends up full.
+    Assert.assertEquals(cache.size(), 1000);
+    Assert.assertEquals(cache.getEvictionCount(), 2000);
+    Assert.assertEquals(cache.getMissCount(), 3000);
+    cache.clear();
+    Assert.assertEquals(cache.size(), 0);
+    Assert.assertEquals(cache.get(2999L).longValue(), -2999L);
+    Assert.assertEquals(cache.getMissCount(), 3001);
+  }
+
+  @Test
+  public void testExpiry() {
+    AtomicLong now = new AtomicLong();
+    SegmentedLruCache<String, Long> cache = new SegmentedLruCache<>(16, key -> now.get(),
+        created -> now.get() - created > 1000);
+    Assert.assertEquals(cache.get("a").longValue(), 0);
+    now.set(1000);
+    Assert.assertEquals(cache.get("a").longValue(), 0);
+    Assert.assertEquals(cache.getHitCount(), 1);
+    now.set(1001);
+    Assert.assertEquals(cache.get("a").longValue(), 1001);
+    Assert.assertEquals(cache.getMissCount(), 2);
+    Assert.assertEquals(cache.getEvictionCount(), 1);
+    Assert.assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void testSingleFlight() throws Exception {
+    Map<Integer, AtomicInteger> loads = new ConcurrentHashMap<>();
+    CountDownLatch start = new CountDownLatch(1);
+    SegmentedLruCache<Integer, Integer> cache = new SegmentedLruCache<>(16, key -> {
+      loads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+      return key * key;
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Integer>> tasks = new ArrayList<>();
+      for (int i = 0; i < 128; i++) {
+        int key = i % 4;
+        tasks.add(() -> {
+          start.await();
+          return cache.get(key);
+        });
+      }
+      List<Future<Integer>> results = new ArrayList<>();
+      for (Callable<Integer> task : tasks) {
+        results.add(executor.submit(task));
+      }
+      start.countDown();
+      for (int i = 0; i < results.size(); i++) {
+        Assert.assertEquals(results.get(i).get().intValue(), (i % 4) * (i % 4));
+      }
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertEquals(cache.size(), 4);
+    Assert.assertEquals(cache.getHitCount() + cache.getMissCount(), 128);
+    Assert.assertEquals(loads.size(), 4);
+    for (AtomicInteger count : loads.values()) {
+      Assert.assertEquals(count.get(), 1);
+    }
+  }
+
+  @Test
+  public void testLoaderFailure() {
+    AtomicInteger loads = new AtomicInteger();
+    SegmentedLruCache<Integer, Integer> cache = new SegmentedLruCache<>(16, key -> {
+      if (loads.incrementAndGet() == 1) {
+        throw new IllegalStateException("First load fails");
+      }
+      return key;
+    });
+    try {
+      cache.get(1);
+      Assert.fail("The loader failure was not thrown");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals(e.getMessage(), "First load fails");
+    }
+    Assert.assertEquals(cache.size(), 0);
+    Assert.assertEquals(cache.get(1).intValue(), 1);
+    Assert.assertEquals(cache.size(), 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new SegmentedLruCache<Integer, Integer>(0, key -> key);
+  }
+}